@@ -0,0 +1,366 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Emits a <code>GeneratedMapper</code> for each class that has {@code @Setting} annotated fields, so that the
+ * <code>NeutrinoObjectMapper</code> does not have to find the settings by reflection.
+ *
+ * <p>
+ *     The generated mapper reads and writes the fields directly, so a class is skipped (and left to the reflective
+ *     mapper) if any of its settings are private, final or static, if it has no accessible parameterless
+ *     constructor, or if it is generic. Pass <code>-Aneutrino.verbose=true</code> to javac to report skipped
+ *     classes.
+ * </p>
+ */
+@SupportedAnnotationTypes(NeutrinoMapperProcessor.SETTING)
+@SupportedOptions(NeutrinoMapperProcessor.VERBOSE)
+public class NeutrinoMapperProcessor extends AbstractProcessor {
+
+    static final String SETTING = "ninja.leaping.configurate.objectmapping.Setting";
+    static final String VERBOSE = "neutrino.verbose";
+
+    // Must match GeneratedMapper.SUFFIX
+    private static final String SUFFIX = "$$NeutrinoMapper";
+
+    private static final String GENERATED_MAPPER = "io.github.nucleuspowered.neutrino.objectmapper.GeneratedMapper";
+    private static final String SETTING_DESCRIPTOR = "io.github.nucleuspowered.neutrino.objectmapper.SettingDescriptor";
+    private static final String FIELD_ACCESSOR = "io.github.nucleuspowered.neutrino.objectmapper.FieldAccessor";
+    private static final String TYPE_TOKEN = "com.google.common.reflect.TypeToken";
+
+    private static final String CANONICALISE = "io.github.nucleuspowered.neutrino.annotations.Canonicalise";
+    private static final String DEFAULT = "io.github.nucleuspowered.neutrino.annotations.Default";
+    private static final String DO_NOT_GENERATE = "io.github.nucleuspowered.neutrino.annotations.DoNotGenerate";
+    private static final String PROCESS_SETTING = "io.github.nucleuspowered.neutrino.annotations.ProcessSetting";
+    private static final String REQUIRES_PROPERTY = "io.github.nucleuspowered.neutrino.annotations.RequiresProperty";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                types.add((TypeElement) field.getEnclosingElement());
+            }
+        }
+
+        for (TypeElement type : types) {
+            String reason = canGenerate(type);
+            if (reason == null) {
+                try {
+                    generate(type);
+                } catch (IOException e) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the Neutrino mapper: " + e, type);
+                }
+            } else if (Boolean.parseBoolean(this.processingEnv.getOptions().get(VERBOSE))) {
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Not generating a Neutrino mapper, the reflective mapper will be used: " + reason, type);
+            }
+        }
+
+        return false;
+    }
+
+    // -- Checks
+
+    private String canGenerate(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "not a concrete class";
+        }
+
+        if (!type.getTypeParameters().isEmpty()) {
+            return "generic classes are not supported";
+        }
+
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement current = (TypeElement) element;
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return "the class is not accessible";
+            }
+
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS
+                    || (current.getNestingKind() == NestingKind.MEMBER && !current.getModifiers().contains(Modifier.STATIC))) {
+                return "only top level and static nested classes are supported";
+            }
+        }
+
+        boolean hasConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                hasConstructor = true;
+            }
+        }
+
+        if (!hasConstructor) {
+            return "there is no accessible parameterless constructor";
+        }
+
+        PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        for (VariableElement field : settings(type)) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+                return "the setting " + field.getSimpleName() + " is private, final or static";
+            }
+
+            TypeElement declaring = (TypeElement) field.getEnclosingElement();
+            if (!pkg.equals(this.processingEnv.getElementUtils().getPackageOf(declaring))
+                    && !(modifiers.contains(Modifier.PUBLIC) && isAccessible(declaring, pkg))) {
+                return "the setting " + field.getSimpleName() + " is not accessible";
+            }
+
+            if (!isSupportedType(field.asType(), pkg)) {
+                return "the type of the setting " + field.getSimpleName() + " is not supported";
+            }
+
+            AnnotationMirror processSetting = getAnnotation(field, PROCESS_SETTING);
+            if (processSetting != null) {
+                for (AnnotationValue value : getList(processSetting, "value")) {
+                    TypeMirror processor = (TypeMirror) value.getValue();
+                    if (processor.getKind() != TypeKind.DECLARED
+                            || !isAccessible((TypeElement) ((DeclaredType) processor).asElement(), pkg)) {
+                        return "the setting processor " + processor + " is not accessible";
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isAccessible(TypeElement type, PackageElement from) {
+        boolean samePackage = from.equals(this.processingEnv.getElementUtils().getPackageOf(type));
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isSupportedType(TypeMirror type, PackageElement from) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            case ARRAY:
+                return isSupportedType(((ArrayType) type).getComponentType(), from);
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                return (wildcard.getExtendsBound() == null || isSupportedType(wildcard.getExtendsBound(), from))
+                        && (wildcard.getSuperBound() == null || isSupportedType(wildcard.getSuperBound(), from));
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                if (!isAccessible((TypeElement) declared.asElement(), from)) {
+                    return false;
+                }
+
+                for (TypeMirror argument : declared.getTypeArguments()) {
+                    if (!isSupportedType(argument, from)) {
+                        return false;
+                    }
+                }
+
+                return declared.getEnclosingType().getKind() == TypeKind.NONE || isSupportedType(declared.getEnclosingType(), from);
+            default:
+                // Type variables, intersections and anything else we can't write as a type token.
+                return false;
+        }
+    }
+
+    // -- Generation
+
+    private void generate(TypeElement type) throws IOException {
+        PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = binaryName.substring(binaryName.lastIndexOf('.') + 1) + SUFFIX;
+        String typeName = type.getQualifiedName().toString();
+
+        StringBuilder sb = new StringBuilder();
+        if (!pkg.isUnnamed()) {
+            sb.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+        }
+
+        sb.append("/**\n * Generated by the Neutrino annotation processor for {@link ").append(typeName).append("}.\n */\n");
+        sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("public final class ").append(simpleName).append(" implements ").append(GENERATED_MAPPER)
+                .append('<').append(typeName).append("> {\n\n");
+
+        sb.append("    private static final java.util.List<").append(SETTING_DESCRIPTOR)
+                .append("> SETTINGS = java.util.Collections.unmodifiableList(java.util.Arrays.asList(");
+        List<VariableElement> settings = settings(type);
+        for (int i = 0; i < settings.size(); i++) {
+            sb.append(i == 0 ? "\n" : ",\n");
+            appendDescriptor(sb, typeName, settings.get(i));
+        }
+
+        sb.append("\n    ));\n\n");
+
+        sb.append("    @Override\n    public Class<").append(typeName).append("> getType() {\n        return ")
+                .append(typeName).append(".class;\n    }\n\n");
+        sb.append("    @Override\n    public ").append(typeName).append(" newInstance() {\n        return new ")
+                .append(typeName).append("();\n    }\n\n");
+        sb.append("    @Override\n    public java.util.List<").append(SETTING_DESCRIPTOR)
+                .append("> getSettings() {\n        return SETTINGS;\n    }\n");
+        sb.append("}\n");
+
+        String fileName = pkg.isUnnamed() ? simpleName : pkg.getQualifiedName() + "." + simpleName;
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(fileName, type).openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    private void appendDescriptor(StringBuilder sb, String typeName, VariableElement field) {
+        AnnotationMirror setting = getAnnotation(field, SETTING);
+        String name = field.getSimpleName().toString();
+        String fieldType = field.asType().toString();
+        String cast = "((" + typeName + ") instance)." + name;
+
+        sb.append("            ").append(SETTING_DESCRIPTOR).append(".builder(")
+                .append(constant(getValue(setting, "value"))).append(", ")
+                .append(constant(getValue(setting, "comment"))).append(", ")
+                .append(constant(name)).append(", ")
+                .append(typeToken(field.asType())).append(",\n                    ")
+                .append(FIELD_ACCESSOR).append(".of(instance -> ").append(cast).append(", (instance, value) -> ")
+                .append(cast).append(" = (").append(fieldType).append(") value))");
+
+        AnnotationMirror def = getAnnotation(field, DEFAULT);
+        if (def != null) {
+            sb.append("\n                    .setDefault(").append(constant(getValue(def, "value"))).append(", ")
+                    .append(getValue(def, "saveDefaultIfNull")).append(", ")
+                    .append(getValue(def, "useDefaultIfEmpty")).append(')');
+        }
+
+        if (getAnnotation(field, DO_NOT_GENERATE) != null) {
+            sb.append("\n                    .doNotGenerate()");
+        }
+
+        AnnotationMirror processSetting = getAnnotation(field, PROCESS_SETTING);
+        if (processSetting != null) {
+            List<String> processors = new ArrayList<>();
+            for (AnnotationValue value : getList(processSetting, "value")) {
+                processors.add(this.processingEnv.getTypeUtils().erasure((TypeMirror) value.getValue()) + ".class");
+            }
+
+            sb.append("\n                    .processSetting(").append(String.join(", ", processors)).append(')');
+        }
+
+        AnnotationMirror requiresProperty = getAnnotation(field, REQUIRES_PROPERTY);
+        if (requiresProperty != null) {
+            sb.append("\n                    .requiresProperty(").append(constant(getValue(requiresProperty, "value"))).append(", ")
+                    .append(constant(getValue(requiresProperty, "matchedName"))).append(')');
+        }
+
+        if (getAnnotation(field, CANONICALISE) != null) {
+            sb.append("\n                    .canonicalise()");
+        }
+
+        sb.append("\n                    .build()");
+    }
+
+    private String typeToken(TypeMirror type) {
+        TypeMirror erasure = this.processingEnv.getTypeUtils().erasure(type);
+        if (this.processingEnv.getTypeUtils().isSameType(type, erasure)) {
+            return TYPE_TOKEN + ".of(" + erasure + ".class)";
+        }
+
+        return "new " + TYPE_TOKEN + "<" + type + ">() {}";
+    }
+
+    // -- Utilities
+
+    private List<VariableElement> settings(TypeElement type) {
+        List<VariableElement> settings = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (getAnnotation(field, SETTING) != null) {
+                    settings.add(field);
+                }
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        return settings;
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror mirror, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                this.processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<? extends AnnotationValue> getList(AnnotationMirror mirror, String name) {
+        Object value = getValue(mirror, name);
+        return value instanceof List ? (List<? extends AnnotationValue>) value : Collections.emptyList();
+    }
+
+    private String constant(Object value) {
+        return this.processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+}
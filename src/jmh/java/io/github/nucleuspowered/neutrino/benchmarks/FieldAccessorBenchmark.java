@@ -0,0 +1,87 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.benchmarks;
+
+import io.github.nucleuspowered.neutrino.objectmapper.FieldAccessor;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link FieldAccessor} implementations with the previous approach of calling
+ * {@link Field#setAccessible(boolean)} before every {@link Field#get(Object)} and {@link Field#set(Object, Object)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldAccessorBenchmark {
+
+    private final Holder holder = new Holder();
+    private Field field;
+    private FieldAccessor methodHandle;
+    private FieldAccessor reflective;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        this.field = Holder.class.getDeclaredField("value");
+        this.methodHandle = FieldAccessor.methodHandle(Holder.class.getDeclaredField("value"));
+        this.reflective = FieldAccessor.reflective(Holder.class.getDeclaredField("value"));
+    }
+
+    @Benchmark
+    public Object legacyGet() throws IllegalAccessException {
+        this.field.setAccessible(true);
+        return this.field.get(this.holder);
+    }
+
+    @Benchmark
+    public Holder legacySet() throws IllegalAccessException {
+        this.field.setAccessible(true);
+        this.field.set(this.holder, "value");
+        return this.holder;
+    }
+
+    @Benchmark
+    public Object methodHandleGet() throws ObjectMappingException {
+        return this.methodHandle.get(this.holder);
+    }
+
+    @Benchmark
+    public Object reflectiveGet() throws ObjectMappingException {
+        return this.reflective.get(this.holder);
+    }
+
+    @Benchmark
+    public Holder methodHandleSet() throws ObjectMappingException {
+        this.methodHandle.set(this.holder, "value");
+        return this.holder;
+    }
+
+    @Benchmark
+    public Holder reflectiveSet() throws ObjectMappingException {
+        this.reflective.set(this.holder, "value");
+        return this.holder;
+    }
+
+    public static class Holder {
+
+        private String value = "value";
+
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.benchmarks;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.annotations.DoNotGenerate;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.annotations.RequiresProperty;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.settingprocessor.LowercaseListSettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.RemoveFirstSlashIfExistsSettingProcessor;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures getting mappers from a {@link NeutrinoObjectMapperFactory}, and binding and serialising a configuration
+ * that uses each of the Neutrino annotations. The size of the configuration is the number of sections in it, and the
+ * number of entries in each list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    private NeutrinoObjectMapperFactory factory;
+    private NeutrinoObjectMapper<BenchmarkConf> mapper;
+    private CommentedConfigurationNode source;
+    private BenchmarkConf populated;
+
+    @Setup
+    public void setup() throws ObjectMappingException {
+        this.factory = createFactory();
+        this.mapper = this.factory.getMapper(BenchmarkConf.class);
+        this.source = createNode();
+        for (int i = 0; i < this.size; i++) {
+            CommentedConfigurationNode section = this.source.getNode("sections").getAppendedNode();
+            section.getNode("name").setValue("Section " + i);
+            section.getNode("commands").setValue(commands("/Command "));
+            section.getNode("aliases").setValue(commands("Alias "));
+        }
+
+        this.populated = this.mapper.bindToNew().populate(this.source.copy());
+    }
+
+    private NeutrinoObjectMapperFactory createFactory() {
+        return NeutrinoObjectMapperFactory.builder().setCompileMappers(this.compiled).build(false);
+    }
+
+    private CommentedConfigurationNode createNode() {
+        return SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(this.factory));
+    }
+
+    private List<String> commands(String prefix) {
+        List<String> commands = Lists.newArrayListWithCapacity(this.size);
+        for (int i = 0; i < this.size; i++) {
+            commands.add(prefix + i);
+        }
+
+        return commands;
+    }
+
+    @Benchmark
+    public NeutrinoObjectMapper<BenchmarkConf> getMapperCold() throws ObjectMappingException {
+        return createFactory().getMapper(BenchmarkConf.class);
+    }
+
+    @Benchmark
+    public NeutrinoObjectMapper<BenchmarkConf> getMapperCached() throws ObjectMappingException {
+        return this.factory.getMapper(BenchmarkConf.class);
+    }
+
+    @Benchmark
+    public BenchmarkConf populate() throws ObjectMappingException {
+        // Processors change the node in place, so work on a copy each time.
+        return this.mapper.bindToNew().populate(this.source.copy());
+    }
+
+    @Benchmark
+    public CommentedConfigurationNode serialise() throws ObjectMappingException {
+        CommentedConfigurationNode target = createNode();
+        this.mapper.bind(this.populated).serialize(target);
+        return target;
+    }
+
+    @ConfigSerializable
+    public static class BenchmarkConf {
+
+        @Setting(comment = "A string with a default")
+        @Default("default")
+        private String defaulted;
+
+        @Setting
+        @Default(value = "1", saveDefaultIfNull = true)
+        private int defaultedInt;
+
+        @Setting
+        @DoNotGenerate
+        private boolean notGenerated = false;
+
+        @Setting
+        @RequiresProperty("neutrino.benchmark.never.set")
+        private String requiresProperty = "unset";
+
+        @Setting
+        private List<Section> sections = Lists.newArrayList();
+    }
+
+    @ConfigSerializable
+    public static class Section {
+
+        @Setting
+        private String name;
+
+        @Setting
+        @ProcessSetting(RemoveFirstSlashIfExistsSettingProcessor.class)
+        private List<String> commands;
+
+        @Setting
+        @ProcessSetting(LowercaseListSettingProcessor.class)
+        private List<String> aliases;
+    }
+}
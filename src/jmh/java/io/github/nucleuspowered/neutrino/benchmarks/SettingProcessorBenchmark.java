@@ -0,0 +1,92 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.benchmarks;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.neutrino.settingprocessor.FusedElementSettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.LowercaseListSettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.RemoveFirstSlashIfExistsSettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Neutrino {@link SettingProcessor}s on lists of the given size. Half of the entries need changing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettingProcessorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private final SettingProcessor lowercase = new LowercaseListSettingProcessor();
+    private final SettingProcessor removeFirstSlash = new RemoveFirstSlashIfExistsSettingProcessor();
+    private final List<SettingProcessor> fused = FusedElementSettingProcessor.fuse(Lists.newArrayList(this.lowercase, this.removeFirstSlash));
+    private List<String> values;
+    private ConfigurationNode node;
+
+    @Setup
+    public void setup() {
+        this.values = Lists.newArrayListWithCapacity(this.size);
+        for (int i = 0; i < this.size; i++) {
+            this.values.add(i % 2 == 0 ? "/Some Command " + i : "command_" + i);
+        }
+    }
+
+    // The processors change the node, so start from the same list for each invocation.
+    @Setup(Level.Invocation)
+    public void resetNode() {
+        this.node = SimpleConfigurationNode.root().setValue(this.values);
+    }
+
+    @Benchmark
+    public ConfigurationNode lowercaseList() throws ObjectMappingException {
+        this.lowercase.process(this.node);
+        return this.node;
+    }
+
+    @Benchmark
+    public ConfigurationNode removeFirstSlash() throws ObjectMappingException {
+        this.removeFirstSlash.process(this.node);
+        return this.node;
+    }
+
+    @Benchmark
+    public ConfigurationNode chained() throws ObjectMappingException {
+        this.lowercase.process(this.node);
+        this.removeFirstSlash.process(this.node);
+        return this.node;
+    }
+
+    @Benchmark
+    public ConfigurationNode chainedFused() throws ObjectMappingException {
+        for (SettingProcessor processor : this.fused) {
+            processor.process(this.node);
+        }
+
+        return this.node;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.benchmarks;
+
+import com.google.common.collect.Sets;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.typeserialisers.ByteArrayTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.IntArrayTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.PatternTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.SetTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.ShortArrayTypeSerialiser;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollection;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the Neutrino {@link ninja.leaping.configurate.objectmapping.serialize.TypeSerializer}s, with the size
+ * being the number of elements in each set or array, and the number of alternatives in the pattern.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeSerialiserBenchmark {
+
+    private static final TypeToken<Set<String>> SET = new TypeToken<Set<String>>() {};
+    private static final TypeToken<Pattern> PATTERN = TypeToken.of(Pattern.class);
+    private static final TypeToken<byte[]> BYTES = new TypeToken<byte[]>() {};
+    private static final TypeToken<short[]> SHORTS = new TypeToken<short[]>() {};
+    private static final TypeToken<int[]> INTS = new TypeToken<int[]>() {};
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ConfigurationOptions options;
+    private Set<String> set;
+    private Pattern pattern;
+    private byte[] bytes;
+    private short[] shorts;
+    private int[] ints;
+    private ConfigurationNode setNode;
+    private ConfigurationNode patternNode;
+    private ConfigurationNode bytesNode;
+    private ConfigurationNode shortsNode;
+    private ConfigurationNode intsNode;
+
+    @Setup
+    public void setup() throws ObjectMappingException {
+        TypeSerializerCollection serializers = TypeSerializers.getDefaultSerializers().newChild();
+        serializers.registerPredicate(typeToken -> Set.class.isAssignableFrom(typeToken.getRawType()), new SetTypeSerialiser());
+        serializers.registerType(PATTERN, new PatternTypeSerialiser());
+        serializers.registerType(BYTES, new ByteArrayTypeSerialiser());
+        serializers.registerType(SHORTS, new ShortArrayTypeSerialiser());
+        serializers.registerType(INTS, new IntArrayTypeSerialiser());
+        this.options = ConfigurationOptions.defaults().setSerializers(serializers)
+                .setAcceptedTypes(Sets.newHashSet(Byte.class, Short.class, Integer.class, String.class));
+
+        this.set = Sets.newHashSetWithExpectedSize(this.size);
+        StringBuilder regex = new StringBuilder();
+        this.bytes = new byte[this.size];
+        this.shorts = new short[this.size];
+        this.ints = new int[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.set.add("entry" + i);
+            regex.append(i == 0 ? "" : "|").append("entry").append(i);
+            this.bytes[i] = (byte) i;
+            this.shorts[i] = (short) i;
+            this.ints[i] = i;
+        }
+
+        this.pattern = Pattern.compile(regex.toString());
+        this.setNode = serialiseSet();
+        this.patternNode = serialisePattern();
+        this.bytesNode = serialiseBytes();
+        this.shortsNode = serialiseShorts();
+        this.intsNode = serialiseInts();
+    }
+
+    @Benchmark
+    public ConfigurationNode serialiseSet() throws ObjectMappingException {
+        return SimpleConfigurationNode.root(this.options).setValue(SET, this.set);
+    }
+
+    @Benchmark
+    public Set<String> deserialiseSet() throws ObjectMappingException {
+        return this.setNode.getValue(SET);
+    }
+
+    @Benchmark
+    public ConfigurationNode serialisePattern() throws ObjectMappingException {
+        return SimpleConfigurationNode.root(this.options).setValue(PATTERN, this.pattern);
+    }
+
+    @Benchmark
+    public Pattern deserialisePattern() throws ObjectMappingException {
+        return this.patternNode.getValue(PATTERN);
+    }
+
+    @Benchmark
+    public ConfigurationNode serialiseBytes() throws ObjectMappingException {
+        return SimpleConfigurationNode.root(this.options).setValue(BYTES, this.bytes);
+    }
+
+    @Benchmark
+    public byte[] deserialiseBytes() throws ObjectMappingException {
+        return this.bytesNode.getValue(BYTES);
+    }
+
+    @Benchmark
+    public ConfigurationNode serialiseShorts() throws ObjectMappingException {
+        return SimpleConfigurationNode.root(this.options).setValue(SHORTS, this.shorts);
+    }
+
+    @Benchmark
+    public short[] deserialiseShorts() throws ObjectMappingException {
+        return this.shortsNode.getValue(SHORTS);
+    }
+
+    @Benchmark
+    public ConfigurationNode serialiseInts() throws ObjectMappingException {
+        return SimpleConfigurationNode.root(this.options).setValue(INTS, this.ints);
+    }
+
+    @Benchmark
+    public int[] deserialiseInts() throws ObjectMappingException {
+        return this.intsNode.getValue(INTS);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tells the Neutrino Object Mapper to share the value of this field with every other mapped object that has an equal
+ * value, rather than each object holding its own copy.
+ *
+ * <p>
+ *     Only immutable values are shared, such as strings, boxed numbers, patterns and Guava's immutable lists.
+ *     The elements of lists and the values of maps that are not immutable themselves are shared in place instead.
+ *     This is worthwhile when the same class is mapped for a large number of nodes with repeated values.
+ * </p>
+ *
+ * @see io.github.nucleuspowered.neutrino.objectmapper.ValuePool
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface Canonicalise {
+}
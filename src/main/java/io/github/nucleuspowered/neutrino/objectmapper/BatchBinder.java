@@ -0,0 +1,115 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Binds a new object of one class from each of a list of nodes, optionally across an {@link Executor}.
+ *
+ * <p>
+ *     The nodes are handed out in chunks, so that a large batch does not cost a queue operation per node. The
+ *     calling thread takes chunks as well, so a batch never waits on a chunk that has not started, even if the
+ *     executor is busy or rejects the work. A node that fails does not stop the rest of the batch.
+ * </p>
+ *
+ * <p>
+ *     The executor is offered a task for every chunk but the first, so how many threads bind the batch is up to the
+ *     executor rather than the number of processors on this machine. A task that starts after every chunk has been
+ *     taken returns straight away.
+ * </p>
+ */
+final class BatchBinder {
+
+    private static final int CHUNK_SIZE = 64;
+
+    static <T> BatchResult<T> populate(NeutrinoObjectMapper<T> mapper, List<? extends ConfigurationNode> nodes,
+            @Nullable Executor executor) {
+        @SuppressWarnings("unchecked")
+        T[] results = (T[]) new Object[nodes.size()];
+        Exception[] errors = new Exception[nodes.size()];
+        Work<T> work = new Work<>(mapper, nodes, results, errors);
+        if (executor != null) {
+            for (int i = 1; i < work.chunks; i++) {
+                try {
+                    executor.execute(work);
+                } catch (RejectedExecutionException e) {
+                    // The calling thread will pick up the slack.
+                    break;
+                }
+            }
+        }
+
+        work.run();
+
+        // The latch gives us a happens-before edge with every write made by the helpers. Every chunk has started by
+        // now, so this wait is bounded by the binds that are still running.
+        Uninterruptibles.awaitUninterruptibly(work.done);
+        List<BatchResult.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            if (errors[i] != null) {
+                failures.add(new BatchResult.Failure(i, errors[i]));
+            }
+        }
+
+        return new BatchResult<>(results, failures);
+    }
+
+    private BatchBinder() {
+    }
+
+    private static final class Work<T> implements Runnable {
+
+        private final NeutrinoObjectMapper<T> mapper;
+        private final List<? extends ConfigurationNode> nodes;
+        private final T[] results;
+        private final Exception[] errors;
+        private final int chunks;
+        private final AtomicInteger next = new AtomicInteger();
+        private final CountDownLatch done;
+
+        private Work(NeutrinoObjectMapper<T> mapper, List<? extends ConfigurationNode> nodes, T[] results, Exception[] errors) {
+            this.mapper = mapper;
+            this.nodes = nodes;
+            this.results = results;
+            this.errors = errors;
+            this.chunks = (nodes.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            this.done = new CountDownLatch(this.chunks);
+        }
+
+        @Override
+        public void run() {
+            int chunk;
+            while ((chunk = this.next.getAndIncrement()) < this.chunks) {
+                try {
+                    int end = Math.min(this.nodes.size(), (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        bind(i);
+                    }
+                } finally {
+                    this.done.countDown();
+                }
+            }
+        }
+
+        private void bind(int index) {
+            try {
+                this.results[index] = this.mapper.bindToNew().populate(this.nodes.get(index));
+            } catch (Exception e) {
+                this.errors[index] = e;
+            }
+        }
+    }
+}
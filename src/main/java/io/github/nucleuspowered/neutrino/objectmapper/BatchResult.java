@@ -0,0 +1,136 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.collect.ImmutableList;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * The outcome of {@link NeutrinoObjectMapper#populateAll(List)}: an object for each node that could be bound, and a
+ * failure for each node that could not.
+ *
+ * @param <T> The type of object that was mapped
+ */
+public final class BatchResult<T> {
+
+    private final List<T> results;
+    private final List<Failure> failures;
+
+    BatchResult(T[] results, Collection<Failure> failures) {
+        // Failed nodes leave a null in their place, which the immutable collections do not allow.
+        this.results = Collections.unmodifiableList(Arrays.asList(results));
+        this.failures = ImmutableList.copyOf(failures);
+    }
+
+    /**
+     * Gets the bound objects, in the same order as the nodes. The entry for a node that could not be bound is
+     * <code>null</code>.
+     *
+     * @return The objects
+     */
+    public List<T> getResults() {
+        return this.results;
+    }
+
+    /**
+     * Gets the object that was bound from the node at the given index.
+     *
+     * @param index The index of the node
+     * @return The object, or <code>null</code> if the node could not be bound
+     */
+    @Nullable
+    public T getResult(int index) {
+        return this.results.get(index);
+    }
+
+    /**
+     * Gets the failures, in the same order as the nodes.
+     *
+     * @return The failures
+     */
+    public List<Failure> getFailures() {
+        return this.failures;
+    }
+
+    /**
+     * Gets the number of nodes that were bound without a failure.
+     *
+     * @return The number of nodes
+     */
+    public int getSuccessCount() {
+        return this.results.size() - this.failures.size();
+    }
+
+    /**
+     * Gets whether every node was bound without a failure.
+     *
+     * @return <code>true</code> if so
+     */
+    public boolean isSuccessful() {
+        return this.failures.isEmpty();
+    }
+
+    /**
+     * Throws an {@link ObjectMappingException} if any node could not be bound, with the cause of each failure
+     * suppressed.
+     *
+     * @throws ObjectMappingException if any node could not be bound
+     */
+    public void throwIfFailed() throws ObjectMappingException {
+        if (!this.failures.isEmpty()) {
+            ObjectMappingException exception = new ObjectMappingException("Could not bind " + this.failures.size()
+                    + " of " + this.results.size() + " node(s), the first being node " + this.failures.get(0).getIndex());
+            for (Failure failure : this.failures) {
+                exception.addSuppressed(failure.getCause());
+            }
+
+            throw exception;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{nodes=" + this.results.size() + ", failures=" + this.failures.size() + "}";
+    }
+
+    /**
+     * A node that could not be bound.
+     */
+    public static final class Failure {
+
+        private final int index;
+        private final Exception cause;
+
+        Failure(int index, Exception cause) {
+            this.index = index;
+            this.cause = cause;
+        }
+
+        /**
+         * Gets the index of the node in the list that was bound.
+         *
+         * @return The index
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        public Exception getCause() {
+            return this.cause;
+        }
+
+        @Override
+        public String toString() {
+            return this.index + ": " + this.cause;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import io.github.nucleuspowered.neutrino.util.ClassConstructor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.Setting;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link NeutrinoObjectMapper} that generates a class to bind and serialise its type when it is created.
+ *
+ * <p>
+ *     The generated {@link Binder} holds the node path and the fully wrapped {@link FieldData} (including any
+ *     {@code @Default}, {@code @DoNotGenerate}, {@code @ProcessSetting} and {@code @RequiresProperty} handling) of
+ *     each setting in a field of its own, and binds them one after another in straight-line code. If the class
+ *     cannot be generated, a {@link CompilationFailedException} is thrown, and the
+ *     {@link NeutrinoObjectMapperFactory} uses a standard {@link NeutrinoObjectMapper} instead.
+ * </p>
+ *
+ * @param <T> The type of object to map.
+ */
+public class CompiledNeutrinoObjectMapper<T> extends NeutrinoObjectMapper<T> {
+
+    private final Object[][] paths;
+    private final Binding[] bindings;
+    private final Binder binder;
+
+    /**
+     * Create a new compiled object mapper of a given type
+     *
+     * @param clazz The type this object mapper will work with
+     * @throws ObjectMappingException if the provided class is in someway invalid
+     */
+    public CompiledNeutrinoObjectMapper(Class<T> clazz,
+            Function<Setting, String> commentProcessor,
+            ClassConstructor<SettingProcessor> constructor) throws ObjectMappingException {
+        this(clazz, commentProcessor, constructor, null);
+    }
+
+    /**
+     * Create a new compiled object mapper of a given type
+     *
+     * @param clazz The type this object mapper will work with
+     * @param generatedMapper The {@link GeneratedMapper} to get the settings from, or <code>null</code> to find them
+     *                        by reflection
+     * @throws ObjectMappingException if the provided class is in someway invalid
+     */
+    public CompiledNeutrinoObjectMapper(Class<T> clazz,
+            Function<Setting, String> commentProcessor,
+            ClassConstructor<SettingProcessor> constructor,
+            @Nullable GeneratedMapper<T> generatedMapper) throws ObjectMappingException {
+        this(clazz, commentProcessor, constructor, generatedMapper, ValuePool.getShared(), false);
+    }
+
+    /**
+     * Create a new compiled object mapper of a given type
+     *
+     * @param clazz The type this object mapper will work with
+     * @param generatedMapper The {@link GeneratedMapper} to get the settings from, or <code>null</code> to find them
+     *                        by reflection
+     * @param valuePool The {@link ValuePool} to canonicalise values with
+     * @param canonicaliseAll Whether to canonicalise the values of every setting, rather than just those with
+     *                        {@link io.github.nucleuspowered.neutrino.annotations.Canonicalise}
+     * @throws ObjectMappingException if the provided class is in someway invalid, or a binder could not be
+     *                                generated for it
+     */
+    public CompiledNeutrinoObjectMapper(Class<T> clazz,
+            Function<Setting, String> commentProcessor,
+            ClassConstructor<SettingProcessor> constructor,
+            @Nullable GeneratedMapper<T> generatedMapper,
+            ValuePool valuePool,
+            boolean canonicaliseAll) throws ObjectMappingException {
+        super(clazz, commentProcessor, constructor, generatedMapper, valuePool, canonicaliseAll);
+        Map<String, FieldData> data = getFieldData();
+        this.paths = new Object[data.size()][];
+        this.bindings = new Binding[data.size()];
+
+        int i = 0;
+        for (Map.Entry<String, FieldData> entry : data.entrySet()) {
+            if (!(entry.getValue() instanceof Binding)) {
+                throw new CompilationFailedException("The setting " + entry.getKey() + " of " + clazz.getName() + " cannot be compiled",
+                        null);
+            }
+
+            this.paths[i] = new Object[] { entry.getKey() };
+            this.bindings[i] = (Binding) entry.getValue();
+            i++;
+        }
+
+        try {
+            this.binder = MapperClassGenerator.generate(clazz, this.bindings, this.paths);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            throw new CompilationFailedException("Could not generate a binder for " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public BoundInstance bind(T instance) {
+        return new CompiledBoundInstance(instance);
+    }
+
+    @Override
+    public BoundInstance bindToNew() throws ObjectMappingException {
+        return new CompiledBoundInstance(constructObject());
+    }
+
+    public class CompiledBoundInstance extends BoundInstance {
+
+        protected CompiledBoundInstance(T boundInstance) {
+            super(boundInstance);
+        }
+
+        @Override
+        public T populate(ConfigurationNode source) throws ObjectMappingException {
+            T instance = getInstance();
+            ParallelBinder parallelBinder = getParallelBinder(bindings.length);
+            if (parallelBinder != null) {
+                ConfigurationNode[] nodes = new ConfigurationNode[bindings.length];
+                for (int i = 0; i < bindings.length; i++) {
+                    nodes[i] = source.getNode(paths[i]);
+                }
+
+                parallelBinder.populate(nodes, i -> bindings[i].deserializeFrom(instance, nodes[i]));
+                return instance;
+            }
+
+            binder.populate(instance, source);
+            return instance;
+        }
+
+        @Override
+        public void serialize(ConfigurationNode target) throws ObjectMappingException {
+            binder.serialize(getInstance(), target);
+        }
+    }
+
+    /**
+     * Reads and writes a single setting. Every {@link FieldData} that a {@link NeutrinoObjectMapper} creates is a
+     * {@link Binding}.
+     *
+     * <p>This is public so that generated binders can call it, and is not intended to be implemented elsewhere.</p>
+     */
+    public interface Binding {
+
+        void deserializeFrom(Object instance, ConfigurationNode node) throws ObjectMappingException;
+
+        void serializeTo(Object instance, ConfigurationNode node) throws ObjectMappingException;
+
+    }
+
+    /**
+     * Binds and serialises every setting of a type. Implementations are generated by {@link MapperClassGenerator}.
+     *
+     * <p>This is public so that generated binders can implement it, and is not intended to be implemented
+     * elsewhere.</p>
+     */
+    public interface Binder {
+
+        void populate(Object instance, ConfigurationNode source) throws ObjectMappingException;
+
+        void serialize(Object instance, ConfigurationNode target) throws ObjectMappingException;
+
+    }
+
+    /**
+     * Thrown when a binder cannot be generated for a type, so that the factory can use a standard
+     * {@link NeutrinoObjectMapper} instead.
+     */
+    static final class CompilationFailedException extends ObjectMappingException {
+
+        private static final long serialVersionUID = 1L;
+
+        private CompilationFailedException(String message, @Nullable Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
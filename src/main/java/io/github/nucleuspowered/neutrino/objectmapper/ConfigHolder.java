@@ -0,0 +1,275 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the current object of a configuration, and replaces it as a whole on each reload.
+ *
+ * <p>
+ *     Populating an existing object sets its fields one at a time, so other threads can see a mix of old and new
+ *     settings. A {@link ConfigHolder} instead populates a new object from the node on each {@link #reload}, and
+ *     only then publishes it through a single volatile write. {@link #get()} is a plain read with no locking, and
+ *     always returns a fully populated object. Published objects should be treated as read only.
+ * </p>
+ *
+ * <p>
+ *     Reloads are run one at a time. After a reload is published, the listeners are called on the reloading thread
+ *     with a {@link Change} holding the old object, the new object and the settings that differ between them,
+ *     unless no setting differs. Nested {@link ConfigSerializable} objects, and lists and maps of them, are compared
+ *     setting by setting. {@link Lazy} settings are compared by their nodes while neither has been loaded, and
+ *     otherwise both are loaded and their values are compared.
+ * </p>
+ *
+ * <p>
+ *     Holders are created by {@link NeutrinoObjectMapperFactory#newConfigHolder(Class, ConfigurationNode)}.
+ * </p>
+ *
+ * @param <T> The type of the configuration object
+ */
+public final class ConfigHolder<T> {
+
+    private final NeutrinoObjectMapperFactory factory;
+    private final NeutrinoObjectMapper<T> mapper;
+    private final List<Consumer<? super Change<T>>> listeners = new CopyOnWriteArrayList<>();
+    private volatile T current;
+
+    ConfigHolder(NeutrinoObjectMapperFactory factory, NeutrinoObjectMapper<T> mapper, T initial) {
+        this.factory = factory;
+        this.mapper = mapper;
+        this.current = initial;
+    }
+
+    /**
+     * Gets the object that was last published.
+     *
+     * @return The object
+     */
+    public T get() {
+        return this.current;
+    }
+
+    /**
+     * Gets the type of the configuration object.
+     *
+     * @return The type
+     */
+    public Class<T> getType() {
+        return this.mapper.getMappedClass();
+    }
+
+    /**
+     * Populates a new object from the node and publishes it, then calls the listeners if any setting changed. If
+     * the object cannot be populated, the current object is kept.
+     *
+     * @param node The node to populate the new object from
+     * @return The {@link Change} between the previous object and the new one
+     * @throws ObjectMappingException if the new object could not be populated
+     */
+    public synchronized Change<T> reload(ConfigurationNode node) throws ObjectMappingException {
+        Preconditions.checkNotNull(node, "node");
+        T value = this.mapper.bindToNew().populate(node);
+        T previous = this.current;
+        List<SettingDescriptor> changed = getChangedSettings(this.mapper, previous, value);
+        this.current = value;
+
+        Change<T> change = new Change<>(previous, value, changed);
+        if (change.hasChanges()) {
+            for (Consumer<? super Change<T>> listener : this.listeners) {
+                try {
+                    listener.accept(change);
+                } catch (RuntimeException e) {
+                    Logger.getGlobal().log(Level.WARNING, "A change listener for " + getType().getName() + " failed.", e);
+                }
+            }
+        }
+
+        return change;
+    }
+
+    /**
+     * Adds a listener that is called after each reload that changes a setting.
+     *
+     * @param listener The listener
+     */
+    public void addListener(Consumer<? super Change<T>> listener) {
+        this.listeners.add(Preconditions.checkNotNull(listener, "listener"));
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener The listener
+     * @return <code>true</code> if the listener had been added
+     */
+    public boolean removeListener(Consumer<? super Change<T>> listener) {
+        return this.listeners.remove(listener);
+    }
+
+    private List<SettingDescriptor> getChangedSettings(NeutrinoObjectMapper<?> mapper, Object previous, Object value)
+            throws ObjectMappingException {
+        ImmutableList.Builder<SettingDescriptor> builder = ImmutableList.builder();
+        for (SettingDescriptor setting : mapper.getSettings()) {
+            if (!isSame(setting.getAccessor().get(previous), setting.getAccessor().get(value))) {
+                builder.add(setting);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private boolean isSame(@Nullable Object previous, @Nullable Object value) throws ObjectMappingException {
+        if (previous == value) {
+            return true;
+        } else if (previous == null || value == null) {
+            return false;
+        } else if (previous instanceof Lazy && value instanceof Lazy) {
+            return isSame((Lazy<?>) previous, (Lazy<?>) value);
+        } else if (previous instanceof List && value instanceof List) {
+            List<?> previousList = (List<?>) previous;
+            List<?> valueList = (List<?>) value;
+            if (previousList.size() != valueList.size()) {
+                return false;
+            }
+
+            Iterator<?> valueIterator = valueList.iterator();
+            for (Object element : previousList) {
+                if (!isSame(element, valueIterator.next())) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (previous instanceof Map && value instanceof Map) {
+            Map<?, ?> previousMap = (Map<?, ?>) previous;
+            Map<?, ?> valueMap = (Map<?, ?>) value;
+            if (!previousMap.keySet().equals(valueMap.keySet())) {
+                return false;
+            }
+
+            for (Map.Entry<?, ?> entry : previousMap.entrySet()) {
+                if (!isSame(entry.getValue(), valueMap.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (previous.getClass() == value.getClass() && previous.getClass().isAnnotationPresent(ConfigSerializable.class)) {
+            // A new section object is created on each reload, so compare what it holds, not its identity.
+            return getChangedSettings(this.factory.getMapper(previous.getClass()), previous, value).isEmpty();
+        }
+
+        return Objects.deepEquals(previous, value);
+    }
+
+    private boolean isSame(Lazy<?> previous, Lazy<?> value) throws ObjectMappingException {
+        // Neither is deserialised if both can be compared by their nodes. A loaded value cannot be compared with a
+        // node, though, so otherwise both are loaded.
+        Object previousNode = previous.getUnloadedNodeValue();
+        Object valueNode = value.getUnloadedNodeValue();
+        if (previousNode != null && valueNode != null) {
+            return previousNode.equals(valueNode);
+        }
+
+        Object previousValue;
+        Object newValue;
+        try {
+            previousValue = previous.load();
+            newValue = value.load();
+        } catch (ObjectMappingException e) {
+            // Not a reason to fail the reload, as the value would not have been deserialised yet if we had not
+            // compared it.
+            return false;
+        }
+
+        return isSame(previousValue, newValue);
+    }
+
+    /**
+     * The result of a {@link #reload(ConfigurationNode)}.
+     *
+     * @param <T> The type of the configuration object
+     */
+    public static final class Change<T> {
+
+        private final T previous;
+        private final T current;
+        private final List<SettingDescriptor> changedSettings;
+
+        private Change(T previous, T current, List<SettingDescriptor> changedSettings) {
+            this.previous = previous;
+            this.current = current;
+            this.changedSettings = changedSettings;
+        }
+
+        /**
+         * Gets the object that was replaced.
+         *
+         * @return The object
+         */
+        public T getPrevious() {
+            return this.previous;
+        }
+
+        /**
+         * Gets the object that was published.
+         *
+         * @return The object
+         */
+        public T getCurrent() {
+            return this.current;
+        }
+
+        /**
+         * Gets the settings of the configuration object whose values differ between the two objects, in field order.
+         *
+         * @return The settings
+         */
+        public List<SettingDescriptor> getChangedSettings() {
+            return this.changedSettings;
+        }
+
+        /**
+         * Gets whether the setting at the given path differs between the two objects.
+         *
+         * @param path The path of the setting
+         * @return <code>true</code> if so
+         */
+        public boolean isChanged(String path) {
+            for (SettingDescriptor setting : this.changedSettings) {
+                if (setting.getPath().equals(path)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Gets whether any setting differs between the two objects.
+         *
+         * @return <code>true</code> if so
+         */
+        public boolean hasChanges() {
+            return !this.changedSettings.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the parsed value of a {@link io.github.nucleuspowered.neutrino.annotations.Default} for each
+ * {@link ConfigurationOptions} that it has been requested with, so that the default string is only deserialised once.
+ *
+ * <p>
+ *     Immutable values are handed out as they are. Mutable values that can be copied cheaply, such as standard
+ *     collections of immutable elements and arrays, are copied from the cached template. Anything else is
+ *     deserialised every time, as it was before.
+ * </p>
+ */
+final class DefaultValueCache {
+
+    private final String defaultValue;
+    private final TypeToken<?> type;
+
+    // Weak keys, so keyed on the identity of the options.
+    private final Cache<ConfigurationOptions, Template> templates = CacheBuilder.newBuilder().weakKeys().build();
+
+    DefaultValueCache(String defaultValue, TypeToken<?> type) {
+        this.defaultValue = defaultValue;
+        this.type = type;
+    }
+
+    @Nullable
+    Object get(ConfigurationOptions options, TypeSerializer<?> serializer) throws ObjectMappingException {
+        Template template = this.templates.getIfPresent(options);
+        if (template == null) {
+            Object value = parse(options, serializer);
+            Function<Object, Object> copier = copier(value);
+            if (copier == null) {
+                this.templates.put(options, Template.UNCACHEABLE);
+                return value;
+            }
+
+            template = new Template(value, copier);
+            this.templates.put(options, template);
+        }
+
+        if (template.copier == null) {
+            return parse(options, serializer);
+        }
+
+        return template.copier.apply(template.value);
+    }
+
+    private Object parse(ConfigurationOptions options, TypeSerializer<?> serializer) throws ObjectMappingException {
+        return serializer.deserialize(this.type, ConfigurationNode.root(options).setValue(this.defaultValue));
+    }
+
+    /**
+     * Gets a function that produces a copy of the value that is safe to hand out, or <code>null</code> if the value
+     * cannot be copied cheaply.
+     */
+    @Nullable
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Object> copier(@Nullable Object value) {
+        if (isImmutable(value)) {
+            return Function.identity();
+        }
+
+        Class<?> clazz = value.getClass();
+        if (clazz.isArray()) {
+            if (clazz.getComponentType().isPrimitive() || allImmutable(value)) {
+                return DefaultValueCache::cloneArray;
+            }
+
+            return null;
+        }
+
+        if (value instanceof Collection && !allImmutable((Collection<?>) value)) {
+            return null;
+        }
+
+        if (value instanceof Map && !(allImmutable(((Map<?, ?>) value).keySet()) && allImmutable(((Map<?, ?>) value).values()))) {
+            return null;
+        }
+
+        if (clazz == ArrayList.class) {
+            return o -> new ArrayList<>((Collection<?>) o);
+        } else if (clazz == LinkedList.class) {
+            return o -> new LinkedList<>((Collection<?>) o);
+        } else if (clazz == HashSet.class) {
+            return o -> new HashSet<>((Collection<?>) o);
+        } else if (clazz == LinkedHashSet.class) {
+            return o -> new LinkedHashSet<>((Collection<?>) o);
+        } else if (clazz == TreeSet.class) {
+            return o -> new TreeSet<>((TreeSet<?>) o);
+        } else if (value instanceof EnumSet) {
+            return o -> ((EnumSet) o).clone();
+        } else if (clazz == HashMap.class) {
+            return o -> new HashMap<>((Map<?, ?>) o);
+        } else if (clazz == LinkedHashMap.class) {
+            return o -> new LinkedHashMap<>((Map<?, ?>) o);
+        } else if (clazz == TreeMap.class) {
+            return o -> new TreeMap<>((TreeMap<?, ?>) o);
+        } else if (clazz == EnumMap.class) {
+            return o -> new EnumMap<>((EnumMap) o);
+        }
+
+        return null;
+    }
+
+    private static boolean isImmutable(@Nullable Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum
+                || value instanceof Pattern || value instanceof UUID || value instanceof Class) {
+            return true;
+        }
+
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte || value instanceof Double
+                || value instanceof Float) {
+            return true;
+        }
+
+        // Subclasses of BigInteger and BigDecimal can be mutable.
+        if (value.getClass() == BigInteger.class || value.getClass() == BigDecimal.class) {
+            return true;
+        }
+
+        if (value instanceof ImmutableCollection) {
+            return allImmutable((ImmutableCollection<?>) value);
+        }
+
+        if (value instanceof ImmutableMap) {
+            return allImmutable(((ImmutableMap<?, ?>) value).keySet()) && allImmutable(((ImmutableMap<?, ?>) value).values());
+        }
+
+        return value.getClass().getName().startsWith("java.time.");
+    }
+
+    private static boolean allImmutable(Collection<?> collection) {
+        for (Object o : collection) {
+            if (!isImmutable(o)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean allImmutable(Object array) {
+        for (int i = 0; i < Array.getLength(array); i++) {
+            if (!isImmutable(Array.get(array, i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Object cloneArray(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    private static final class Template {
+
+        private static final Template UNCACHEABLE = new Template(null, null);
+
+        @Nullable private final Object value;
+        @Nullable private final Function<Object, Object> copier;
+
+        private Template(@Nullable Object value, @Nullable Function<Object, Object> copier) {
+            this.value = value;
+            this.copier = copier;
+        }
+    }
+}
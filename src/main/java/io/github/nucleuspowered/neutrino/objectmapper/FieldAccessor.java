@@ -0,0 +1,109 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reads and writes the value of a single {@link ninja.leaping.configurate.objectmapping.Setting} on an instance.
+ *
+ * <p>
+ *     Accessors are resolved once, when the {@link NeutrinoObjectMapper} is built, so that binding an object does
+ *     not need to go through {@link Field#get(Object)} and {@link Field#set(Object, Object)} for every field.
+ * </p>
+ */
+public interface FieldAccessor {
+
+    /**
+     * Creates the default {@link FieldAccessor} for the supplied field.
+     *
+     * <p>
+     *     This is currently {@link #reflective(Field)}: a {@link java.lang.invoke.MethodHandle} that is not a
+     *     compile time constant is not inlined by the JIT and so benchmarks slower than a {@link Field} that has
+     *     already been made accessible. See the <code>FieldAccessorBenchmark</code> in the <code>jmh</code> source
+     *     set.
+     * </p>
+     *
+     * @param field The {@link Field}
+     * @return The {@link FieldAccessor}
+     */
+    static FieldAccessor of(Field field) {
+        return reflective(field);
+    }
+
+    /**
+     * Creates a {@link FieldAccessor} that uses a {@link Field} that is made accessible once, on creation.
+     *
+     * @param field The {@link Field}
+     * @return The {@link FieldAccessor}
+     */
+    static FieldAccessor reflective(Field field) {
+        return new ReflectiveFieldAccessor(field);
+    }
+
+    /**
+     * Creates a {@link FieldAccessor} that uses {@link java.lang.invoke.MethodHandle}s resolved on creation, falling
+     * back to {@link #reflective(Field)} if the handles cannot be created.
+     *
+     * @param field The {@link Field}
+     * @return The {@link FieldAccessor}
+     */
+    static FieldAccessor methodHandle(Field field) {
+        try {
+            return new MethodHandleFieldAccessor(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return reflective(field);
+        }
+    }
+
+    /**
+     * Creates a {@link FieldAccessor} from a getter and setter, such as those emitted by the Neutrino annotation
+     * processor.
+     *
+     * @param getter The getter, which takes the instance and returns the value of the field
+     * @param setter The setter, which takes the instance and the value to set
+     * @return The {@link FieldAccessor}
+     */
+    static FieldAccessor of(Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+        return new FieldAccessor() {
+            @Override
+            public Object get(Object instance) {
+                return getter.apply(instance);
+            }
+
+            @Override
+            public void set(Object instance, Object value) throws ObjectMappingException {
+                try {
+                    setter.accept(instance, value);
+                } catch (ClassCastException | NullPointerException e) {
+                    throw new ObjectMappingException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Gets the value of the field on the supplied instance.
+     *
+     * @param instance The instance
+     * @return The value
+     * @throws ObjectMappingException if the field could not be read
+     */
+    Object get(Object instance) throws ObjectMappingException;
+
+    /**
+     * Sets the value of the field on the supplied instance.
+     *
+     * @param instance The instance
+     * @param value The value
+     * @throws ObjectMappingException if the field could not be set
+     */
+    void set(Object instance, Object value) throws ObjectMappingException;
+
+}
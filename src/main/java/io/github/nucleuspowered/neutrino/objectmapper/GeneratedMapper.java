@@ -0,0 +1,79 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * The settings of a {@link ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable} class, as emitted at
+ * compile time by the Neutrino annotation processor.
+ *
+ * <p>
+ *     A generated mapper lets the {@link NeutrinoObjectMapper} skip scanning the class and reading its annotations
+ *     by reflection, and reads and writes fields directly rather than through {@link java.lang.reflect.Field}s. The
+ *     generated class for <code>com.example.Config</code> is <code>com.example.Config$$NeutrinoMapper</code>.
+ * </p>
+ *
+ * @param <T> The type that is mapped
+ */
+public interface GeneratedMapper<T> {
+
+    /**
+     * The suffix that is appended to the binary name of a class to get the name of its {@link GeneratedMapper}.
+     */
+    String SUFFIX = "$$NeutrinoMapper";
+
+    /**
+     * Finds the {@link GeneratedMapper} for the supplied type, if one was generated.
+     *
+     * @param type The type
+     * @param <T> The type
+     * @return The {@link GeneratedMapper}, or <code>null</code> if there is not one.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T> GeneratedMapper<T> find(Class<T> type) {
+        try {
+            Class<?> generated = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+            GeneratedMapper<?> mapper = (GeneratedMapper<?>) generated.newInstance();
+            if (mapper.getType() == type) {
+                return (GeneratedMapper<T>) mapper;
+            }
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            Logger.getGlobal().log(Level.WARNING, "Could not load the generated mapper for " + type.getName() + ", falling back to reflection.", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the type that this mapper is for.
+     *
+     * @return The type
+     */
+    Class<T> getType();
+
+    /**
+     * Creates a new instance of the type using its parameterless constructor.
+     *
+     * @return The instance
+     */
+    T newInstance();
+
+    /**
+     * Gets the {@link SettingDescriptor}s for the type and its superclasses, in the order that Configurate would
+     * find them.
+     *
+     * @return The {@link SettingDescriptor}s
+     */
+    List<SettingDescriptor> getSettings();
+
+}
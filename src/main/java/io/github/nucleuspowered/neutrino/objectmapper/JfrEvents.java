@@ -0,0 +1,209 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import javax.annotation.Nullable;
+
+/**
+ * The Java Flight Recorder events themselves. This class is only loaded through {@link NeutrinoEvents} once it is
+ * known that {@code jdk.jfr} is present.
+ */
+final class JfrEvents {
+
+    private static final String CATEGORY = "Neutrino";
+
+    private static final EventType DESERIALISE = EventType.getEventType(FieldDeserialiseEvent.class);
+    private static final EventType SERIALISE = EventType.getEventType(FieldSerialiseEvent.class);
+    private static final EventType PROCESSOR = EventType.getEventType(SettingProcessorEvent.class);
+    private static final EventType DEFAULT = EventType.getEventType(DefaultFallbackEvent.class);
+    private static final EventType CONSTRUCTION = EventType.getEventType(MapperConstructionEvent.class);
+
+    private JfrEvents() {}
+
+    // Forces the event types to register, so that they show up in JMC before they are first used.
+    static boolean init() {
+        return DESERIALISE != null;
+    }
+
+    static boolean isRecordingDeserialise() {
+        return DESERIALISE.isEnabled();
+    }
+
+    static boolean isRecordingSerialise() {
+        return SERIALISE.isEnabled();
+    }
+
+    static boolean isRecordingProcessors() {
+        return PROCESSOR.isEnabled();
+    }
+
+    static void recordField(boolean deserialise, Class<?> mappedClass, String fieldName, String path,
+            @Nullable Class<?> serializer, NeutrinoEvents.Action action) throws ObjectMappingException {
+        FieldEvent event = deserialise ? new FieldDeserialiseEvent() : new FieldSerialiseEvent();
+        event.begin();
+        try {
+            action.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.mappedClass = mappedClass;
+                event.field = fieldName;
+                event.path = path;
+                event.serializer = serializer;
+                event.commit();
+            }
+        }
+    }
+
+    static void recordProcessor(Class<?> processor, boolean onGet, String path, NeutrinoEvents.Action action)
+            throws ObjectMappingException {
+        SettingProcessorEvent event = new SettingProcessorEvent();
+        event.begin();
+        try {
+            action.run();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.processor = processor;
+                event.method = onGet ? "onGet" : "onSet";
+                event.path = path;
+                event.commit();
+            }
+        }
+    }
+
+    static NeutrinoObjectMapper<?> recordConstruction(Class<?> mappedClass, NeutrinoEvents.MapperBuilder builder)
+            throws ObjectMappingException {
+        if (!CONSTRUCTION.isEnabled()) {
+            return builder.build();
+        }
+
+        MapperConstructionEvent event = new MapperConstructionEvent();
+        event.begin();
+        NeutrinoObjectMapper<?> mapper = null;
+        try {
+            mapper = builder.build();
+            return mapper;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.mappedClass = mappedClass;
+                if (mapper != null) {
+                    event.mapper = mapper.getClass();
+                    event.fieldCount = mapper.getFieldData().size();
+                    event.generated = mapper.isGenerated();
+                }
+
+                event.commit();
+            }
+        }
+    }
+
+    static void recordDefault(String fieldName, String path, String defaultValue, String reason) {
+        if (DEFAULT.isEnabled()) {
+            DefaultFallbackEvent event = new DefaultFallbackEvent();
+            event.field = fieldName;
+            event.path = path;
+            event.defaultValue = defaultValue;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+
+    @Category(CATEGORY)
+    @StackTrace(false)
+    abstract static class FieldEvent extends Event {
+
+        @Label("Mapped Class")
+        Class<?> mappedClass;
+
+        @Label("Field")
+        String field;
+
+        @Label("Path")
+        String path;
+
+        @Label("Type Serializer")
+        Class<?> serializer;
+    }
+
+    @Name("neutrino.FieldDeserialise")
+    @Label("Setting Deserialise")
+    @Description("A setting being read from its node into its field")
+    static final class FieldDeserialiseEvent extends FieldEvent {
+    }
+
+    @Name("neutrino.FieldSerialise")
+    @Label("Setting Serialise")
+    @Description("A setting being written from its field to its node")
+    static final class FieldSerialiseEvent extends FieldEvent {
+    }
+
+    @Name("neutrino.SettingProcessor")
+    @Label("Setting Processor")
+    @Description("A SettingProcessor transforming the node of a setting")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class SettingProcessorEvent extends Event {
+
+        @Label("Processor")
+        Class<?> processor;
+
+        @Label("Method")
+        String method;
+
+        @Label("Path")
+        String path;
+    }
+
+    @Name("neutrino.MapperConstruction")
+    @Label("Mapper Construction")
+    @Description("An object mapper being built for a class")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class MapperConstructionEvent extends Event {
+
+        @Label("Mapped Class")
+        Class<?> mappedClass;
+
+        @Label("Mapper")
+        Class<?> mapper;
+
+        @Label("Field Count")
+        int fieldCount;
+
+        @Label("Generated")
+        @Description("Whether the settings came from a mapper generated at compile time, rather than reflection")
+        boolean generated;
+    }
+
+    @Name("neutrino.DefaultFallback")
+    @Label("Default Fallback")
+    @Description("A setting being set to its @Default value rather than the value in its node")
+    @Category(CATEGORY)
+    static final class DefaultFallbackEvent extends Event {
+
+        @Label("Field")
+        String field;
+
+        @Label("Path")
+        String path;
+
+        @Label("Default Value")
+        String defaultValue;
+
+        @Label("Reason")
+        String reason;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * A setting that is only deserialised when it is first used.
+ *
+ * <p>
+ *     When a {@link NeutrinoObjectMapper} populates a field of this type, it keeps a detached copy of the setting's
+ *     node instead of deserialising it. The {@link ninja.leaping.configurate.objectmapping.serialize.TypeSerializer},
+ *     any {@link io.github.nucleuspowered.neutrino.annotations.ProcessSetting} processors and any
+ *     {@link io.github.nucleuspowered.neutrino.annotations.Default} fallback then run the first time that
+ *     {@link #get()} is called, on whichever thread calls it first. Until then, serialising the object writes the
+ *     copied node back as it was.
+ * </p>
+ *
+ * <p>
+ *     This is safe to use from multiple threads, and the value is only ever deserialised once, unless deserialising
+ *     it fails, in which case the next call tries again.
+ * </p>
+ *
+ * @param <T> The type of the value
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    /**
+     * Creates a {@link Lazy} that already holds a value, for use as the initial value of a field.
+     *
+     * @param value The value
+     * @param <T> The type of the value
+     * @return The {@link Lazy}
+     */
+    public static <T> Lazy<T> of(@Nullable T value) {
+        return new Lazy<>(value);
+    }
+
+    @Nullable private T value;
+    @Nullable private ConfigurationNode node;
+    @Nullable private Loader loader;
+    private volatile boolean loaded;
+
+    private Lazy(@Nullable T value) {
+        this.value = value;
+        this.loaded = true;
+    }
+
+    Lazy(ConfigurationNode node, Loader loader) {
+        this.node = node;
+        this.loader = loader;
+        this.loaded = false;
+    }
+
+    /**
+     * Gets the value, deserialising it if this is the first call.
+     *
+     * @return The value
+     * @throws IllegalStateException if the value could not be deserialised, with the
+     *                               {@link ObjectMappingException} as its cause
+     */
+    @Override
+    @Nullable
+    public T get() {
+        try {
+            return load();
+        } catch (ObjectMappingException e) {
+            throw new IllegalStateException("Could not deserialise the lazy setting", e);
+        }
+    }
+
+    /**
+     * Gets the value, deserialising it if this is the first call.
+     *
+     * @return The value
+     * @throws ObjectMappingException if the value could not be deserialised
+     */
+    @Nullable
+    public T load() throws ObjectMappingException {
+        if (!this.loaded) {
+            synchronized (this) {
+                if (!this.loaded) {
+                    // Processors change the node they are given, so a failed load must not change ours.
+                    this.loader.load(this, detach(this.node));
+                    this.node = null;
+                    this.loader = null;
+                    this.loaded = true;
+                }
+            }
+        }
+
+        return this.value;
+    }
+
+    /**
+     * Replaces the value, whether or not it has been deserialised.
+     *
+     * @param value The value
+     */
+    public synchronized void set(@Nullable T value) {
+        this.value = value;
+        this.node = null;
+        this.loader = null;
+        this.loaded = true;
+    }
+
+    /**
+     * Gets whether the value has been deserialised or set, so that {@link #get()} will not deserialise it.
+     *
+     * @return <code>true</code> if so
+     */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * Writes the copy of the node that the value will be deserialised from to the supplied node, if the value has
+     * not been loaded.
+     *
+     * @param target The node to write to
+     * @return <code>true</code> if the value has not been loaded, so the node was written
+     */
+    synchronized boolean writeNodeTo(ConfigurationNode target) {
+        if (this.loaded) {
+            return false;
+        }
+
+        target.setValue(this.node);
+        return true;
+    }
+
+    /**
+     * Gets the value of the node that the value would be loaded from, wrapped in a {@link NodeValue}, so that two
+     * {@link Lazy}s that have not been loaded can be compared without deserialising either.
+     *
+     * @return The wrapped value of the node, or <code>null</code> if the value has been loaded
+     */
+    @Nullable
+    synchronized Object getUnloadedNodeValue() {
+        return this.loaded ? null : new NodeValue(this.node.getValue());
+    }
+
+    @Nullable
+    Object getRawValue() {
+        return this.value;
+    }
+
+    @SuppressWarnings("unchecked")
+    void setRawValue(@Nullable Object value) {
+        this.value = (T) value;
+    }
+
+    /**
+     * Copies a node so that it does not hold on to the rest of the tree it came from. A copy of a virtual node is
+     * attached, and so would look like a setting with a <code>null</code> value, so a virtual node is replaced by a
+     * virtual node under a new root instead.
+     */
+    static ConfigurationNode detach(ConfigurationNode node) {
+        if (node.isVirtual()) {
+            Object key = node.getKey() == null ? "value" : node.getKey();
+            return ConfigurationNode.root(node.getOptions()).getNode(key);
+        }
+
+        return node.copy();
+    }
+
+    static final FieldAccessor VALUE_ACCESSOR = FieldAccessor.of(
+            instance -> ((Lazy<?>) instance).getRawValue(),
+            (instance, value) -> ((Lazy<?>) instance).setRawValue(value));
+
+    private static final class NodeValue {
+
+        @Nullable private final Object value;
+
+        private NodeValue(@Nullable Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof NodeValue && Objects.equals(this.value, ((NodeValue) obj).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.value);
+        }
+    }
+
+    @FunctionalInterface
+    interface Loader {
+
+        /**
+         * Deserialises the value from the node, and sets it through {@link #VALUE_ACCESSOR}.
+         *
+         * @param lazy The {@link Lazy} to set the value on
+         * @param node The node
+         * @throws ObjectMappingException if the value could not be deserialised
+         */
+        void load(Lazy<?> lazy, ConfigurationNode node) throws ObjectMappingException;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import java.util.Map;
+
+/**
+ * Exposes the {@link MapperCacheStatistics} of a {@link NeutrinoObjectMapperFactory} over JMX.
+ *
+ * @see NeutrinoObjectMapperFactory#registerMBean(String)
+ */
+public interface MapperCacheMXBean {
+
+    /**
+     * The domain of the {@link javax.management.ObjectName}s that these beans are registered under.
+     */
+    String DOMAIN = "io.github.nucleuspowered.neutrino";
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getEvictionCount();
+
+    long getBuildFailureCount();
+
+    long getTotalBuildTimeNanos();
+
+    long getSize();
+
+    /**
+     * Gets the time that it last took to build the mapper for each class.
+     *
+     * @return The time in nanoseconds, keyed by class name
+     */
+    Map<String, Long> getLastBuildTimeNanos();
+}
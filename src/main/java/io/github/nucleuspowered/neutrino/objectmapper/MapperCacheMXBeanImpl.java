@@ -0,0 +1,85 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * The {@link MapperCacheMXBean} for a {@link NeutrinoObjectMapperFactory}. The factory is held weakly, so that
+ * registering the bean does not keep it alive.
+ */
+final class MapperCacheMXBeanImpl implements MapperCacheMXBean {
+
+    private final WeakReference<NeutrinoObjectMapperFactory> factory;
+
+    MapperCacheMXBeanImpl(NeutrinoObjectMapperFactory factory) {
+        this.factory = new WeakReference<>(factory);
+    }
+
+    @Nullable
+    private MapperCacheStatistics getStatistics() {
+        NeutrinoObjectMapperFactory factory = this.factory.get();
+        return factory == null ? null : factory.getMapperCacheStatistics();
+    }
+
+    @Override
+    public long getHitCount() {
+        MapperCacheStatistics statistics = getStatistics();
+        return statistics == null ? 0 : statistics.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        MapperCacheStatistics statistics = getStatistics();
+        return statistics == null ? 0 : statistics.getMissCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        MapperCacheStatistics statistics = getStatistics();
+        return statistics == null ? 1.0 : statistics.getHitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        MapperCacheStatistics statistics = getStatistics();
+        return statistics == null ? 0 : statistics.getEvictionCount();
+    }
+
+    @Override
+    public long getBuildFailureCount() {
+        MapperCacheStatistics statistics = getStatistics();
+        return statistics == null ? 0 : statistics.getBuildFailureCount();
+    }
+
+    @Override
+    public long getTotalBuildTimeNanos() {
+        MapperCacheStatistics statistics = getStatistics();
+        return statistics == null ? 0 : statistics.getTotalBuildTimeNanos();
+    }
+
+    @Override
+    public long getSize() {
+        MapperCacheStatistics statistics = getStatistics();
+        return statistics == null ? 0 : statistics.getSize();
+    }
+
+    @Override
+    public Map<String, Long> getLastBuildTimeNanos() {
+        MapperCacheStatistics statistics = getStatistics();
+        ImmutableSortedMap.Builder<String, Long> builder = ImmutableSortedMap.naturalOrder();
+        if (statistics != null) {
+            // Classes from different class loaders can share a name, keep the last.
+            statistics.getBuildTimes().forEach((key, value) -> builder.put(key.getName(), value.getLastNanos()));
+        }
+
+        return ImmutableSortedMap.copyOf(builder.build());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * A snapshot of the statistics of the mapper cache of a {@link NeutrinoObjectMapperFactory}.
+ */
+public final class MapperCacheStatistics {
+
+    private final CacheStats stats;
+    private final long size;
+    private final Map<Class<?>, BuildTime> buildTimes;
+
+    MapperCacheStatistics(CacheStats stats, long size, Map<Class<?>, BuildTime> buildTimes) {
+        this.stats = stats;
+        this.size = size;
+        ImmutableMap.Builder<Class<?>, BuildTime> builder = ImmutableMap.builder();
+        buildTimes.forEach((key, value) -> builder.put(key, value.copy()));
+        this.buildTimes = builder.build();
+    }
+
+    /**
+     * Gets the number of times that a mapper was requested and was already in the cache.
+     *
+     * @return The number of hits
+     */
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    /**
+     * Gets the number of times that a mapper was requested and had to be built.
+     *
+     * @return The number of misses
+     */
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    public double getHitRate() {
+        return this.stats.hitRate();
+    }
+
+    /**
+     * Gets the number of mappers that have been evicted from the cache, because the cache was full, the mapper had
+     * not been used for too long, or its class was unloaded.
+     *
+     * @return The number of evictions
+     */
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    /**
+     * Gets the number of mappers that failed to build.
+     *
+     * @return The number of failures
+     */
+    public long getBuildFailureCount() {
+        return this.stats.loadExceptionCount();
+    }
+
+    /**
+     * Gets the total time spent building mappers, including those that failed.
+     *
+     * @return The time, in nanoseconds
+     */
+    public long getTotalBuildTimeNanos() {
+        return this.stats.totalLoadTime();
+    }
+
+    /**
+     * Gets the number of mappers in the cache.
+     *
+     * @return The number of mappers
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * Gets the time that it took to build the mapper for each class that has been built, whether or not it is still
+     * in the cache.
+     *
+     * @return The {@link BuildTime}s, keyed by class
+     */
+    public Map<Class<?>, BuildTime> getBuildTimes() {
+        return this.buildTimes;
+    }
+
+    /**
+     * Gets the time that it took to build the mapper for a class.
+     *
+     * @param clazz The class
+     * @return The {@link BuildTime}, or <code>null</code> if no mapper has been built for the class
+     */
+    @Nullable
+    public BuildTime getBuildTime(Class<?> clazz) {
+        return this.buildTimes.get(clazz);
+    }
+
+    /**
+     * The times that it took to build the mapper for a class. A class that is built more than once has been evicted
+     * in between.
+     */
+    public static final class BuildTime {
+
+        private int count;
+        private long lastNanos;
+        private long totalNanos;
+
+        BuildTime() {
+        }
+
+        private BuildTime(int count, long lastNanos, long totalNanos) {
+            this.count = count;
+            this.lastNanos = lastNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        synchronized void record(long nanos) {
+            this.count++;
+            this.lastNanos = nanos;
+            this.totalNanos += nanos;
+        }
+
+        synchronized BuildTime copy() {
+            return new BuildTime(this.count, this.lastNanos, this.totalNanos);
+        }
+
+        /**
+         * Gets the number of times that the mapper was built.
+         *
+         * @return The count
+         */
+        public int getCount() {
+            return this.count;
+        }
+
+        /**
+         * Gets the time that it took to build the mapper the last time.
+         *
+         * @return The time, in nanoseconds
+         */
+        public long getLastNanos() {
+            return this.lastNanos;
+        }
+
+        /**
+         * Gets the total time spent building the mapper.
+         *
+         * @return The time, in nanoseconds
+         */
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+    }
+}
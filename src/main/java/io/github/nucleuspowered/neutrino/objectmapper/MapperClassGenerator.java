@@ -0,0 +1,333 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the {@link CompiledNeutrinoObjectMapper.Binder} class for a mapper at runtime.
+ *
+ * <p>
+ *     The generated class holds the {@link CompiledNeutrinoObjectMapper.Binding} and path of each setting in a field
+ *     of its own, and its <code>populate</code> and <code>serialize</code> methods call each binding in turn, with no
+ *     loop and no array access. Each call site in the class only ever sees the binding class of one setting of one
+ *     mapped type, so the JIT can inline the whole bind path rather than dispatching through a call site shared by
+ *     every setting of every type.
+ * </p>
+ *
+ * <p>
+ *     The class file is written directly, as the code is straight-line and needs none of the machinery of a bytecode
+ *     library. It only refers to public types, and is defined in a class loader of its own, so that it works on
+ *     every JVM that the library supports, and is unloaded along with its mapper.
+ * </p>
+ */
+final class MapperClassGenerator {
+
+    private static final String PACKAGE = "io/github/nucleuspowered/neutrino/objectmapper/compiled/";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String BINDER = internalName(CompiledNeutrinoObjectMapper.Binder.class);
+    private static final String BINDING = internalName(CompiledNeutrinoObjectMapper.Binding.class);
+    private static final String NODE = internalName(ConfigurationNode.class);
+
+    private static final String BINDING_DESCRIPTOR = "L" + BINDING + ";";
+    private static final String PATH_DESCRIPTOR = "[Ljava/lang/Object;";
+    private static final String CONSTRUCTOR_DESCRIPTOR = "([" + BINDING_DESCRIPTOR + "[" + PATH_DESCRIPTOR + ")V";
+    private static final String BIND_DESCRIPTOR = "(Ljava/lang/Object;L" + NODE + ";)V";
+    private static final String GET_NODE_DESCRIPTOR = "(" + PATH_DESCRIPTOR + ")L" + NODE + ";";
+
+    private static final int MAX_CODE_LENGTH = 65535;
+    private static final int MAX_CONSTANTS = 65535;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int AALOAD = 0x32;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKEINTERFACE = 0xb9;
+
+    private static final AtomicLong counter = new AtomicLong();
+
+    /**
+     * Generates, defines and instantiates a binder for the supplied settings.
+     *
+     * @param type The mapped type, which is only used to name the generated class
+     * @param bindings The binding for each setting
+     * @param paths The path of each setting, in the same order
+     * @return The binder
+     * @throws IllegalArgumentException if there are too many settings to fit in one class
+     * @throws ReflectiveOperationException if the generated class could not be instantiated
+     */
+    static CompiledNeutrinoObjectMapper.Binder generate(Class<?> type, CompiledNeutrinoObjectMapper.Binding[] bindings,
+            Object[][] paths) throws ReflectiveOperationException {
+        String name = PACKAGE + type.getName().replace('.', '_') + "$$Binder" + counter.incrementAndGet();
+        byte[] bytes = write(name, bindings.length);
+        Class<?> generated = new Loader(CompiledNeutrinoObjectMapper.class.getClassLoader()).define(name.replace('/', '.'), bytes);
+        return (CompiledNeutrinoObjectMapper.Binder) generated.getConstructor(CompiledNeutrinoObjectMapper.Binding[].class, Object[][].class)
+                .newInstance(bindings, paths);
+    }
+
+    private static byte[] write(String name, int settings) {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(name);
+        int objectClass = pool.classRef(OBJECT);
+        int binderClass = pool.classRef(BINDER);
+        int code = pool.utf8("Code");
+        int objectConstructor = pool.memberRef(10, OBJECT, "<init>", "()V");
+        int getNode = pool.memberRef(11, NODE, "getNode", GET_NODE_DESCRIPTOR);
+        int deserializeFrom = pool.memberRef(11, BINDING, "deserializeFrom", BIND_DESCRIPTOR);
+        int serializeTo = pool.memberRef(11, BINDING, "serializeTo", BIND_DESCRIPTOR);
+
+        int[] bindingFields = new int[settings];
+        int[] pathFields = new int[settings];
+        for (int i = 0; i < settings; i++) {
+            bindingFields[i] = pool.memberRef(9, name, "binding" + i, BINDING_DESCRIPTOR);
+            pathFields[i] = pool.memberRef(9, name, "path" + i, PATH_DESCRIPTOR);
+        }
+
+        // public <init>(Binding[] bindings, Object[][] paths)
+        Code constructor = new Code();
+        constructor.op(ALOAD_0).op(INVOKESPECIAL).u2(objectConstructor);
+        for (int i = 0; i < settings; i++) {
+            constructor.op(ALOAD_0).op(ALOAD_1).pushInt(i).op(AALOAD).op(PUTFIELD).u2(bindingFields[i]);
+            constructor.op(ALOAD_0).op(ALOAD_2).pushInt(i).op(AALOAD).op(PUTFIELD).u2(pathFields[i]);
+        }
+
+        constructor.op(RETURN);
+
+        // public void populate(Object instance, ConfigurationNode source), and serialize(Object, ConfigurationNode)
+        Code populate = bind(bindingFields, pathFields, getNode, deserializeFrom);
+        Code serialize = bind(bindingFields, pathFields, getNode, serializeTo);
+        if (constructor.length() > MAX_CODE_LENGTH || populate.length() > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("There are too many settings (" + settings + ") to generate a binder for");
+        }
+
+        int constructorName = pool.utf8("<init>");
+        int constructorDescriptor = pool.utf8(CONSTRUCTOR_DESCRIPTOR);
+        int populateName = pool.utf8("populate");
+        int serializeName = pool.utf8("serialize");
+        int bindDescriptor = pool.utf8(BIND_DESCRIPTOR);
+        int bindingName = pool.utf8(BINDING_DESCRIPTOR);
+        int pathName = pool.utf8(PATH_DESCRIPTOR);
+        int[] bindingFieldNames = new int[settings];
+        int[] pathFieldNames = new int[settings];
+        for (int i = 0; i < settings; i++) {
+            bindingFieldNames[i] = pool.utf8("binding" + i);
+            pathFieldNames[i] = pool.utf8("path" + i);
+        }
+
+        if (pool.size() > MAX_CONSTANTS) {
+            throw new IllegalArgumentException("There are too many settings (" + settings + ") to generate a binder for");
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(0xCAFEBABE);
+            output.writeShort(0);
+            output.writeShort(52); // Java 8
+            pool.write(output);
+            output.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            output.writeShort(thisClass);
+            output.writeShort(objectClass);
+            output.writeShort(1);
+            output.writeShort(binderClass);
+
+            output.writeShort(settings * 2);
+            for (int i = 0; i < settings; i++) {
+                writeField(output, bindingFieldNames[i], bindingName);
+                writeField(output, pathFieldNames[i], pathName);
+            }
+
+            output.writeShort(3);
+            writeMethod(output, constructorName, constructorDescriptor, code, constructor, 4, 3);
+            writeMethod(output, populateName, bindDescriptor, code, populate, 4, 3);
+            writeMethod(output, serializeName, bindDescriptor, code, serialize, 4, 3);
+            output.writeShort(0);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // A ByteArrayOutputStream does not throw.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Code bind(int[] bindingFields, int[] pathFields, int getNode, int method) {
+        // this.bindingN.method(instance, node.getNode(this.pathN))
+        Code code = new Code();
+        for (int i = 0; i < bindingFields.length; i++) {
+            code.op(ALOAD_0).op(GETFIELD).u2(bindingFields[i])
+                    .op(ALOAD_1)
+                    .op(ALOAD_2).op(ALOAD_0).op(GETFIELD).u2(pathFields[i]).op(INVOKEINTERFACE).u2(getNode).op(2).op(0)
+                    .op(INVOKEINTERFACE).u2(method).op(3).op(0);
+        }
+
+        return code.op(RETURN);
+    }
+
+    private static void writeField(DataOutputStream output, int name, int descriptor) throws IOException {
+        output.writeShort(ACC_PRIVATE | ACC_FINAL);
+        output.writeShort(name);
+        output.writeShort(descriptor);
+        output.writeShort(0);
+    }
+
+    private static void writeMethod(DataOutputStream output, int name, int descriptor, int codeName, Code code, int maxStack,
+            int maxLocals) throws IOException {
+        output.writeShort(ACC_PUBLIC);
+        output.writeShort(name);
+        output.writeShort(descriptor);
+        output.writeShort(1);
+        output.writeShort(codeName);
+        output.writeInt(12 + code.length());
+        output.writeShort(maxStack);
+        output.writeShort(maxLocals);
+        output.writeInt(code.length());
+        code.bytes.writeTo(output);
+        output.writeShort(0); // exception table
+        output.writeShort(0); // attributes
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private MapperClassGenerator() {
+    }
+
+    private static final class Code {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private Code op(int op) {
+            this.bytes.write(op);
+            return this;
+        }
+
+        private Code u2(int value) {
+            this.bytes.write(value >>> 8);
+            this.bytes.write(value);
+            return this;
+        }
+
+        private Code pushInt(int value) {
+            if (value <= 5) {
+                return op(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                return op(BIPUSH).op(value);
+            }
+
+            return op(SIPUSH).u2(value);
+        }
+
+        private int length() {
+            return this.bytes.size();
+        }
+    }
+
+    private static final class ConstantPool {
+
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<byte[]> entries = new ArrayList<>();
+
+        private int utf8(String value) {
+            return add("U" + value, output -> {
+                output.writeByte(1);
+                output.writeUTF(value);
+            });
+        }
+
+        private int classRef(String internalName) {
+            int name = utf8(internalName);
+            return add("C" + internalName, output -> {
+                output.writeByte(7);
+                output.writeShort(name);
+            });
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerClass = classRef(owner);
+            int memberName = utf8(name);
+            int memberDescriptor = utf8(descriptor);
+            int nameAndType = add("N" + name + ":" + descriptor, output -> {
+                output.writeByte(12);
+                output.writeShort(memberName);
+                output.writeShort(memberDescriptor);
+            });
+
+            return add(tag + owner + "." + name + ":" + descriptor, output -> {
+                output.writeByte(tag);
+                output.writeShort(ownerClass);
+                output.writeShort(nameAndType);
+            });
+        }
+
+        private int add(String key, Entry entry) {
+            Integer index = this.indices.get(key);
+            if (index == null) {
+                try {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    entry.write(new DataOutputStream(bytes));
+                    this.entries.add(bytes.toByteArray());
+                } catch (IOException e) {
+                    // A ByteArrayOutputStream does not throw.
+                    throw new IllegalStateException(e);
+                }
+
+                // Indices start at 1.
+                index = this.entries.size();
+                this.indices.put(key, index);
+            }
+
+            return index;
+        }
+
+        private int size() {
+            return this.entries.size() + 1;
+        }
+
+        private void write(DataOutputStream output) throws IOException {
+            output.writeShort(size());
+            for (byte[] entry : this.entries) {
+                output.write(entry);
+            }
+        }
+
+        @FunctionalInterface
+        private interface Entry {
+
+            void write(DataOutputStream output) throws IOException;
+        }
+    }
+
+    private static final class Loader extends ClassLoader {
+
+        private Loader(ClassLoader parent) {
+            super(parent);
+        }
+
+        private Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
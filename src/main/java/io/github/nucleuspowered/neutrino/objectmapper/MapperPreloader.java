@@ -0,0 +1,131 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessorCache;
+import io.github.nucleuspowered.neutrino.util.ClassConstructor;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Builds the mappers for a set of classes, and for the {@link ConfigSerializable} types of their settings, on an
+ * {@link Executor}, collecting the failures rather than throwing them.
+ */
+final class MapperPreloader {
+
+    private final NeutrinoObjectMapperFactory factory;
+    private final ClassConstructor<SettingProcessor> processorConstructor;
+    private final Executor executor;
+    private final Set<Class<?>> seen = ConcurrentHashMap.newKeySet();
+    private final Set<Class<?>> preloaded = ConcurrentHashMap.newKeySet();
+    private final Queue<PreloadReport.Failure> failures = new ConcurrentLinkedQueue<>();
+
+    // One party for the caller, and one for each class that is still being preloaded.
+    private final Phaser phaser = new Phaser(1);
+
+    MapperPreloader(NeutrinoObjectMapperFactory factory, ClassConstructor<SettingProcessor> processorConstructor,
+            Executor executor) {
+        this.factory = factory;
+        this.processorConstructor = processorConstructor;
+        this.executor = executor;
+    }
+
+    void addFailure(String className, String description, Throwable cause) {
+        this.failures.add(new PreloadReport.Failure(className, description, cause));
+    }
+
+    PreloadReport run(Collection<? extends Class<?>> classes) {
+        for (Class<?> clazz : classes) {
+            submit(clazz);
+        }
+
+        this.phaser.arriveAndAwaitAdvance();
+        return new PreloadReport(this.preloaded, this.failures);
+    }
+
+    private void submit(Class<?> clazz) {
+        if (!this.seen.add(clazz)) {
+            return;
+        }
+
+        this.phaser.register();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    preload(clazz);
+                } finally {
+                    this.phaser.arriveAndDeregister();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            addFailure(clazz.getName(), "The executor rejected the task", e);
+            this.phaser.arriveAndDeregister();
+        }
+    }
+
+    private void preload(Class<?> clazz) {
+        NeutrinoObjectMapper<?> mapper;
+        try {
+            mapper = this.factory.getMapper(clazz);
+        } catch (Throwable e) {
+            Throwable cause = e instanceof UncheckedExecutionException && e.getCause() != null ? e.getCause() : e;
+            addFailure(clazz.getName(), "Could not build the mapper", cause);
+            return;
+        }
+
+        this.preloaded.add(clazz);
+        for (SettingDescriptor setting : mapper.getSettings()) {
+            if (setting.getProcessors() != null) {
+                for (Class<? extends SettingProcessor> processor : setting.getProcessors()) {
+                    try {
+                        SettingProcessorCache.getOrAdd(processor, this.processorConstructor);
+                    } catch (Throwable e) {
+                        addFailure(clazz.getName(), "Could not create the setting processor " + processor.getName()
+                                + " for " + setting.getFieldName(), e);
+                    }
+                }
+            }
+
+            submitNested(setting.getType().getType());
+        }
+    }
+
+    // Looks through arrays and type arguments, so that List<Nested> and Map<String, Nested[]> find Nested.
+    private void submitNested(Type type) {
+        if (type instanceof Class) {
+            Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray()) {
+                submitNested(clazz.getComponentType());
+            } else if (clazz.isAnnotationPresent(ConfigSerializable.class)) {
+                submit(clazz);
+            }
+        } else if (type instanceof ParameterizedType) {
+            submitNested(((ParameterizedType) type).getRawType());
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                submitNested(argument);
+            }
+        } else if (type instanceof GenericArrayType) {
+            submitNested(((GenericArrayType) type).getGenericComponentType());
+        } else if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                submitNested(bound);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+final class MethodHandleFieldAccessor implements FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String name;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    MethodHandleFieldAccessor(Field field) throws IllegalAccessException {
+        field.setAccessible(true);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle get = lookup.unreflectGetter(field);
+        MethodHandle set = lookup.unreflectSetter(field);
+        if (Modifier.isStatic(field.getModifiers())) {
+            // Ignore the instance, but keep the same shape as instance fields.
+            get = MethodHandles.dropArguments(get, 0, Object.class);
+            set = MethodHandles.dropArguments(set, 0, Object.class);
+        }
+
+        this.name = field.getName();
+        this.getter = get.asType(GETTER_TYPE);
+        this.setter = set.asType(SETTER_TYPE);
+    }
+
+    @Override
+    public Object get(Object instance) throws ObjectMappingException {
+        try {
+            return this.getter.invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ObjectMappingException("Unable to get field " + this.name, e);
+        }
+    }
+
+    @Override
+    public void set(Object instance, Object value) throws ObjectMappingException {
+        try {
+            this.setter.invokeExact(instance, value);
+        } catch (ClassCastException e) {
+            throw new ObjectMappingException("Unable to set field " + this.name, e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ObjectMappingException("Unable to set field " + this.name, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Records the Java Flight Recorder events for the mapper, where the JVM supports them.
+ *
+ * <p>
+ *     Nothing here touches {@code jdk.jfr} unless it is present, so that the mapper still works on JVMs without it.
+ *     The callers check the <code>isRecording</code> methods first, and only create the {@link Action} to record when
+ *     the event is enabled in a running recording. Mapper construction and default fallbacks check the same way
+ *     before creating their events, so there is no cost when nothing is being recorded beyond the check.
+ * </p>
+ */
+final class NeutrinoEvents {
+
+    private static final boolean AVAILABLE = checkAvailable();
+
+    private NeutrinoEvents() {}
+
+    private static boolean checkAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, NeutrinoEvents.class.getClassLoader());
+            return JfrEvents.init();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets whether this JVM can record the events at all, whether or not anything is being recorded right now.
+     *
+     * @return <code>true</code> if so
+     */
+    static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    static boolean isRecordingDeserialise() {
+        return AVAILABLE && JfrEvents.isRecordingDeserialise();
+    }
+
+    static boolean isRecordingSerialise() {
+        return AVAILABLE && JfrEvents.isRecordingSerialise();
+    }
+
+    static boolean isRecordingProcessors() {
+        return AVAILABLE && JfrEvents.isRecordingProcessors();
+    }
+
+    static void recordDeserialise(Class<?> mappedClass, String fieldName, String path,
+            @Nullable Class<?> serializer, Action action) throws ObjectMappingException {
+        JfrEvents.recordField(true, mappedClass, fieldName, path, serializer, action);
+    }
+
+    static void recordSerialise(Class<?> mappedClass, String fieldName, String path,
+            @Nullable Class<?> serializer, Action action) throws ObjectMappingException {
+        JfrEvents.recordField(false, mappedClass, fieldName, path, serializer, action);
+    }
+
+    static void recordProcessor(SettingProcessor processor, boolean onGet, String path, Action action)
+            throws ObjectMappingException {
+        JfrEvents.recordProcessor(processor.getClass(), onGet, path, action);
+    }
+
+    static NeutrinoObjectMapper<?> recordConstruction(Class<?> mappedClass, MapperBuilder builder)
+            throws ObjectMappingException {
+        return AVAILABLE ? JfrEvents.recordConstruction(mappedClass, builder) : builder.build();
+    }
+
+    static void recordDefault(String fieldName, String path, String defaultValue, String reason) {
+        if (AVAILABLE) {
+            JfrEvents.recordDefault(fieldName, path, defaultValue, reason);
+        }
+    }
+
+    @FunctionalInterface
+    interface Action {
+
+        void run() throws ObjectMappingException;
+    }
+
+    @FunctionalInterface
+    interface MapperBuilder {
+
+        NeutrinoObjectMapper<?> build() throws ObjectMappingException;
+    }
+}
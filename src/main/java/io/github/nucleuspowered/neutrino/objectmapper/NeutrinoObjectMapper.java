@@ -4,38 +4,49 @@
  */
 package io.github.nucleuspowered.neutrino.objectmapper;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.reflect.TypeToken;
-import io.github.nucleuspowered.neutrino.annotations.Default;
-import io.github.nucleuspowered.neutrino.annotations.DoNotGenerate;
-import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
-import io.github.nucleuspowered.neutrino.annotations.RequiresProperty;
+import io.github.nucleuspowered.neutrino.settingprocessor.FusedElementSettingProcessor;
 import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
 import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessorCache;
 import io.github.nucleuspowered.neutrino.util.ClassConstructor;
 import ninja.leaping.configurate.ConfigurationNode;
-import ninja.leaping.configurate.SimpleConfigurationNode;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import ninja.leaping.configurate.objectmapping.ObjectMapper;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollection;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
-import java.util.logging.Logger;
-import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
 
 public class NeutrinoObjectMapper<T> extends ObjectMapper<T> {
 
+    private final Class<T> mappedClass;
     private final Function<Setting, String> commentProcessor;
     private final ClassConstructor<SettingProcessor> classConstructor;
+    @Nullable private final GeneratedMapper<T> generatedMapper;
     private Map<String, FieldData> fieldDataMapCache;
-    private List<Field> fieldsToProcess;
+    private List<Class<? super T>> classesToProcess;
+    private List<SettingDescriptor> settings;
+    @Nullable private ParallelBinder parallelBinder;
+    private final ValuePool valuePool;
+    private final boolean canonicaliseAll;
+    private final SerializerTable serializerTable = new SerializerTable();
 
     /**
      * Create a new object mapper of a given type
@@ -46,9 +57,48 @@ public class NeutrinoObjectMapper<T> extends ObjectMapper<T> {
     public NeutrinoObjectMapper(Class<T> clazz,
             Function<Setting, String> commentProcessor,
             ClassConstructor<SettingProcessor> constructor) throws ObjectMappingException {
-        super(clazz);
+        this(clazz, commentProcessor, constructor, null);
+    }
+
+    /**
+     * Create a new object mapper of a given type
+     *
+     * @param clazz The type this object mapper will work with
+     * @param generatedMapper The {@link GeneratedMapper} to get the settings from, or <code>null</code> to find them
+     *                        by reflection
+     * @throws ObjectMappingException if the provided class is in someway invalid
+     */
+    public NeutrinoObjectMapper(Class<T> clazz,
+            Function<Setting, String> commentProcessor,
+            ClassConstructor<SettingProcessor> constructor,
+            @Nullable GeneratedMapper<T> generatedMapper) throws ObjectMappingException {
+        this(clazz, commentProcessor, constructor, generatedMapper, ValuePool.getShared(), false);
+    }
+
+    /**
+     * Create a new object mapper of a given type
+     *
+     * @param clazz The type this object mapper will work with
+     * @param generatedMapper The {@link GeneratedMapper} to get the settings from, or <code>null</code> to find them
+     *                        by reflection
+     * @param valuePool The {@link ValuePool} to canonicalise values with
+     * @param canonicaliseAll Whether to canonicalise the values of every setting, rather than just those with
+     *                        {@link io.github.nucleuspowered.neutrino.annotations.Canonicalise}
+     * @throws ObjectMappingException if the provided class is in someway invalid
+     */
+    public NeutrinoObjectMapper(Class<T> clazz,
+            Function<Setting, String> commentProcessor,
+            ClassConstructor<SettingProcessor> constructor,
+            @Nullable GeneratedMapper<T> generatedMapper,
+            ValuePool valuePool,
+            boolean canonicaliseAll) throws ObjectMappingException {
+        super(TypeToken.of(clazz));
+        this.mappedClass = clazz;
         this.commentProcessor = commentProcessor;
         this.classConstructor = constructor;
+        this.generatedMapper = generatedMapper;
+        this.valuePool = valuePool;
+        this.canonicaliseAll = canonicaliseAll;
         collectFields();
     }
 
@@ -56,108 +106,517 @@ public class NeutrinoObjectMapper<T> extends ObjectMapper<T> {
     protected void collectFields(Map<String, FieldData> cachedFields, Class<? super T> clazz) throws ObjectMappingException {
         if (this.fieldDataMapCache == null) {
             this.fieldDataMapCache = cachedFields;
-            this.fieldsToProcess = Lists.newArrayList();
+            this.classesToProcess = Lists.newArrayList();
         }
 
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(Setting.class)) {
-                fieldsToProcess.add(field);
-            }
-        }
+        this.classesToProcess.add(clazz);
+    }
+
+    // Configurate only calls the collectFields above if it is declared on the runtime class, which is not the case for
+    // subclasses, so they come through here instead.
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void collectFields(Map<String, FieldData> cachedFields, TypeToken<? super T> type) throws ObjectMappingException {
+        collectFields(cachedFields, (Class<? super T>) type.getRawType());
     }
 
     protected void collectFields() throws ObjectMappingException {
-        for (Field field : fieldsToProcess) {
-            Setting setting = field.getAnnotation(Setting.class);
-            String path = setting.value();
-            if (path.isEmpty()) {
-                path = field.getName();
+        List<SettingDescriptor> settings;
+        if (this.generatedMapper != null) {
+            settings = this.generatedMapper.getSettings();
+        } else {
+            settings = Lists.newArrayList();
+            for (Class<? super T> clazz : this.classesToProcess) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Setting.class)) {
+                        settings.add(SettingDescriptor.fromField(field));
+                    }
+                }
             }
+        }
 
-            String comment = commentProcessor.apply(setting);
+        this.settings = ImmutableList.copyOf(settings);
+        for (SettingDescriptor declared : settings) {
+            String path = declared.getPath();
+            String comment = commentProcessor.apply(declared.getSetting());
 
+            // The chain for a Lazy field works on the value inside the Lazy, and is only run when it is first used.
+            SettingDescriptor setting = declared.isLazy() ? declared.forLazyValue() : declared;
+            setting = setting.forMapper(this.mappedClass, this.serializerTable);
             FieldData data;
-            if (field.isAnnotationPresent(ProcessSetting.class)) {
+            if (setting.getProcessors() != null) {
                 try {
-                    data = new PreprocessedFieldData(field, comment, this.classConstructor);
+                    data = new PreprocessedFieldData(setting, comment, this.classConstructor);
                 } catch (IllegalArgumentException e) {
-                    data = new FieldData(field, comment);
+                    data = new NeutrinoFieldData(setting, comment);
                 }
-            } else if (field.isAnnotationPresent(DoNotGenerate.class)) {
+            } else if (setting.isDoNotGenerate()) {
                 Object defaultValue = null;
                 try {
-                    field.setAccessible(true);
-                    defaultValue = field.get(field.getDeclaringClass().newInstance());
-                } catch (IllegalAccessException | InstantiationException e) {
+                    defaultValue = declared.getAccessor().get(constructObject());
+                    if (defaultValue instanceof Lazy) {
+                        defaultValue = ((Lazy<?>) defaultValue).get();
+                    }
+                } catch (ObjectMappingException e) {
                     e.printStackTrace();
                 }
 
-                data = new DoNotGenerateFieldData(field, comment, defaultValue);
+                data = new DoNotGenerateFieldData(setting, comment, defaultValue);
             } else {
-                data = new FieldData(field, comment);
+                data = new NeutrinoFieldData(setting, comment);
+            }
+
+            PropertyConditions.Condition condition = setting.getRequiredProperty() == null ? null :
+                    PropertyConditions.get(setting.getRequiredProperty(), setting.getRequiredPropertyMatch());
+            if (setting.hasDefault()) {
+                data = new DefaultFieldData(setting, comment, data, condition);
+            } else if (condition != null) {
+                data = new ConditionalFieldData(setting, comment, data, condition);
+            }
+
+            if (this.canonicaliseAll || setting.isCanonicalise()) {
+                data = new CanonicalisingFieldData(setting, comment, data, this.valuePool);
             }
 
-            if (field.isAnnotationPresent(Default.class)) {
-                Default de = field.getAnnotation(Default.class);
-                data = new DefaultFieldData(field, comment, data, de.value(), de.saveDefaultIfNull(), de.useDefaultIfEmpty(), canEdit(field));
-            } else if (!canEdit(field)) {
-                data = new JavaPropertyFieldData(field, comment);
+            if (declared.isLazy()) {
+                data = new LazyFieldData(declared, comment, data);
             }
 
-            field.setAccessible(true);
             if (!fieldDataMapCache.containsKey(path)) {
                 fieldDataMapCache.put(path, data);
             }
         }
     }
 
-    private boolean canEdit(Field field) {
-        if (!field.isAnnotationPresent(RequiresProperty.class)) {
-            return true;
+    @Override
+    protected T constructObject() throws ObjectMappingException {
+        if (this.generatedMapper != null) {
+            return this.generatedMapper.newInstance();
+        }
+
+        return super.constructObject();
+    }
+
+    @Override
+    public BoundInstance bind(T instance) {
+        return new NeutrinoBoundInstance(instance);
+    }
+
+    @Override
+    public BoundInstance bindToNew() throws ObjectMappingException {
+        return new NeutrinoBoundInstance(constructObject());
+    }
+
+    /**
+     * Binds an instance for incremental population, where each populate only deserialises the settings whose node
+     * has changed since the last time it was deserialised.
+     *
+     * @param instance The instance to bind
+     * @return The {@link IncrementalBoundInstance}
+     */
+    public IncrementalBoundInstance bindIncremental(T instance) {
+        return new IncrementalBoundInstance(instance);
+    }
+
+    /**
+     * Creates and binds a new instance for incremental population, as in {@link #bindIncremental(Object)}.
+     *
+     * @return The {@link IncrementalBoundInstance}
+     * @throws ObjectMappingException if the instance could not be created
+     */
+    public IncrementalBoundInstance bindToNewIncremental() throws ObjectMappingException {
+        return new IncrementalBoundInstance(constructObject());
+    }
+
+    /**
+     * Binds a new object from each of the supplied nodes on the calling thread.
+     *
+     * <p>
+     *     This is equivalent to calling <code>bindToNew().populate(node)</code> for each node, except that a node
+     *     that fails does not stop the rest of the batch. The serializer for each setting is only looked up again
+     *     when a node has different {@link ninja.leaping.configurate.ConfigurationOptions} serializers to the one
+     *     before it.
+     * </p>
+     *
+     * @param nodes The nodes to bind
+     * @return The {@link BatchResult}, which holds an object or a failure for each node
+     */
+    public BatchResult<T> populateAll(List<? extends ConfigurationNode> nodes) {
+        return populateAll(nodes, null);
+    }
+
+    /**
+     * Binds a new object from each of the supplied nodes, as in {@link #populateAll(List)}, splitting the nodes
+     * between the calling thread and the supplied {@link Executor}. This returns once every node has been bound or
+     * has failed.
+     *
+     * @param nodes The nodes to bind
+     * @param executor The {@link Executor} to bind on, or <code>null</code> to bind on the calling thread only
+     * @return The {@link BatchResult}, which holds an object or a failure for each node
+     */
+    public BatchResult<T> populateAll(List<? extends ConfigurationNode> nodes, @Nullable Executor executor) {
+        Preconditions.checkNotNull(nodes, "nodes");
+        return BatchBinder.populate(this, nodes instanceof RandomAccess ? nodes : new ArrayList<>(nodes), executor);
+    }
+
+    /**
+     * Gets whether this mapper uses a {@link GeneratedMapper} rather than reflection to find its settings.
+     *
+     * @return <code>true</code> if so
+     */
+    public boolean isGenerated() {
+        return this.generatedMapper != null;
+    }
+
+    /**
+     * Gets the {@link FieldData} for each setting path that this mapper handles, in the order that they are bound.
+     *
+     * @return The {@link FieldData}, keyed by path.
+     */
+    protected final Map<String, FieldData> getFieldData() {
+        return Collections.unmodifiableMap(this.fieldDataMapCache);
+    }
+
+    /**
+     * Gets the class that this mapper works with.
+     *
+     * @return The class
+     */
+    public final Class<T> getMappedClass() {
+        return this.mappedClass;
+    }
+
+    /**
+     * Gets the {@link SettingDescriptor}s that this mapper was built from, in field order.
+     *
+     * @return The descriptors
+     */
+    public final List<SettingDescriptor> getSettings() {
+        return this.settings;
+    }
+
+    /**
+     * Gets the path of each setting that this mapper binds, in the order that they are bound.
+     */
+    final Set<String> getPaths() {
+        return Collections.unmodifiableSet(this.fieldDataMapCache.keySet());
+    }
+
+    /**
+     * Gets a {@link SchemaIndex.Binder} that deserialises the setting at the given path with its complete
+     * {@link FieldData}.
+     */
+    final SchemaIndex.Binder getBinder(String path) {
+        return this.fieldDataMapCache.get(path)::deserializeFrom;
+    }
+
+    /**
+     * Gets the {@link ParallelBinder} to populate an object with the given number of settings with, if it should be
+     * populated in parallel.
+     */
+    @Nullable
+    final ParallelBinder getParallelBinder(int settingCount) {
+        return this.parallelBinder != null && this.parallelBinder.appliesTo(settingCount) ? this.parallelBinder : null;
+    }
+
+    // Set by the factory before the mapper is published.
+    final void setParallelBinder(@Nullable ParallelBinder parallelBinder) {
+        this.parallelBinder = parallelBinder;
+    }
+
+    public class NeutrinoBoundInstance extends BoundInstance {
+
+        protected NeutrinoBoundInstance(T boundInstance) {
+            super(boundInstance);
+        }
+
+        @Override
+        public T populate(ConfigurationNode source) throws ObjectMappingException {
+            ParallelBinder binder = getParallelBinder(fieldDataMapCache.size());
+            if (binder == null) {
+                return super.populate(source);
+            }
+
+            T instance = getInstance();
+            FieldData[] fieldData = new FieldData[fieldDataMapCache.size()];
+            ConfigurationNode[] nodes = new ConfigurationNode[fieldData.length];
+            int i = 0;
+            for (Map.Entry<String, FieldData> entry : fieldDataMapCache.entrySet()) {
+                fieldData[i] = entry.getValue();
+                nodes[i++] = source.getNode(entry.getKey());
+            }
+
+            binder.populate(nodes, index -> fieldData[index].deserializeFrom(instance, nodes[index]));
+            return instance;
+        }
+    }
+
+    /**
+     * A {@link BoundInstance} that remembers a structural fingerprint of the node that each setting was last
+     * deserialised from, so that a reload only deserialises (and runs the setting processors for) the settings whose
+     * node has changed.
+     *
+     * <p>
+     *     The fingerprint is taken before the setting is deserialised, so it describes the node as it was loaded,
+     *     not as any setting processor or default left it. Comments are ignored. A setting that fails to deserialise
+     *     is always deserialised again on the next populate.
+     * </p>
+     *
+     * <p>This is not thread safe.</p>
+     */
+    public class IncrementalBoundInstance extends BoundInstance {
+
+        private final String[] paths;
+        private final FieldData[] fieldData;
+        private final long[] fingerprints;
+        private final boolean[] bound;
+
+        protected IncrementalBoundInstance(T boundInstance) {
+            super(boundInstance);
+            this.paths = fieldDataMapCache.keySet().toArray(new String[0]);
+            this.fieldData = fieldDataMapCache.values().toArray(new FieldData[0]);
+            this.fingerprints = new long[this.paths.length];
+            this.bound = new boolean[this.paths.length];
         }
 
-        try {
-            RequiresProperty annotation = field.getAnnotation(RequiresProperty.class);
-            @Nullable String propertyValue = System.getProperty(annotation.value());
-            return propertyValue != null && Pattern.compile(annotation.matchedName()).matcher(propertyValue).matches();
-        } catch (Exception e) {
-            Logger.getGlobal().warning("Field %s checks for property %s but the value regex \"%s\" is invalid. Not loading.");
-            return false;
+        /**
+         * Deserialises every setting from the source, and remembers their nodes for the next
+         * {@link #populateChanged(ConfigurationNode)}.
+         *
+         * @param source The source to get data from
+         * @return The bound instance
+         * @throws ObjectMappingException if any setting could not be deserialised
+         */
+        @Override
+        public T populate(ConfigurationNode source) throws ObjectMappingException {
+            Arrays.fill(this.bound, false);
+            populateChanged(source);
+            return getInstance();
+        }
+
+        /**
+         * Deserialises the settings whose node in the source has changed since they were last deserialised, or that
+         * have not been deserialised yet.
+         *
+         * @param source The source to get data from
+         * @return The paths of the settings that were deserialised, in field order
+         * @throws ObjectMappingException if any setting could not be deserialised
+         */
+        public Set<String> populateChanged(ConfigurationNode source) throws ObjectMappingException {
+            T instance = getInstance();
+            ConfigurationNode[] nodes = new ConfigurationNode[this.paths.length];
+            long[] current = new long[this.paths.length];
+            int[] changed = new int[this.paths.length];
+            int changedCount = 0;
+            for (int i = 0; i < this.paths.length; i++) {
+                nodes[i] = source.getNode(this.paths[i]);
+                current[i] = NodeFingerprint.of(nodes[i]);
+                if (!this.bound[i] || this.fingerprints[i] != current[i]) {
+                    changed[changedCount++] = i;
+                }
+            }
+
+            if (changedCount == 0) {
+                return ImmutableSet.of();
+            }
+
+            ParallelBinder binder = getParallelBinder(changedCount);
+            if (binder == null) {
+                for (int i = 0; i < changedCount; i++) {
+                    deserialise(instance, changed[i], nodes[changed[i]], current);
+                }
+            } else {
+                ConfigurationNode[] changedNodes = new ConfigurationNode[changedCount];
+                for (int i = 0; i < changedCount; i++) {
+                    changedNodes[i] = nodes[changed[i]];
+                }
+
+                binder.populate(changedNodes, index -> deserialise(instance, changed[index], changedNodes[index], current));
+            }
+
+            ImmutableSet.Builder<String> changedPaths = ImmutableSet.builder();
+            for (int i = 0; i < changedCount; i++) {
+                changedPaths.add(this.paths[changed[i]]);
+            }
+
+            return changedPaths.build();
+        }
+
+        private void deserialise(T instance, int index, ConfigurationNode node, long[] current) throws ObjectMappingException {
+            this.bound[index] = false;
+            this.fieldData[index].deserializeFrom(instance, node);
+            this.fingerprints[index] = current[index];
+            this.bound[index] = true;
         }
     }
 
-    protected static class DefaultFieldData extends FieldData {
+    /**
+     * The base {@link FieldData} for Neutrino, which reads and writes the field through a {@link FieldAccessor}
+     * rather than through reflection.
+     *
+     * <p>
+     *     If the setting belongs to a mapper, running its {@link TypeSerializer} is recorded as a Java Flight
+     *     Recorder event while the event is enabled. Otherwise, the only cost is the check.
+     * </p>
+     */
+    protected static class NeutrinoFieldData extends FieldData implements CompiledNeutrinoObjectMapper.Binding {
+
+        private final String fieldName;
+        private final TypeToken<?> fieldType;
+        private final String comment;
+        private final FieldAccessor accessor;
+        @Nullable private final SerializerTable.Slot serializerSlot;
+        @Nullable private final Class<?> mappedClass;
+        @Nullable private final String path;
+
+        protected NeutrinoFieldData(SettingDescriptor setting, String comment) {
+            this(setting.getFieldName(), setting.getType(), comment, setting.getAccessor(), setting.getSerializerSlot(),
+                    setting.getMappedClass(), setting.getPath());
+        }
+
+        protected NeutrinoFieldData(String fieldName, TypeToken<?> fieldType, String comment, FieldAccessor accessor) {
+            this(fieldName, fieldType, comment, accessor, null, null, null);
+        }
+
+        private NeutrinoFieldData(String fieldName, TypeToken<?> fieldType, String comment, FieldAccessor accessor,
+                @Nullable SerializerTable.Slot serializerSlot, @Nullable Class<?> mappedClass, @Nullable String path) {
+            super(null, comment, fieldType);
+            this.fieldName = fieldName;
+            this.fieldType = fieldType;
+            this.comment = comment;
+            this.accessor = accessor;
+            this.serializerSlot = serializerSlot;
+            this.mappedClass = mappedClass;
+            this.path = path;
+        }
+
+        protected final String getFieldName() {
+            return this.fieldName;
+        }
+
+        protected final TypeToken<?> getFieldType() {
+            return this.fieldType;
+        }
+
+        protected final String getComment() {
+            return this.comment;
+        }
+
+        protected final FieldAccessor getAccessor() {
+            return this.accessor;
+        }
+
+        protected TypeSerializer<?> getSerializer(ConfigurationNode node) throws ObjectMappingException {
+            // The mapper's table only looks the serializer up again when the node has a different collection.
+            TypeSerializerCollection serializers = node.getOptions().getSerializers();
+            TypeSerializer<?> serializer = this.serializerSlot == null ? serializers.get(this.fieldType) : this.serializerSlot.get(serializers);
+            if (serializer == null) {
+                throw new ObjectMappingException("No TypeSerializer found for field " + this.fieldName + " of type " + this.fieldType);
+            }
+
+            return serializer;
+        }
+
+        @Override
+        public void deserializeFrom(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            TypeSerializer<?> serializer = getSerializer(node);
+            if (this.mappedClass != null && NeutrinoEvents.isRecordingDeserialise()) {
+                NeutrinoEvents.recordDeserialise(this.mappedClass, this.fieldName, this.path, serializer.getClass(),
+                        () -> deserializeWith(serializer, instance, node));
+            } else {
+                deserializeWith(serializer, instance, node);
+            }
+        }
+
+        private void deserializeWith(TypeSerializer<?> serializer, Object instance, ConfigurationNode node) throws ObjectMappingException {
+            Object newValue = node.isVirtual() ? null : serializer.deserialize(this.fieldType, node);
+            if (newValue == null) {
+                if (this.accessor.get(instance) != null) {
+                    serializeTo(instance, node);
+                }
+            } else {
+                this.accessor.set(instance, newValue);
+            }
+        }
+
+        @Override
+        public void serializeTo(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            Object value = this.accessor.get(instance);
+            TypeSerializer<?> serializer = value == null ? null : getSerializer(node);
+            if (this.mappedClass != null && NeutrinoEvents.isRecordingSerialise()) {
+                NeutrinoEvents.recordSerialise(this.mappedClass, this.fieldName, this.path,
+                        serializer == null ? null : serializer.getClass(), () -> serializeWith(serializer, value, node));
+            } else {
+                serializeWith(serializer, value, node);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void serializeWith(@Nullable TypeSerializer<?> serializer, @Nullable Object value, ConfigurationNode node)
+                throws ObjectMappingException {
+            if (value == null) {
+                node.setValue(null);
+            } else {
+                ((TypeSerializer<Object>) serializer).serialize(this.fieldType, value, node);
+            }
+
+            setCommentIfAbsent(node);
+        }
+
+        protected final void setCommentIfAbsent(ConfigurationNode node) {
+            if (node instanceof CommentedConfigurationNode && this.comment != null && !this.comment.isEmpty()) {
+                CommentedConfigurationNode commentNode = (CommentedConfigurationNode) node;
+                if (!commentNode.getComment().isPresent()) {
+                    commentNode.setComment(this.comment);
+                }
+            }
+        }
+    }
+
+    protected static class DefaultFieldData extends NeutrinoFieldData {
 
         private final boolean useIfNullWhenSaving;
         private final String defaultValue;
+        private final DefaultValueCache defaultValueCache;
         private final FieldData fieldData;
-        private final TypeToken<?> typeToken;
-        private final Field field;
         private final boolean useIfEmpty;
         private final boolean set;
-        private final String comment;
+        @Nullable private final PropertyConditions.Condition condition;
+        private final String path;
 
-        protected DefaultFieldData(Field field, String comment, FieldData data, String defaultValue, boolean useIfNullWhenSaving, boolean useIfEmpty, boolean set)
-                throws ObjectMappingException {
-            super(field, comment);
-            this.comment = comment;
-            this.field = field;
-            this.typeToken = TypeToken.of(field.getGenericType());
-            this.defaultValue = defaultValue;
+        protected DefaultFieldData(SettingDescriptor setting, String comment, FieldData data, boolean set) {
+            this(setting, comment, data, set, null);
+        }
+
+        /**
+         * @param condition The condition that must be satisfied for the setting to be read from and written to the
+         *                  node, or <code>null</code> if it always is
+         */
+        protected DefaultFieldData(SettingDescriptor setting, String comment, FieldData data,
+                @Nullable PropertyConditions.Condition condition) {
+            this(setting, comment, data, true, condition);
+        }
+
+        private DefaultFieldData(SettingDescriptor setting, String comment, FieldData data, boolean set,
+                @Nullable PropertyConditions.Condition condition) {
+            super(setting, comment);
+            this.defaultValue = setting.getDefaultValue();
+            this.defaultValueCache = new DefaultValueCache(this.defaultValue, getFieldType());
             this.fieldData = data;
-            this.useIfNullWhenSaving = useIfNullWhenSaving;
-            this.useIfEmpty = useIfEmpty;
+            this.useIfNullWhenSaving = setting.isSaveDefaultIfNull();
+            this.useIfEmpty = setting.isUseDefaultIfEmpty();
             this.set = set;
+            this.condition = condition;
+            this.path = setting.getPath();
         }
 
-        @Override public void deserializeFrom(Object instance, ConfigurationNode node) throws ObjectMappingException {
-            if (!this.set) {
-                try {
-                    setDefaultOnField(instance, node);
-                } catch (IllegalAccessException e) {
-                    e.printStackTrace();
-                }
+        private boolean isSet() {
+            return this.condition == null ? this.set : this.condition.isSatisfied();
+        }
 
+        @Override public void deserializeFrom(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            if (!isSet()) {
+                setDefaultOnField(instance, node, "The required property is not set");
                 return;
             }
 
@@ -167,34 +626,32 @@ public class NeutrinoObjectMapper<T> extends ObjectMapper<T> {
                 // ignored
             }
 
-            try {
-                if (node.isVirtual() || node.getValue() == null || (this.useIfEmpty && node.getString().isEmpty())) {
-                    setDefaultOnField(instance, node);
-                }
-            } catch (IllegalAccessException e) {
-                e.printStackTrace();
+            if (node.isVirtual() || node.getValue() == null) {
+                setDefaultOnField(instance, node, "The node has no value");
+            } else if (this.useIfEmpty && node.getString().isEmpty()) {
+                setDefaultOnField(instance, node, "The node is empty");
             }
         }
 
-        private void setDefaultOnField(Object instance, ConfigurationNode node) throws ObjectMappingException, IllegalAccessException {
-            field.setAccessible(true);
-            field.set(instance, node.getOptions().getSerializers().get(this.typeToken)
-                    .deserialize(this.typeToken, SimpleConfigurationNode.root(node.getOptions()).setValue(this.defaultValue)));
+        private void setDefaultOnField(Object instance, ConfigurationNode node, String reason) throws ObjectMappingException {
+            NeutrinoEvents.recordDefault(getFieldName(), this.path, this.defaultValue, reason);
+            getAccessor().set(instance, this.defaultValueCache.get(node.getOptions(), getSerializer(node)));
         }
 
         @Override public void serializeTo(Object instance, ConfigurationNode node) throws ObjectMappingException {
             Object i;
             try {
-                i = this.field.get(instance);
-            } catch (IllegalAccessException e) {
+                i = getAccessor().get(instance);
+            } catch (ObjectMappingException e) {
                 i = null;
             }
 
-            if (this.set) {
+            if (isSet()) {
                 if (this.useIfNullWhenSaving && i == null) {
                     node.setValue(this.defaultValue);
-                    if (this.comment != null && !this.comment.isEmpty() && node instanceof CommentedConfigurationNode) {
-                        ((CommentedConfigurationNode) node).setComment(this.comment);
+                    String comment = getComment();
+                    if (comment != null && !comment.isEmpty() && node instanceof CommentedConfigurationNode) {
+                        ((CommentedConfigurationNode) node).setComment(comment);
                     }
                 } else {
                     this.fieldData.serializeTo(instance, node);
@@ -203,36 +660,37 @@ public class NeutrinoObjectMapper<T> extends ObjectMapper<T> {
         }
     }
 
-    protected static class DoNotGenerateFieldData extends FieldData {
+    protected static class DoNotGenerateFieldData extends NeutrinoFieldData {
 
         private final Object defaultValue;
-        private final Field field;
 
-        protected DoNotGenerateFieldData(Field field, String comment, Object defaultValue) throws ObjectMappingException {
-            super(field, comment);
-            this.field = field;
+        protected DoNotGenerateFieldData(SettingDescriptor setting, String comment, Object defaultValue) {
+            super(setting, comment);
             this.defaultValue = defaultValue;
         }
 
         @Override
         public void serializeTo(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            Object value;
             try {
-                field.setAccessible(true);
-                if (!defaultValue.equals(field.get(instance))) {
-                    super.serializeTo(instance, node);
-                }
-            } catch (IllegalAccessException e) {
+                value = getAccessor().get(instance);
+            } catch (ObjectMappingException e) {
+                super.serializeTo(instance, node);
+                return;
+            }
+
+            if (!this.defaultValue.equals(value)) {
                 super.serializeTo(instance, node);
             }
         }
     }
 
-    protected static class JavaPropertyFieldData extends FieldData {
+    protected static class JavaPropertyFieldData extends NeutrinoFieldData {
 
         private static String COMMENT = "This config option is currently ignored.";
 
-        public JavaPropertyFieldData(Field field, String comment) throws ObjectMappingException {
-            super(field, comment);
+        public JavaPropertyFieldData(SettingDescriptor setting, String comment) {
+            super(setting, comment);
         }
 
         @Override
@@ -254,27 +712,68 @@ public class NeutrinoObjectMapper<T> extends ObjectMapper<T> {
         }
     }
 
-    protected static class PreprocessedFieldData extends FieldData {
+    /**
+     * Reads and writes the setting with the wrapped {@link FieldData} while a
+     * {@link io.github.nucleuspowered.neutrino.annotations.RequiresProperty} condition is satisfied, and leaves it
+     * alone (as {@link JavaPropertyFieldData}) while it is not.
+     */
+    protected static class ConditionalFieldData extends NeutrinoFieldData {
 
-        private final List<SettingProcessor> processors = new ArrayList<>();
+        private final FieldData fieldData;
+        private final FieldData ignored;
+        private final PropertyConditions.Condition condition;
 
-        protected PreprocessedFieldData(Field field, String comment, ClassConstructor<SettingProcessor> processorClassConstructor)
-                throws ObjectMappingException, IllegalArgumentException {
-            super(field, comment);
+        protected ConditionalFieldData(SettingDescriptor setting, String comment, FieldData data,
+                PropertyConditions.Condition condition) {
+            super(setting, comment);
+            this.fieldData = data;
+            this.ignored = new JavaPropertyFieldData(setting, comment);
+            this.condition = condition;
+        }
+
+        @Override
+        public void deserializeFrom(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            (this.condition.isSatisfied() ? this.fieldData : this.ignored).deserializeFrom(instance, node);
+        }
+
+        @Override
+        public void serializeTo(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            (this.condition.isSatisfied() ? this.fieldData : this.ignored).serializeTo(instance, node);
+        }
+    }
+
+    protected static class PreprocessedFieldData extends NeutrinoFieldData {
+
+        private final List<SettingProcessor> processors;
+        private final String path;
+
+        protected PreprocessedFieldData(SettingDescriptor setting, String comment,
+                ClassConstructor<SettingProcessor> processorClassConstructor) throws IllegalArgumentException {
+            super(setting, comment);
+            this.path = setting.getPath();
+            List<SettingProcessor> processors = new ArrayList<>();
             try {
-                for (Class<? extends SettingProcessor> pro : field.getAnnotation(ProcessSetting.class).value()) {
+                for (Class<? extends SettingProcessor> pro : setting.getProcessors()) {
                     processors.add(SettingProcessorCache.getOrAdd(pro, processorClassConstructor));
                 }
             } catch (Throwable e) {
                 e.printStackTrace();
                 throw new IllegalArgumentException("No setting processor", e);
             }
+
+            // Chained element processors then only walk the list once.
+            this.processors = FusedElementSettingProcessor.fuse(processors);
         }
 
         @Override
         public void deserializeFrom(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            boolean record = NeutrinoEvents.isRecordingProcessors();
             for (SettingProcessor processor : processors) {
-                processor.onGet(node);
+                if (record) {
+                    NeutrinoEvents.recordProcessor(processor, true, this.path, () -> processor.onGet(node));
+                } else {
+                    processor.onGet(node);
+                }
             }
 
             super.deserializeFrom(instance, node);
@@ -284,8 +783,82 @@ public class NeutrinoObjectMapper<T> extends ObjectMapper<T> {
         public void serializeTo(Object instance, ConfigurationNode node) throws ObjectMappingException {
             super.serializeTo(instance, node);
 
+            boolean record = NeutrinoEvents.isRecordingProcessors();
             for (SettingProcessor processor : processors) {
-                processor.onSet(node);
+                if (record) {
+                    NeutrinoEvents.recordProcessor(processor, false, this.path, () -> processor.onSet(node));
+                } else {
+                    processor.onSet(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the value of a setting with the canonical instance from a {@link ValuePool} once it has been
+     * deserialised.
+     */
+    protected static class CanonicalisingFieldData extends NeutrinoFieldData {
+
+        private final FieldData fieldData;
+        private final ValuePool valuePool;
+
+        protected CanonicalisingFieldData(SettingDescriptor setting, String comment, FieldData data, ValuePool valuePool) {
+            super(setting, comment);
+            this.fieldData = data;
+            this.valuePool = valuePool;
+        }
+
+        @Override
+        public void deserializeFrom(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            this.fieldData.deserializeFrom(instance, node);
+            Object value = getAccessor().get(instance);
+            Object canonical = this.valuePool.canonicalise(value);
+            if (canonical != value) {
+                getAccessor().set(instance, canonical);
+            }
+        }
+
+        @Override
+        public void serializeTo(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            this.fieldData.serializeTo(instance, node);
+        }
+    }
+
+    /**
+     * Populates a {@link Lazy} field with a copy of its node, and only runs the wrapped {@link FieldData} on the value
+     * inside the {@link Lazy} when it is first used.
+     */
+    protected static class LazyFieldData extends NeutrinoFieldData {
+
+        private final FieldData fieldData;
+        private final Lazy.Loader loader;
+
+        protected LazyFieldData(SettingDescriptor setting, String comment, FieldData data) {
+            super(setting, comment);
+            this.fieldData = data;
+            this.loader = data::deserializeFrom;
+        }
+
+        @Override
+        public void deserializeFrom(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            Object current = getAccessor().get(instance);
+            if (node.isVirtual() && current != null) {
+                serializeTo(instance, node);
+            } else {
+                getAccessor().set(instance, new Lazy<>(Lazy.detach(node), this.loader));
+            }
+        }
+
+        @Override
+        public void serializeTo(Object instance, ConfigurationNode node) throws ObjectMappingException {
+            Lazy<?> lazy = (Lazy<?>) getAccessor().get(instance);
+            if (lazy == null) {
+                this.fieldData.serializeTo(Lazy.of(null), node);
+            } else if (lazy.writeNodeTo(node)) {
+                setCommentIfAbsent(node);
+            } else {
+                this.fieldData.serializeTo(lazy, node);
             }
         }
     }
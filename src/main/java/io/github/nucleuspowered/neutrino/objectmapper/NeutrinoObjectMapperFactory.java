@@ -5,20 +5,40 @@
 package io.github.nucleuspowered.neutrino.objectmapper;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.reflect.ClassPath;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
 import io.github.nucleuspowered.neutrino.util.ClassConstructor;
+import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.objectmapping.ObjectMapperFactory;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 public class NeutrinoObjectMapperFactory implements ObjectMapperFactory {
 
@@ -33,6 +53,15 @@ public class NeutrinoObjectMapperFactory implements ObjectMapperFactory {
 
         @Nullable private Function<Setting, String> commentProcessor;
         private ClassConstructor<SettingProcessor> settingProcessorClassConstructor = Class::newInstance;
+        private boolean compileMappers = false;
+        private boolean useGeneratedMappers = true;
+        @Nullable private Executor parallelBindExecutor;
+        private int parallelBindThreshold = 8;
+        private long mapperCacheSize = 500;
+        private boolean weakMapperCacheKeys = true;
+        private long mapperCacheExpiryNanos = 0;
+        private ValuePool valuePool = ValuePool.getShared();
+        private boolean canonicaliseValues = false;
 
         public Builder setCommentProcessor(@Nullable Function<Setting, String> commentProcessor) {
             this.commentProcessor = commentProcessor;
@@ -44,12 +73,135 @@ public class NeutrinoObjectMapperFactory implements ObjectMapperFactory {
             return this;
         }
 
-        public NeutrinoObjectMapperFactory build(boolean setAsDefault) {
-            if (commentProcessor == null) {
-                this.commentProcessor = Setting::comment;
-            }
+        /**
+         * Sets whether the factory should create {@link CompiledNeutrinoObjectMapper}s, which generate a class to bind
+         * and serialise each type when the mapper is created. If a class cannot be generated for a type, a standard
+         * {@link NeutrinoObjectMapper} is used instead.
+         *
+         * @param compileMappers <code>true</code> to compile mappers, defaults to <code>false</code>.
+         * @return This builder, for chaining.
+         */
+        public Builder setCompileMappers(boolean compileMappers) {
+            this.compileMappers = compileMappers;
+            return this;
+        }
+
+        /**
+         * Sets whether the factory should use the {@link GeneratedMapper}s emitted by the Neutrino annotation
+         * processor, where they exist, rather than finding settings by reflection.
+         *
+         * @param useGeneratedMappers <code>true</code> to use generated mappers, defaults to <code>true</code>.
+         * @return This builder, for chaining.
+         */
+        public Builder setUseGeneratedMappers(boolean useGeneratedMappers) {
+            this.useGeneratedMappers = useGeneratedMappers;
+            return this;
+        }
+
+        /**
+         * Sets whether the mappers should deserialise the settings of large objects in parallel on the
+         * {@link ForkJoinPool#commonPool() common pool}.
+         *
+         * <p>Settings that are missing from the node are always deserialised on the calling thread, in order. If any
+         * settings fail, the failure of the first is thrown with the others suppressed, but unlike a sequential bind,
+         * every setting is attempted.</p>
+         *
+         * @param parallelBind <code>true</code> to bind in parallel, defaults to <code>false</code>.
+         * @return This builder, for chaining.
+         * @see #setParallelBindThreshold(int)
+         */
+        public Builder setParallelBind(boolean parallelBind) {
+            this.parallelBindExecutor = parallelBind ? ForkJoinPool.commonPool() : null;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Executor} that the mappers should deserialise the settings of large objects on, as in
+         * {@link #setParallelBind(boolean)}.
+         *
+         * @param executor The {@link Executor}, or <code>null</code> to bind on the calling thread only.
+         * @return This builder, for chaining.
+         */
+        public Builder setParallelBindExecutor(@Nullable Executor executor) {
+            this.parallelBindExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the number of settings that an object must have before it is bound in parallel, if parallel binding
+         * is enabled.
+         *
+         * @param threshold The threshold, which must be at least 2, defaults to 8.
+         * @return This builder, for chaining.
+         */
+        public Builder setParallelBindThreshold(int threshold) {
+            Preconditions.checkArgument(threshold >= 2, "The threshold must be at least 2");
+            this.parallelBindThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of mappers that the factory holds before it starts to evict them.
+         *
+         * @param mapperCacheSize The size, which must be positive, defaults to 500.
+         * @return This builder, for chaining.
+         */
+        public Builder setMapperCacheSize(long mapperCacheSize) {
+            Preconditions.checkArgument(mapperCacheSize > 0, "The cache size must be positive");
+            this.mapperCacheSize = mapperCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets whether the factory holds the classes that it has mappers for weakly, so that a mapper is evicted when
+         * its class is unloaded. Classes are then compared by identity, which is what is wanted in almost all cases.
+         *
+         * @param weakMapperCacheKeys <code>true</code> to hold classes weakly, defaults to <code>true</code>.
+         * @return This builder, for chaining.
+         */
+        public Builder setWeakMapperCacheKeys(boolean weakMapperCacheKeys) {
+            this.weakMapperCacheKeys = weakMapperCacheKeys;
+            return this;
+        }
+
+        /**
+         * Sets how long a mapper may go unused before the factory evicts it.
+         *
+         * @param duration The duration, or 0 to never evict mappers for being unused, which is the default.
+         * @param unit The unit of the duration
+         * @return This builder, for chaining.
+         */
+        public Builder setMapperCacheExpireAfterAccess(long duration, TimeUnit unit) {
+            Preconditions.checkArgument(duration >= 0, "The duration must not be negative");
+            this.mapperCacheExpiryNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets whether the mappers should canonicalise the values of every setting through the {@link ValuePool}, as
+         * if every setting had {@link io.github.nucleuspowered.neutrino.annotations.Canonicalise}.
+         *
+         * @param canonicaliseValues <code>true</code> to canonicalise every value, defaults to <code>false</code>.
+         * @return This builder, for chaining.
+         */
+        public Builder setCanonicaliseValues(boolean canonicaliseValues) {
+            this.canonicaliseValues = canonicaliseValues;
+            return this;
+        }
 
-            return new NeutrinoObjectMapperFactory(setAsDefault, this.commentProcessor, this.settingProcessorClassConstructor);
+        /**
+         * Sets the {@link ValuePool} that the mappers canonicalise values with.
+         *
+         * @param valuePool The pool, defaults to the {@link ValuePool#getShared() shared pool}.
+         * @return This builder, for chaining.
+         */
+        public Builder setValuePool(ValuePool valuePool) {
+            this.valuePool = Preconditions.checkNotNull(valuePool);
+            return this;
+        }
+
+        public NeutrinoObjectMapperFactory build(boolean setAsDefault) {
+            return new NeutrinoObjectMapperFactory(setAsDefault, this);
         }
 
     }
@@ -58,7 +210,7 @@ public class NeutrinoObjectMapperFactory implements ObjectMapperFactory {
     @Deprecated
     public static ObjectMapperFactory getInstance() {
         if (INSTANCE == null) {
-            INSTANCE = new NeutrinoObjectMapperFactory(false, Setting::comment, Class::newInstance);
+            INSTANCE = new NeutrinoObjectMapperFactory(false, new Builder());
         }
 
         return INSTANCE;
@@ -68,22 +220,251 @@ public class NeutrinoObjectMapperFactory implements ObjectMapperFactory {
 
     private final ClassConstructor<SettingProcessor> processorClassConstructor;
     private final Function<Setting, String> commentProcessor;
-    private final LoadingCache<Class<?>, NeutrinoObjectMapper<?>> mapperCache = CacheBuilder.newBuilder().weakKeys()
-            .maximumSize(500).build(new CacheLoader<Class<?>, NeutrinoObjectMapper<?>>() {
-                @Override
-                public NeutrinoObjectMapper<?> load(@Nonnull Class<?> key) throws Exception {
-                    return new NeutrinoObjectMapper<>(key, commentProcessor, processorClassConstructor);
-                }
-            });
+    private final boolean compileMappers;
+    private final boolean useGeneratedMappers;
+    @Nullable private final ParallelBinder parallelBinder;
+    private final ValuePool valuePool;
+    private final boolean canonicaliseValues;
+    private final LoadingCache<Class<?>, NeutrinoObjectMapper<?>> mapperCache;
+    private final Cache<Class<?>, MapperCacheStatistics.BuildTime> buildTimes = CacheBuilder.newBuilder().weakKeys().build();
+    private final Cache<Class<?>, SchemaIndex<?>> schemaIndexes = CacheBuilder.newBuilder().weakKeys().build();
+
+    private NeutrinoObjectMapperFactory(boolean setInstance, Builder builder) {
+        this.commentProcessor = builder.commentProcessor == null ? Setting::comment : builder.commentProcessor;
+        this.processorClassConstructor = builder.settingProcessorClassConstructor;
+        this.compileMappers = builder.compileMappers;
+        this.useGeneratedMappers = builder.useGeneratedMappers;
+        this.valuePool = builder.valuePool;
+        this.canonicaliseValues = builder.canonicaliseValues;
+        this.parallelBinder = builder.parallelBindExecutor == null ? null :
+                new ParallelBinder(builder.parallelBindExecutor, builder.parallelBindThreshold);
+
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().maximumSize(builder.mapperCacheSize).recordStats();
+        if (builder.weakMapperCacheKeys) {
+            cacheBuilder.weakKeys();
+        }
+
+        if (builder.mapperCacheExpiryNanos > 0) {
+            cacheBuilder.expireAfterAccess(builder.mapperCacheExpiryNanos, TimeUnit.NANOSECONDS);
+        }
+
+        this.mapperCache = cacheBuilder.build(new CacheLoader<Class<?>, NeutrinoObjectMapper<?>>() {
+            @Override
+            public NeutrinoObjectMapper<?> load(@Nonnull Class<?> key) throws Exception {
+                long start = System.nanoTime();
+                NeutrinoObjectMapper<?> mapper = NeutrinoEvents.recordConstruction(key, () -> createMapper(key));
+                mapper.setParallelBinder(parallelBinder);
+                buildTimes.get(key, MapperCacheStatistics.BuildTime::new).record(System.nanoTime() - start);
+                return mapper;
+            }
+        });
 
-    private NeutrinoObjectMapperFactory(boolean setInstance, Function<Setting, String> commentProcessor, ClassConstructor<SettingProcessor> processorClassConstructor) {
-        this.commentProcessor = commentProcessor;
-        this.processorClassConstructor = processorClassConstructor;
         if (INSTANCE == null || setInstance) {
             INSTANCE = this;
         }
     }
 
+    private <T> NeutrinoObjectMapper<T> createMapper(Class<T> key) throws ObjectMappingException {
+        GeneratedMapper<T> generatedMapper = this.useGeneratedMappers ? GeneratedMapper.find(key) : null;
+        if (generatedMapper != null) {
+            try {
+                return newMapper(key, generatedMapper);
+            } catch (ObjectMappingException | RuntimeException e) {
+                Logger.getGlobal().log(Level.WARNING, "Could not use the generated mapper for " + key.getName() + ", falling back to reflection.", e);
+            }
+        }
+
+        return newMapper(key, null);
+    }
+
+    private <T> NeutrinoObjectMapper<T> newMapper(Class<T> key, @Nullable GeneratedMapper<T> generatedMapper) throws ObjectMappingException {
+        if (this.compileMappers) {
+            try {
+                return new CompiledNeutrinoObjectMapper<>(key, this.commentProcessor, this.processorClassConstructor, generatedMapper,
+                        this.valuePool, this.canonicaliseValues);
+            } catch (CompiledNeutrinoObjectMapper.CompilationFailedException e) {
+                Logger.getGlobal().log(Level.WARNING, "Could not compile the mapper for " + key.getName() + ", using a standard mapper.", e);
+            }
+        }
+
+        return new NeutrinoObjectMapper<>(key, this.commentProcessor, this.processorClassConstructor, generatedMapper, this.valuePool,
+                this.canonicaliseValues);
+    }
+
+    /**
+     * Gets a snapshot of the statistics of this factory's mapper cache, including how long it took to build the
+     * mapper for each class.
+     *
+     * @return The {@link MapperCacheStatistics}
+     */
+    public MapperCacheStatistics getMapperCacheStatistics() {
+        return new MapperCacheStatistics(this.mapperCache.stats(), this.mapperCache.size(), this.buildTimes.asMap());
+    }
+
+    /**
+     * Gets the {@link ValuePool} that this factory's mappers canonicalise values with, which reports how much memory
+     * it has saved.
+     *
+     * @return The {@link ValuePool}
+     */
+    public ValuePool getValuePool() {
+        return this.valuePool;
+    }
+
+    /**
+     * Registers a {@link MapperCacheMXBean} for this factory with the platform MBean server, so that its mapper cache
+     * statistics can be read over JMX.
+     *
+     * @param name The name to give this factory in the {@link ObjectName}, which must be unique
+     * @return The {@link ObjectName} that the bean was registered under
+     * @throws JMException if the bean could not be registered
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName(MapperCacheMXBean.DOMAIN + ":type=MapperCache,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new MapperCacheMXBeanImpl(this), objectName);
+        return objectName;
+    }
+
+    /**
+     * Builds the mappers for the given classes, and for the {@link ConfigSerializable} types of their settings,
+     * concurrently, so that they do not have to be built during the first load. The setting processors of each
+     * mapper are created at the same time.
+     *
+     * <p>This uses a pool of at most as many threads as there are processors, which is shut down afterwards.</p>
+     *
+     * @param classes The classes to preload
+     * @return The {@link PreloadReport}, which holds any failures rather than them being thrown
+     */
+    public PreloadReport preload(Collection<? extends Class<?>> classes) {
+        ExecutorService executor = newPreloadExecutor();
+        try {
+            return preload(classes, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Builds the mappers for the given classes, as in {@link #preload(Collection)}, on the given {@link Executor}.
+     * This returns once every mapper has been built or has failed.
+     *
+     * @param classes The classes to preload
+     * @param executor The {@link Executor} to build the mappers on
+     * @return The {@link PreloadReport}
+     */
+    public PreloadReport preload(Collection<? extends Class<?>> classes, Executor executor) {
+        Preconditions.checkNotNull(classes, "classes");
+        Preconditions.checkNotNull(executor, "executor");
+        return new MapperPreloader(this, this.processorClassConstructor, executor).run(classes);
+    }
+
+    /**
+     * Builds the mappers for every {@link ConfigSerializable} class in a package and its subpackages, as in
+     * {@link #preload(Collection)}. Classes that cannot be loaded are reported as failures.
+     *
+     * @param packageName The name of the package
+     * @param classLoader The {@link ClassLoader} to find the classes with
+     * @return The {@link PreloadReport}
+     * @throws IOException if the class path could not be scanned
+     */
+    public PreloadReport preloadPackage(String packageName, ClassLoader classLoader) throws IOException {
+        ExecutorService executor = newPreloadExecutor();
+        try {
+            return preloadPackage(packageName, classLoader, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Builds the mappers for every {@link ConfigSerializable} class in a package and its subpackages, as in
+     * {@link #preloadPackage(String, ClassLoader)}, on the given {@link Executor}.
+     *
+     * @param packageName The name of the package
+     * @param classLoader The {@link ClassLoader} to find the classes with
+     * @param executor The {@link Executor} to build the mappers on
+     * @return The {@link PreloadReport}
+     * @throws IOException if the class path could not be scanned
+     */
+    public PreloadReport preloadPackage(String packageName, ClassLoader classLoader, Executor executor) throws IOException {
+        Preconditions.checkNotNull(packageName, "packageName");
+        Preconditions.checkNotNull(executor, "executor");
+        MapperPreloader preloader = new MapperPreloader(this, this.processorClassConstructor, executor);
+        List<Class<?>> classes = new ArrayList<>();
+        String prefix = packageName + ".";
+        for (ClassPath.ClassInfo info : ClassPath.from(classLoader).getAllClasses()) {
+            if (info.getPackageName().equals(packageName) || info.getPackageName().startsWith(prefix)) {
+                try {
+                    Class<?> clazz = Class.forName(info.getName(), false, classLoader);
+                    if (clazz.isAnnotationPresent(ConfigSerializable.class)) {
+                        classes.add(clazz);
+                    }
+                } catch (ClassNotFoundException | LinkageError e) {
+                    preloader.addFailure(info.getName(), "Could not load the class", e);
+                }
+            }
+        }
+
+        return preloader.run(classes);
+    }
+
+    private static ExecutorService newPreloadExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new ThreadFactoryBuilder().setNameFormat("Neutrino mapper preload-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Evaluates the {@link io.github.nucleuspowered.neutrino.annotations.RequiresProperty} conditions again against
+     * the current system properties, so that mappers that have already been created pick up any changes. As system
+     * properties are global, this affects the mappers from every factory.
+     *
+     * @see PropertyConditions#refresh()
+     */
+    public void refreshPropertyConditions() {
+        PropertyConditions.refresh();
+    }
+
+    /**
+     * Gets the {@link SchemaIndex} of a class, which lists every setting of the class and of its nested sections by
+     * its full path, and can bind the whole tree in one pass. The index is built the first time that it is requested,
+     * from this factory's mappers, and is then cached.
+     *
+     * @param type The class
+     * @param <T> The type of the class
+     * @return The {@link SchemaIndex}
+     * @throws ObjectMappingException if the mapper for the class or for one of its sections could not be created
+     */
+    @SuppressWarnings("unchecked")
+    public <T> SchemaIndex<T> getSchemaIndex(Class<T> type) throws ObjectMappingException {
+        Preconditions.checkNotNull(type, "type");
+        try {
+            return (SchemaIndex<T>) this.schemaIndexes.get(type, () -> SchemaIndex.compile(this, type));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof ObjectMappingException) {
+                throw (ObjectMappingException) e.getCause();
+            } else {
+                throw new ObjectMappingException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Creates a {@link ConfigHolder} for a class, holding an object populated from the supplied node. Each
+     * {@link ConfigHolder#reload(ConfigurationNode)} populates a new object with this factory's mapper and replaces
+     * the held object with it in one step.
+     *
+     * @param type The class
+     * @param node The node to populate the first object from
+     * @param <T> The type of the class
+     * @return The {@link ConfigHolder}
+     * @throws ObjectMappingException if the first object could not be populated
+     */
+    public <T> ConfigHolder<T> newConfigHolder(Class<T> type, ConfigurationNode node) throws ObjectMappingException {
+        Preconditions.checkNotNull(node, "node");
+        NeutrinoObjectMapper<T> mapper = getMapper(type);
+        return new ConfigHolder<>(this, mapper, mapper.bindToNew().populate(node));
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> NeutrinoObjectMapper<T> getMapper(Class<T> type) throws ObjectMappingException {
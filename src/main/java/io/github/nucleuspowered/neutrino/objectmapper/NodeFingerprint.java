@@ -0,0 +1,82 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Computes a structural fingerprint of a {@link ConfigurationNode} subtree: two subtrees with the same values have
+ * the same fingerprint, regardless of comments, and the order of the keys in a map does not matter.
+ */
+final class NodeFingerprint {
+
+    private static final HashFunction FUNCTION = Hashing.murmur3_128();
+    private static final HashCode NULL = FUNCTION.hashInt(0);
+    private static final HashCode EMPTY_MAP = FUNCTION.hashInt(1);
+    private static final HashCode EMPTY_LIST = FUNCTION.hashInt(2);
+    private static final HashCode MAP = FUNCTION.hashInt(3);
+    private static final HashCode LIST = FUNCTION.hashInt(4);
+
+    private NodeFingerprint() {}
+
+    static long of(ConfigurationNode node) {
+        return hash(node).asLong();
+    }
+
+    private static HashCode hash(ConfigurationNode node) {
+        if (node.isMap()) {
+            Map<Object, ? extends ConfigurationNode> children = node.getChildrenMap();
+            if (children.isEmpty()) {
+                return EMPTY_MAP;
+            }
+
+            List<HashCode> entries = Lists.newArrayListWithCapacity(children.size());
+            for (Map.Entry<Object, ? extends ConfigurationNode> entry : children.entrySet()) {
+                entries.add(Hashing.combineOrdered(Arrays.asList(scalar(entry.getKey()), hash(entry.getValue()))));
+            }
+
+            return Hashing.combineOrdered(Arrays.asList(MAP, Hashing.combineUnordered(entries)));
+        }
+
+        if (node.isList()) {
+            List<? extends ConfigurationNode> children = node.getChildrenList();
+            if (children.isEmpty()) {
+                return EMPTY_LIST;
+            }
+
+            List<HashCode> entries = Lists.newArrayListWithCapacity(children.size() + 1);
+            entries.add(LIST);
+            for (ConfigurationNode child : children) {
+                entries.add(hash(child));
+            }
+
+            return Hashing.combineOrdered(entries);
+        }
+
+        return scalar(node.getValue());
+    }
+
+    private static HashCode scalar(@Nullable Object value) {
+        if (value == null) {
+            return NULL;
+        }
+
+        return FUNCTION.newHasher()
+                .putString(value.getClass().getName(), StandardCharsets.UTF_8)
+                .putString(String.valueOf(value), StandardCharsets.UTF_8)
+                .hash();
+    }
+}
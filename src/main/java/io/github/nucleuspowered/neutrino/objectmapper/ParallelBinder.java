@@ -0,0 +1,170 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.base.Preconditions;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deserialises the settings of an object across an {@link Executor}.
+ *
+ * <p>
+ *     Only settings whose node exists in the source are handed to the executor, as each of them only touches its own
+ *     subtree. Settings whose node is missing may write their default back to the source, so they are deserialised
+ *     on the calling thread in field order, which keeps the order of any keys that are added the same as a
+ *     sequential bind. The calling thread also takes work from the executor's queue of settings, so a bind never
+ *     waits on a setting that has not started, even if the executor is busy with (or is) another bind.
+ * </p>
+ *
+ * <p>
+ *     Unlike a sequential bind, every setting is attempted even if an earlier one fails. The failures are reported in
+ *     field order: the first is thrown, and the rest are added to it as suppressed exceptions.
+ * </p>
+ */
+final class ParallelBinder {
+
+    private final Executor executor;
+    private final int threshold;
+    private final int maxHelpers;
+
+    ParallelBinder(Executor executor, int threshold) {
+        Preconditions.checkArgument(threshold >= 2, "The threshold must be at least 2");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.threshold = threshold;
+        this.maxHelpers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * Gets whether an object with the given number of settings should be bound in parallel.
+     *
+     * @param settingCount The number of settings
+     * @return <code>true</code> if so
+     */
+    boolean appliesTo(int settingCount) {
+        return settingCount >= this.threshold;
+    }
+
+    /**
+     * Deserialises every setting.
+     *
+     * @param nodes The node for each setting
+     * @param deserialiser Deserialises the setting with the given index from its node
+     * @throws ObjectMappingException if any setting could not be deserialised
+     */
+    void populate(ConfigurationNode[] nodes, Deserialiser deserialiser) throws ObjectMappingException {
+        Throwable[] errors = new Throwable[nodes.length];
+        int[] present = new int[nodes.length];
+        int presentCount = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            if (!nodes[i].isVirtual()) {
+                present[presentCount++] = i;
+            }
+        }
+
+        Work work = new Work(deserialiser, errors, present, presentCount);
+        int helpers = Math.min(presentCount - 1, this.maxHelpers);
+        for (int i = 0; i < helpers; i++) {
+            try {
+                this.executor.execute(work);
+            } catch (RejectedExecutionException e) {
+                // The calling thread will pick up the slack.
+                break;
+            }
+        }
+
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i].isVirtual()) {
+                deserialise(deserialiser, errors, i);
+            }
+        }
+
+        work.run();
+        work.await();
+        throwErrors(errors);
+    }
+
+    private static void deserialise(Deserialiser deserialiser, Throwable[] errors, int index) {
+        try {
+            deserialiser.deserialise(index);
+        } catch (Throwable e) {
+            errors[index] = e;
+        }
+    }
+
+    private static void throwErrors(Throwable[] errors) throws ObjectMappingException {
+        Throwable first = null;
+        for (Throwable error : errors) {
+            if (error != null) {
+                if (first == null) {
+                    first = error;
+                } else {
+                    first.addSuppressed(error);
+                }
+            }
+        }
+
+        if (first instanceof ObjectMappingException) {
+            throw (ObjectMappingException) first;
+        } else if (first instanceof RuntimeException) {
+            throw (RuntimeException) first;
+        } else if (first instanceof Error) {
+            throw (Error) first;
+        } else if (first != null) {
+            throw new ObjectMappingException(first);
+        }
+    }
+
+    @FunctionalInterface
+    interface Deserialiser {
+
+        void deserialise(int index) throws ObjectMappingException;
+    }
+
+    private static final class Work implements Runnable {
+
+        private final Deserialiser deserialiser;
+        private final Throwable[] errors;
+        private final int[] indices;
+        private final int count;
+        private final AtomicInteger next = new AtomicInteger();
+        private final CountDownLatch done;
+
+        private Work(Deserialiser deserialiser, Throwable[] errors, int[] indices, int count) {
+            this.deserialiser = deserialiser;
+            this.errors = errors;
+            this.indices = indices;
+            this.count = count;
+            this.done = new CountDownLatch(count);
+        }
+
+        @Override
+        public void run() {
+            int i;
+            while ((i = this.next.getAndIncrement()) < this.count) {
+                try {
+                    deserialise(this.deserialiser, this.errors, this.indices[i]);
+                } finally {
+                    this.done.countDown();
+                }
+            }
+        }
+
+        // The latch gives us a happens-before edge with every write made by the helpers, including the errors.
+        private void await() throws ObjectMappingException {
+            try {
+                this.done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ObjectMappingException("Interrupted while waiting for settings to be deserialised", e);
+            }
+        }
+    }
+}
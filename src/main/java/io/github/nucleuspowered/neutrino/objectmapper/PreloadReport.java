@@ -0,0 +1,126 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The outcome of {@link NeutrinoObjectMapperFactory#preload(Collection)}: the classes whose mappers were built, and
+ * everything that went wrong along the way.
+ */
+public final class PreloadReport {
+
+    private final Set<Class<?>> preloaded;
+    private final List<Failure> failures;
+
+    PreloadReport(Collection<Class<?>> preloaded, Collection<Failure> failures) {
+        this.preloaded = ImmutableSet.copyOf(preloaded);
+        this.failures = ImmutableList.copyOf(failures);
+    }
+
+    /**
+     * Gets the classes that a mapper is now cached for, including the nested {@code @ConfigSerializable} types that
+     * were found.
+     *
+     * @return The classes
+     */
+    public Set<Class<?>> getPreloaded() {
+        return this.preloaded;
+    }
+
+    /**
+     * Gets the failures, which may include more than one for a class.
+     *
+     * @return The failures
+     */
+    public List<Failure> getFailures() {
+        return this.failures;
+    }
+
+    /**
+     * Gets whether everything was preloaded without a failure.
+     *
+     * @return <code>true</code> if so
+     */
+    public boolean isSuccessful() {
+        return this.failures.isEmpty();
+    }
+
+    /**
+     * Throws an {@link ObjectMappingException} if anything failed, with the cause of each failure suppressed.
+     *
+     * @throws ObjectMappingException if anything failed
+     */
+    public void throwIfFailed() throws ObjectMappingException {
+        if (!this.failures.isEmpty()) {
+            StringBuilder message = new StringBuilder("Could not preload ").append(this.failures.size()).append(" mapper(s):");
+            for (Failure failure : this.failures) {
+                message.append(System.lineSeparator()).append(" - ").append(failure);
+            }
+
+            ObjectMappingException exception = new ObjectMappingException(message.toString());
+            for (Failure failure : this.failures) {
+                exception.addSuppressed(failure.getCause());
+            }
+
+            throw exception;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PreloadReport{preloaded=" + this.preloaded.size() + ", failures=" + this.failures + "}";
+    }
+
+    /**
+     * Something that could not be preloaded.
+     */
+    public static final class Failure {
+
+        private final String className;
+        private final String description;
+        private final Throwable cause;
+
+        Failure(String className, String description, Throwable cause) {
+            this.className = className;
+            this.description = description;
+            this.cause = cause;
+        }
+
+        /**
+         * Gets the name of the class that could not be preloaded. This is a name rather than a {@link Class}, as the
+         * class itself may be what could not be loaded.
+         *
+         * @return The class name
+         */
+        public String getClassName() {
+            return this.className;
+        }
+
+        /**
+         * Gets what could not be done, such as building the mapper or creating one of its setting processors.
+         *
+         * @return The description
+         */
+        public String getDescription() {
+            return this.description;
+        }
+
+        public Throwable getCause() {
+            return this.cause;
+        }
+
+        @Override
+        public String toString() {
+            return this.className + ": " + this.description + " (" + this.cause + ")";
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.MapMaker;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Holds the conditions from {@link io.github.nucleuspowered.neutrino.annotations.RequiresProperty} annotations.
+ *
+ * <p>
+ *     Each regex is compiled once and shared. Every mapper that is built gets its own {@link Condition}s, which are
+ *     evaluated against the system properties as they are when the mapper is built. After that, they are only
+ *     evaluated again by {@link #refresh()}, which evaluates the conditions of every mapper that is still in use
+ *     against one snapshot of the system properties, and so changes how the existing mappers bind without
+ *     rebuilding them.
+ * </p>
+ */
+public final class PropertyConditions {
+
+    private static final LoadingCache<String, Optional<Pattern>> patterns = CacheBuilder.newBuilder()
+            .build(new CacheLoader<String, Optional<Pattern>>() {
+                @Override
+                public Optional<Pattern> load(@Nonnull String regex) {
+                    try {
+                        return Optional.of(Pattern.compile(regex));
+                    } catch (PatternSyntaxException e) {
+                        return Optional.empty();
+                    }
+                }
+            });
+
+    // Weak keys, so that conditions go when the mappers that use them do. A mapper holds its conditions strongly, so
+    // refresh() always reaches every condition that is still in use.
+    private static final Set<Condition> conditions = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    private PropertyConditions() {}
+
+    /**
+     * Evaluates every condition again against a snapshot of the system properties. Objects that have already been
+     * populated are not changed, but later binds use the new results.
+     */
+    public static void refresh() {
+        Properties snapshot = (Properties) System.getProperties().clone();
+        for (Condition condition : conditions) {
+            condition.evaluate(snapshot.getProperty(condition.property));
+        }
+    }
+
+    /**
+     * Creates a condition for a property and regex, which is evaluated against the current value of the property.
+     */
+    static Condition get(String property, String regex) {
+        Condition condition = new Condition(property, regex, patterns.getUnchecked(regex).orElse(null));
+        condition.evaluate(System.getProperty(property));
+        conditions.add(condition);
+        return condition;
+    }
+
+    /**
+     * A condition that a system property is set and matches a regex.
+     */
+    public static final class Condition {
+
+        private final String property;
+        private final String regex;
+        @Nullable private final Pattern pattern;
+        private volatile boolean satisfied = false;
+
+        private Condition(String property, String regex, @Nullable Pattern pattern) {
+            this.property = property;
+            this.regex = regex;
+            this.pattern = pattern;
+            if (pattern == null) {
+                Logger.getGlobal().warning(String.format("Settings check for property %s but the value regex \"%s\" is invalid. "
+                        + "They will not be loaded.", property, regex));
+            }
+        }
+
+        public String getProperty() {
+            return this.property;
+        }
+
+        public String getRegex() {
+            return this.regex;
+        }
+
+        /**
+         * Gets whether the property was set and matched the regex when the condition was last evaluated.
+         *
+         * @return <code>true</code> if so
+         */
+        public boolean isSatisfied() {
+            return this.satisfied;
+        }
+
+        private void evaluate(@Nullable String value) {
+            this.satisfied = value != null && this.pattern != null && this.pattern.matcher(value).matches();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.lang.reflect.Field;
+
+final class ReflectiveFieldAccessor implements FieldAccessor {
+
+    private final Field field;
+
+    ReflectiveFieldAccessor(Field field) {
+        field.setAccessible(true);
+        this.field = field;
+    }
+
+    @Override
+    public Object get(Object instance) throws ObjectMappingException {
+        try {
+            return this.field.get(instance);
+        } catch (IllegalAccessException e) {
+            throw new ObjectMappingException("Unable to get field " + this.field.getName(), e);
+        }
+    }
+
+    @Override
+    public void set(Object instance, Object value) throws ObjectMappingException {
+        try {
+            this.field.set(instance, value);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            throw new ObjectMappingException("Unable to set field " + this.field.getName(), e);
+        }
+    }
+}
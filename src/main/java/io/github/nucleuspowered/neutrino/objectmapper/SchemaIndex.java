@@ -0,0 +1,340 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollection;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Every setting of a class and of its nested {@link ConfigSerializable} sections, flattened into one list of paths.
+ *
+ * <p>
+ *     The index is built once, from the factory's mappers, by
+ *     {@link NeutrinoObjectMapperFactory#getSchemaIndex(Class)}. Each entry holds the full path of a setting from
+ *     the root, and the complete bind for it (including any {@code @Default}, {@code @ProcessSetting} and
+ *     {@code @RequiresProperty} handling). {@link #populate(ConfigurationNode)} then walks the node tree once, in
+ *     the order of the entries, rather than looking up the mapper of each section from the factory and binding it
+ *     separately. The result is the same as {@link ninja.leaping.configurate.objectmapping.ObjectMapper.BoundInstance#populate(ConfigurationNode)}.
+ * </p>
+ *
+ * <p>
+ *     Only sections whose field is a concrete {@link ConfigSerializable} class with no Neutrino annotations are
+ *     flattened. Any other setting, including a section that is missing from the node, a section that names its
+ *     class with <code>__class__</code>, a section whose type has a serializer of its own, and lists and maps of
+ *     sections, is bound as a whole by its own mapper, as it would be otherwise. A section of the same type as one
+ *     of the sections it is in is not flattened either.
+ * </p>
+ *
+ * @param <T> The type of the root object
+ */
+public final class SchemaIndex<T> {
+
+    private static final Joiner PATH_JOINER = Joiner.on('.');
+
+    static <T> SchemaIndex<T> compile(NeutrinoObjectMapperFactory factory, Class<T> type) throws ObjectMappingException {
+        NeutrinoObjectMapper<T> root = factory.getMapper(type);
+        List<Entry> entries = new ArrayList<>();
+        Deque<Class<?>> sections = new ArrayDeque<>();
+        sections.push(type);
+        addEntries(factory, root, new Object[0], -1, entries, sections);
+        return new SchemaIndex<>(root, entries);
+    }
+
+    private static void addEntries(NeutrinoObjectMapperFactory factory, NeutrinoObjectMapper<?> mapper, Object[] parentPath,
+            int parent, List<Entry> entries, Deque<Class<?>> sections) throws ObjectMappingException {
+        for (String key : mapper.getPaths()) {
+            SettingDescriptor setting = null;
+            for (SettingDescriptor candidate : mapper.getSettings()) {
+                if (candidate.getPath().equals(key)) {
+                    setting = candidate;
+                    break;
+                }
+            }
+
+            Preconditions.checkState(setting != null, "No setting for the path %s in %s", key, mapper.getMappedClass());
+            Object[] path = new Object[parentPath.length + 1];
+            System.arraycopy(parentPath, 0, path, 0, parentPath.length);
+            path[parentPath.length] = key;
+
+            Class<?> section = getSectionType(setting, sections);
+            int index = entries.size();
+            Entry entry = new Entry(path, key, parent, setting, mapper.getMappedClass(), mapper.getBinder(key),
+                    section == null ? null : factory.getMapper(section));
+            entries.add(entry);
+            if (section != null) {
+                sections.push(section);
+                addEntries(factory, entry.sectionMapper, path, index, entries, sections);
+                sections.pop();
+            }
+
+            entry.end = entries.size();
+        }
+    }
+
+    @Nullable
+    private static Class<?> getSectionType(SettingDescriptor setting, Deque<Class<?>> sections) {
+        if (!(setting.getType().getType() instanceof Class)) {
+            return null;
+        }
+
+        Class<?> type = (Class<?>) setting.getType().getType();
+        if (!type.isAnnotationPresent(ConfigSerializable.class) || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+                || sections.contains(type)) {
+            return null;
+        }
+
+        if (setting.hasDefault() || setting.isDoNotGenerate() || setting.getProcessors() != null || setting.getRequiredProperty() != null
+                || setting.isCanonicalise()) {
+            return null;
+        }
+
+        return type;
+    }
+
+    private final NeutrinoObjectMapper<T> mapper;
+    private final List<Entry> entries;
+    private final Entry[] entryArray;
+    @Nullable private volatile Verified verified;
+
+    private SchemaIndex(NeutrinoObjectMapper<T> mapper, List<Entry> entries) {
+        this.mapper = mapper;
+        this.entries = ImmutableList.copyOf(entries);
+        this.entryArray = entries.toArray(new Entry[0]);
+    }
+
+    /**
+     * Gets the type of the root object.
+     *
+     * @return The type
+     */
+    public Class<T> getType() {
+        return this.mapper.getMappedClass();
+    }
+
+    /**
+     * Gets every setting, in the order that they are bound: each section is followed by its own settings.
+     *
+     * @return The entries
+     */
+    public List<Entry> getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * Gets the full path of every setting, joined with <code>.</code>, in the order of {@link #getEntries()}.
+     *
+     * @return The paths
+     */
+    public List<String> getPaths() {
+        ImmutableList.Builder<String> builder = ImmutableList.builder();
+        for (Entry entry : this.entryArray) {
+            builder.add(entry.getPathString());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Gets the entry for the setting at the given full path.
+     *
+     * @param path The path from the root
+     * @return The entry, or <code>null</code> if there is no setting at the path
+     */
+    @Nullable
+    public Entry get(Object... path) {
+        for (Entry entry : this.entryArray) {
+            if (Arrays.equals(entry.path, path)) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a new root object and populates it from the source.
+     *
+     * @param source The source to get data from
+     * @return The object
+     * @throws ObjectMappingException if any setting could not be deserialised
+     */
+    public T populate(ConfigurationNode source) throws ObjectMappingException {
+        return populate(this.mapper.bindToNew().getInstance(), source);
+    }
+
+    /**
+     * Populates an existing root object from the source.
+     *
+     * @param instance The object
+     * @param source The source to get data from
+     * @return The object
+     * @throws ObjectMappingException if any setting could not be deserialised
+     */
+    public T populate(T instance, ConfigurationNode source) throws ObjectMappingException {
+        Preconditions.checkNotNull(instance, "instance");
+        boolean[] flatten = getFlattenable(source.getOptions().getSerializers());
+        Entry[] entries = this.entryArray;
+        Object[] instances = new Object[entries.length];
+        ConfigurationNode[] nodes = new ConfigurationNode[entries.length];
+        int i = 0;
+        while (i < entries.length) {
+            Entry entry = entries[i];
+            Object owner = entry.parent < 0 ? instance : instances[entry.parent];
+            ConfigurationNode node = (entry.parent < 0 ? source : nodes[entry.parent]).getNode(entry.key);
+            if (entry.sectionMapper == null || !flatten[i] || node.isVirtual() || !node.getNode("__class__").isVirtual()) {
+                // Bound as a whole, including any section below it.
+                entry.binder.deserialize(owner, node);
+                i = entry.end;
+            } else {
+                Object section = entry.sectionMapper.bindToNew().getInstance();
+                entry.setting.getAccessor().set(owner, section);
+                instances[i] = section;
+                nodes[i] = node;
+                i++;
+            }
+        }
+
+        return instance;
+    }
+
+    /**
+     * Gets, for each entry, whether it is a section that can be flattened with the supplied collection, which is
+     * when the collection uses the standard object mapping serializer for it.
+     */
+    private boolean[] getFlattenable(TypeSerializerCollection serializers) {
+        Verified verified = this.verified;
+        if (verified != null && verified.serializers.get() == serializers) {
+            return verified.flatten;
+        }
+
+        boolean[] flatten = new boolean[this.entryArray.length];
+        TypeSerializerCollection defaults = TypeSerializerCollection.defaults();
+        for (int i = 0; i < flatten.length; i++) {
+            Entry entry = this.entryArray[i];
+            if (entry.sectionMapper != null) {
+                TypeToken<?> type = entry.setting.getType();
+                TypeSerializer<?> serializer = serializers.get(type);
+                flatten[i] = serializer != null && serializer == defaults.get(type);
+            }
+        }
+
+        this.verified = new Verified(serializers, flatten);
+        return flatten;
+    }
+
+    @FunctionalInterface
+    interface Binder {
+
+        void deserialize(Object instance, ConfigurationNode node) throws ObjectMappingException;
+    }
+
+    /**
+     * A setting in a {@link SchemaIndex}.
+     */
+    public static final class Entry {
+
+        private final Object[] path;
+        private final String key;
+        private final int parent;
+        private final SettingDescriptor setting;
+        private final Class<?> declaringType;
+        private final Binder binder;
+        @Nullable private final NeutrinoObjectMapper<?> sectionMapper;
+        private int end;
+
+        private Entry(Object[] path, String key, int parent, SettingDescriptor setting, Class<?> declaringType, Binder binder,
+                @Nullable NeutrinoObjectMapper<?> sectionMapper) {
+            this.path = path;
+            this.key = key;
+            this.parent = parent;
+            this.setting = setting;
+            this.declaringType = declaringType;
+            this.binder = binder;
+            this.sectionMapper = sectionMapper;
+        }
+
+        /**
+         * Gets the full path of the setting from the root.
+         *
+         * @return The path
+         */
+        public Object[] getPath() {
+            return this.path.clone();
+        }
+
+        /**
+         * Gets the full path of the setting from the root, joined with <code>.</code>.
+         *
+         * @return The path
+         */
+        public String getPathString() {
+            return PATH_JOINER.join(this.path);
+        }
+
+        /**
+         * Gets the number of sections that the setting is in, which is 0 for a setting of the root object.
+         *
+         * @return The depth
+         */
+        public int getDepth() {
+            return this.path.length - 1;
+        }
+
+        public SettingDescriptor getSetting() {
+            return this.setting;
+        }
+
+        /**
+         * Gets the class that declares the setting.
+         *
+         * @return The class
+         */
+        public Class<?> getDeclaringType() {
+            return this.declaringType;
+        }
+
+        /**
+         * Gets whether the setting is a section whose own settings follow it in the index.
+         *
+         * @return <code>true</code> if so
+         */
+        public boolean isSection() {
+            return this.sectionMapper != null;
+        }
+
+        @Override
+        public String toString() {
+            return getPathString() + " (" + this.setting.getType() + ")";
+        }
+    }
+
+    private static final class Verified {
+
+        private final WeakReference<TypeSerializerCollection> serializers;
+        private final boolean[] flatten;
+
+        private Verified(TypeSerializerCollection serializers, boolean[] flatten) {
+            this.serializers = new WeakReference<>(serializers);
+            this.flatten = flatten;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.reflect.TypeToken;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollection;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the {@link TypeSerializer} for the type of each setting of a {@link NeutrinoObjectMapper}, resolved against
+ * the {@link TypeSerializerCollection} that the mapper was last used with.
+ *
+ * <p>
+ *     The whole table is resolved the first time a collection is seen, and is then reused for as long as the nodes
+ *     being bound have the same collection, compared by identity. When a node has a different collection, a new
+ *     table is resolved and replaces the old one, so binding against two collections in turn is correct, but
+ *     resolves the table each time the collection changes. The table holds the collection weakly.
+ * </p>
+ *
+ * <p>
+ *     A serializer that is registered on a collection after a mapper has resolved its table against it is not seen
+ *     by that mapper. Collections are expected to be set up before they are used.
+ * </p>
+ */
+final class SerializerTable {
+
+    // Only added to while the mapper is being built, before it is published.
+    private final List<TypeToken<?>> types = new ArrayList<>();
+    @Nullable private volatile Resolved resolved;
+
+    /**
+     * Gets the {@link Slot} for the supplied type, adding it to the table if it is not already present.
+     *
+     * @param type The type of the setting
+     * @return The {@link Slot}
+     */
+    Slot slotFor(TypeToken<?> type) {
+        int index = this.types.indexOf(type);
+        if (index < 0) {
+            index = this.types.size();
+            this.types.add(type);
+        }
+
+        return new Slot(this, index);
+    }
+
+    @Nullable
+    private TypeSerializer<?> get(int index, TypeSerializerCollection serializers) {
+        Resolved resolved = this.resolved;
+        if (resolved == null || resolved.serializers.get() != serializers) {
+            // Two threads may both resolve a new collection, but they resolve the same table, so either may win.
+            resolved = new Resolved(serializers, this.types);
+            this.resolved = resolved;
+        }
+
+        return resolved.table[index];
+    }
+
+    /**
+     * The position of a type in a {@link SerializerTable}.
+     */
+    static final class Slot {
+
+        private final SerializerTable table;
+        private final int index;
+
+        private Slot(SerializerTable table, int index) {
+            this.table = table;
+            this.index = index;
+        }
+
+        /**
+         * Gets the serializer for this slot's type from the supplied collection.
+         *
+         * @param serializers The {@link TypeSerializerCollection}
+         * @return The serializer, or <code>null</code> if the collection has none for the type
+         */
+        @Nullable
+        TypeSerializer<?> get(TypeSerializerCollection serializers) {
+            return this.table.get(this.index, serializers);
+        }
+    }
+
+    private static final class Resolved {
+
+        private final WeakReference<TypeSerializerCollection> serializers;
+        private final TypeSerializer<?>[] table;
+
+        private Resolved(TypeSerializerCollection serializers, List<TypeToken<?>> types) {
+            this.serializers = new WeakReference<>(serializers);
+            this.table = new TypeSerializer<?>[types.size()];
+            for (int i = 0; i < this.table.length; i++) {
+                this.table[i] = serializers.get(types.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.annotations.Canonicalise;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.annotations.DoNotGenerate;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.annotations.RequiresProperty;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import ninja.leaping.configurate.objectmapping.Setting;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Describes a {@link Setting} annotated field and the Neutrino annotations on it, which the
+ * {@link NeutrinoObjectMapper} turns into {@link ninja.leaping.configurate.objectmapping.ObjectMapper.FieldData}.
+ *
+ * <p>
+ *     Descriptors are either read from a {@link Field} by reflection, or are created by a {@link GeneratedMapper}
+ *     emitted by the Neutrino annotation processor.
+ * </p>
+ */
+public final class SettingDescriptor {
+
+    /**
+     * Creates a builder for a {@link SettingDescriptor}.
+     *
+     * @param path The value of {@link Setting#value()}
+     * @param comment The value of {@link Setting#comment()}
+     * @param fieldName The name of the field
+     * @param type The generic type of the field
+     * @param accessor The {@link FieldAccessor} for the field
+     * @return The builder
+     */
+    public static Builder builder(String path, String comment, String fieldName, TypeToken<?> type, FieldAccessor accessor) {
+        return new Builder(path, comment, fieldName, type, accessor);
+    }
+
+    static SettingDescriptor fromField(Field field) {
+        Setting setting = field.getAnnotation(Setting.class);
+        Builder builder = new Builder(setting, field.getName(), TypeToken.of(field.getGenericType()), FieldAccessor.of(field));
+
+        Default de = field.getAnnotation(Default.class);
+        if (de != null) {
+            builder.setDefault(de.value(), de.saveDefaultIfNull(), de.useDefaultIfEmpty());
+        }
+
+        if (field.isAnnotationPresent(DoNotGenerate.class)) {
+            builder.doNotGenerate();
+        }
+
+        ProcessSetting processSetting = field.getAnnotation(ProcessSetting.class);
+        if (processSetting != null) {
+            builder.processSetting(processSetting.value());
+        }
+
+        RequiresProperty requiresProperty = field.getAnnotation(RequiresProperty.class);
+        if (requiresProperty != null) {
+            builder.requiresProperty(requiresProperty.value(), requiresProperty.matchedName());
+        }
+
+        if (field.isAnnotationPresent(Canonicalise.class)) {
+            builder.canonicalise();
+        }
+
+        return builder.build();
+    }
+
+    private final Setting setting;
+    private final String fieldName;
+    private final TypeToken<?> type;
+    private final FieldAccessor accessor;
+    @Nullable private final String defaultValue;
+    private final boolean saveDefaultIfNull;
+    private final boolean useDefaultIfEmpty;
+    private final boolean doNotGenerate;
+    @Nullable private final List<Class<? extends SettingProcessor>> processors;
+    @Nullable private final String requiredProperty;
+    private final String requiredPropertyMatch;
+    private final boolean canonicalise;
+    @Nullable private final SerializerTable.Slot serializerSlot;
+    @Nullable private final Class<?> mappedClass;
+
+    private SettingDescriptor(Builder builder) {
+        this.setting = builder.setting;
+        this.fieldName = builder.fieldName;
+        this.type = builder.type;
+        this.accessor = builder.accessor;
+        this.defaultValue = builder.defaultValue;
+        this.saveDefaultIfNull = builder.saveDefaultIfNull;
+        this.useDefaultIfEmpty = builder.useDefaultIfEmpty;
+        this.doNotGenerate = builder.doNotGenerate;
+        this.processors = builder.processors;
+        this.requiredProperty = builder.requiredProperty;
+        this.requiredPropertyMatch = builder.requiredPropertyMatch;
+        this.canonicalise = builder.canonicalise;
+        this.serializerSlot = null;
+        this.mappedClass = null;
+    }
+
+    private SettingDescriptor(SettingDescriptor descriptor, TypeToken<?> type, FieldAccessor accessor,
+            @Nullable SerializerTable.Slot serializerSlot, @Nullable Class<?> mappedClass) {
+        this.setting = descriptor.setting;
+        this.fieldName = descriptor.fieldName;
+        this.type = type;
+        this.accessor = accessor;
+        this.defaultValue = descriptor.defaultValue;
+        this.saveDefaultIfNull = descriptor.saveDefaultIfNull;
+        this.useDefaultIfEmpty = descriptor.useDefaultIfEmpty;
+        this.doNotGenerate = descriptor.doNotGenerate;
+        this.processors = descriptor.processors;
+        this.requiredProperty = descriptor.requiredProperty;
+        this.requiredPropertyMatch = descriptor.requiredPropertyMatch;
+        this.canonicalise = descriptor.canonicalise;
+        this.serializerSlot = serializerSlot;
+        this.mappedClass = mappedClass;
+    }
+
+    public Setting getSetting() {
+        return this.setting;
+    }
+
+    /**
+     * Gets the path of the setting, which is the field name if {@link Setting#value()} is empty.
+     *
+     * @return The path
+     */
+    public String getPath() {
+        return this.setting.value().isEmpty() ? this.fieldName : this.setting.value();
+    }
+
+    public String getFieldName() {
+        return this.fieldName;
+    }
+
+    public TypeToken<?> getType() {
+        return this.type;
+    }
+
+    public FieldAccessor getAccessor() {
+        return this.accessor;
+    }
+
+    public boolean hasDefault() {
+        return this.defaultValue != null;
+    }
+
+    /**
+     * Gets the value of {@link Default#value()}, if the field has a default.
+     *
+     * @return The default value, or <code>null</code>
+     */
+    @Nullable
+    public String getDefaultValue() {
+        return this.defaultValue;
+    }
+
+    public boolean isSaveDefaultIfNull() {
+        return this.saveDefaultIfNull;
+    }
+
+    public boolean isUseDefaultIfEmpty() {
+        return this.useDefaultIfEmpty;
+    }
+
+    public boolean isDoNotGenerate() {
+        return this.doNotGenerate;
+    }
+
+    /**
+     * Gets the {@link SettingProcessor}s from {@link ProcessSetting#value()}, if the annotation is present.
+     *
+     * @return The processors, or <code>null</code>
+     */
+    @Nullable
+    public List<Class<? extends SettingProcessor>> getProcessors() {
+        return this.processors;
+    }
+
+    /**
+     * Gets the value of {@link RequiresProperty#value()}, if the annotation is present.
+     *
+     * @return The property, or <code>null</code>
+     */
+    @Nullable
+    public String getRequiredProperty() {
+        return this.requiredProperty;
+    }
+
+    public String getRequiredPropertyMatch() {
+        return this.requiredPropertyMatch;
+    }
+
+    public boolean isCanonicalise() {
+        return this.canonicalise;
+    }
+
+    /**
+     * Gets whether the field is a {@link Lazy}, which is deserialised on first access.
+     *
+     * @return <code>true</code> if so
+     */
+    public boolean isLazy() {
+        return this.type.getRawType() == Lazy.class;
+    }
+
+    /**
+     * Gets a descriptor for the value held by a {@link Lazy} field, which is read and written on the {@link Lazy}
+     * rather than on the object that declares the field.
+     */
+    SettingDescriptor forLazyValue() {
+        return new SettingDescriptor(this, this.type.resolveType(Lazy.class.getTypeParameters()[0]), Lazy.VALUE_ACCESSOR, null, this.mappedClass);
+    }
+
+    /**
+     * Gets a descriptor for use by the mapper of the supplied class, which looks up the serializer for its type in
+     * the mapper's {@link SerializerTable}.
+     */
+    SettingDescriptor forMapper(Class<?> mappedClass, SerializerTable table) {
+        return new SettingDescriptor(this, this.type, this.accessor, table.slotFor(this.type), mappedClass);
+    }
+
+    /**
+     * Gets the slot in its mapper's {@link SerializerTable} that the serializer for this setting is held in, if it
+     * has one.
+     */
+    @Nullable
+    SerializerTable.Slot getSerializerSlot() {
+        return this.serializerSlot;
+    }
+
+    /**
+     * Gets the class of the mapper that this descriptor is used by, if it has been given one by
+     * {@link #forMapper(Class, SerializerTable)}.
+     */
+    @Nullable
+    Class<?> getMappedClass() {
+        return this.mappedClass;
+    }
+
+    public static final class Builder {
+
+        private final Setting setting;
+        private final String fieldName;
+        private final TypeToken<?> type;
+        private final FieldAccessor accessor;
+        @Nullable private String defaultValue;
+        private boolean saveDefaultIfNull = false;
+        private boolean useDefaultIfEmpty = false;
+        private boolean doNotGenerate = false;
+        @Nullable private List<Class<? extends SettingProcessor>> processors;
+        @Nullable private String requiredProperty;
+        private String requiredPropertyMatch = ".*";
+        private boolean canonicalise = false;
+
+        private Builder(String path, String comment, String fieldName, TypeToken<?> type, FieldAccessor accessor) {
+            this(new SettingValue(Preconditions.checkNotNull(path), Preconditions.checkNotNull(comment)), fieldName, type, accessor);
+        }
+
+        private Builder(Setting setting, String fieldName, TypeToken<?> type, FieldAccessor accessor) {
+            this.setting = setting;
+            this.fieldName = Preconditions.checkNotNull(fieldName);
+            this.type = Preconditions.checkNotNull(type);
+            this.accessor = Preconditions.checkNotNull(accessor);
+        }
+
+        /**
+         * Equivalent to {@link Default}.
+         *
+         * @param value The default value
+         * @param saveDefaultIfNull {@link Default#saveDefaultIfNull()}
+         * @param useDefaultIfEmpty {@link Default#useDefaultIfEmpty()}
+         * @return This builder, for chaining.
+         */
+        public Builder setDefault(String value, boolean saveDefaultIfNull, boolean useDefaultIfEmpty) {
+            this.defaultValue = Preconditions.checkNotNull(value);
+            this.saveDefaultIfNull = saveDefaultIfNull;
+            this.useDefaultIfEmpty = useDefaultIfEmpty;
+            return this;
+        }
+
+        /**
+         * Equivalent to {@link DoNotGenerate}.
+         *
+         * @return This builder, for chaining.
+         */
+        public Builder doNotGenerate() {
+            this.doNotGenerate = true;
+            return this;
+        }
+
+        /**
+         * Equivalent to {@link ProcessSetting}.
+         *
+         * @param processors The processors to run, in order
+         * @return This builder, for chaining.
+         */
+        @SafeVarargs
+        public final Builder processSetting(Class<? extends SettingProcessor>... processors) {
+            ImmutableList.Builder<Class<? extends SettingProcessor>> builder = ImmutableList.builder();
+            for (Class<? extends SettingProcessor> processor : processors) {
+                builder.add(processor);
+            }
+
+            this.processors = builder.build();
+            return this;
+        }
+
+        /**
+         * Equivalent to {@link RequiresProperty}.
+         *
+         * @param property The property key
+         * @param matchedName The regex that the property value must match
+         * @return This builder, for chaining.
+         */
+        public Builder requiresProperty(String property, String matchedName) {
+            this.requiredProperty = Preconditions.checkNotNull(property);
+            this.requiredPropertyMatch = Preconditions.checkNotNull(matchedName);
+            return this;
+        }
+
+        /**
+         * Equivalent to {@link Canonicalise}.
+         *
+         * @return This builder, for chaining.
+         */
+        public Builder canonicalise() {
+            this.canonicalise = true;
+            return this;
+        }
+
+        public SettingDescriptor build() {
+            return new SettingDescriptor(this);
+        }
+    }
+
+    @SuppressWarnings("ClassExplicitlyAnnotation")
+    private static final class SettingValue implements Setting {
+
+        private final String value;
+        private final String comment;
+
+        private SettingValue(String value, String comment) {
+            this.value = value;
+            this.comment = comment;
+        }
+
+        @Override
+        public String value() {
+            return this.value;
+        }
+
+        @Override
+        public String comment() {
+            return this.comment;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Setting.class;
+        }
+    }
+}
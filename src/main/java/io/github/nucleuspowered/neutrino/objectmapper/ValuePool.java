@@ -0,0 +1,231 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.objectmapper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+/**
+ * Deduplicates the immutable values of mapped objects, so that objects with equal values share one instance of them.
+ * Values are held weakly, so a value is released once no mapped object uses it.
+ *
+ * <p>
+ *     Strings, boxed numbers and characters, {@link BigInteger}s, {@link BigDecimal}s, {@link Pattern}s (by pattern and
+ *     flags) and Guava {@link ImmutableList}s of these are shared. Other immutable collections are not, as sets and
+ *     maps are equal regardless of their order and class, so sharing them could change the iteration order of a
+ *     value or give a field a type that it cannot hold. The elements of other {@link List}s and the values of other
+ *     {@link Map}s are shared in place, as the collections themselves may be changed. Anything else is left alone.
+ * </p>
+ *
+ * <p>
+ *     The pool counts the values that it replaced and estimates the memory that this saved, assuming a 64-bit JVM with
+ *     compressed references. The estimate only covers the replaced object itself, and not (for example) the compiled
+ *     form of a {@link Pattern}, so it is a lower bound.
+ * </p>
+ *
+ * @see io.github.nucleuspowered.neutrino.annotations.Canonicalise
+ */
+public final class ValuePool {
+
+    private static final ValuePool SHARED = new ValuePool();
+
+    /**
+     * Gets the pool that factories use unless they are given another.
+     *
+     * @return The shared {@link ValuePool}
+     */
+    public static ValuePool getShared() {
+        return SHARED;
+    }
+
+    private final Interner<Object> interner = Interners.newWeakInterner();
+    private final Cache<PatternKey, Pattern> patterns = CacheBuilder.newBuilder().weakValues().build();
+    private final LongAdder canonicalised = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * Gets the canonical instance of a value.
+     *
+     * @param value The value
+     * @param <V> The type of value
+     * @return The canonical instance, which is the value itself if it is the first of its kind or cannot be shared
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <V> V canonicalise(@Nullable V value) {
+        if (value == null || value instanceof Enum || value instanceof Boolean) {
+            // Already canonical.
+            return value;
+        }
+
+        if (value instanceof Pattern) {
+            Pattern pattern = (Pattern) value;
+            try {
+                return (V) record(value, this.patterns.get(new PatternKey(pattern.pattern(), pattern.flags()), () -> pattern));
+            } catch (ExecutionException e) {
+                // The loader cannot fail.
+                return value;
+            }
+        }
+
+        if (isShareable(value)) {
+            return (V) record(value, this.interner.intern(value));
+        }
+
+        if (value instanceof List) {
+            canonicaliseElements((List<Object>) value);
+        } else if (value instanceof Map) {
+            canonicaliseValues((Map<?, Object>) value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the number of values that have been replaced by an equal value from the pool.
+     *
+     * @return The number of values
+     */
+    public long getCanonicalisedCount() {
+        return this.canonicalised.sum();
+    }
+
+    /**
+     * Gets an estimate of the memory, in bytes, that has been saved by replacing values with those in the pool.
+     *
+     * @return The estimate
+     */
+    public long getEstimatedBytesSaved() {
+        return this.bytesSaved.sum();
+    }
+
+    private Object record(Object value, Object canonical) {
+        if (canonical != value) {
+            this.canonicalised.increment();
+            this.bytesSaved.add(estimateSize(value));
+        }
+
+        return canonical;
+    }
+
+    private void canonicaliseElements(List<Object> list) {
+        try {
+            for (ListIterator<Object> iterator = list.listIterator(); iterator.hasNext(); ) {
+                Object element = iterator.next();
+                Object canonical = canonicalise(element);
+                if (canonical != element) {
+                    iterator.set(canonical);
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            // An unmodifiable list that we don't know is immutable, leave it.
+        }
+    }
+
+    private void canonicaliseValues(Map<?, Object> map) {
+        try {
+            for (Map.Entry<?, Object> entry : map.entrySet()) {
+                Object canonical = canonicalise(entry.getValue());
+                if (canonical != entry.getValue()) {
+                    entry.setValue(canonical);
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            // An unmodifiable map that we don't know is immutable, leave it.
+        }
+    }
+
+    private static boolean isShareable(Object value) {
+        if (value instanceof String || value instanceof Number && isImmutableNumber(value) || value instanceof Character) {
+            return true;
+        }
+
+        // Only if everything in it can be shared too, otherwise sharing it would share mutable state. Lists are only
+        // equal if their elements are in the same order, and every ImmutableList can be assigned to the same fields.
+        if (value instanceof ImmutableList) {
+            for (Object element : (ImmutableList<?>) value) {
+                if (!isShareable(element)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        return value instanceof Enum || value instanceof Boolean;
+    }
+
+    private static boolean isImmutableNumber(Object value) {
+        Class<?> type = value.getClass();
+        return type == Integer.class || type == Long.class || type == Double.class || type == Float.class || type == Short.class
+                || type == Byte.class || type == BigInteger.class || type == BigDecimal.class;
+    }
+
+    private static long estimateSize(Object value) {
+        if (value instanceof String) {
+            // The String, and its char[].
+            return 24 + align(16 + 2L * ((String) value).length());
+        } else if (value instanceof Long || value instanceof Double) {
+            return 24;
+        } else if (value instanceof BigInteger || value instanceof BigDecimal) {
+            return 40;
+        } else if (value instanceof Pattern) {
+            return 80 + estimateSize(((Pattern) value).pattern());
+        } else if (value instanceof ImmutableList) {
+            return 16 + align(16 + 4L * ((ImmutableList<?>) value).size());
+        }
+
+        return 16;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static final class PatternKey {
+
+        private final String regex;
+        private final int flags;
+
+        private PatternKey(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            PatternKey that = (PatternKey) o;
+            return this.flags == that.flags && this.regex.equals(that.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.regex, this.flags);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.reload;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reloads configuration files when they change on disk, using a {@link WatchService} rather than polling.
+ *
+ * <p>
+ *     All files are watched from one background thread, however many there are. A change to a file schedules a
+ *     reload after the debounce period, and each further change within that period pushes the reload back, so a
+ *     burst of writes results in one reload. If the content of the file is the same as it was at the last load, the
+ *     reload is skipped. Otherwise, a new object is populated from the file and published atomically to its
+ *     {@link WatchedConfig}. If the reload fails, the previous object is kept.
+ * </p>
+ */
+public final class ConfigReloadService implements AutoCloseable {
+
+    private final NeutrinoObjectMapperFactory factory;
+    private final long debounceNanos;
+    private final WatchService watchService;
+    private final Map<Path, WatchedConfig<?>> watched = new ConcurrentHashMap<>();
+    private final Map<Path, Directory> directories = new HashMap<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a service and starts its thread.
+     *
+     * @param factory The {@link NeutrinoObjectMapperFactory} to get the mappers from
+     * @param debounce The time to wait after the last change to a file before reloading it
+     * @param unit The unit of the debounce
+     * @throws IOException if the {@link WatchService} could not be created
+     */
+    public ConfigReloadService(NeutrinoObjectMapperFactory factory, long debounce, TimeUnit unit) throws IOException {
+        Preconditions.checkArgument(debounce >= 0, "The debounce must not be negative");
+        this.factory = Preconditions.checkNotNull(factory, "factory");
+        this.debounceNanos = unit.toNanos(debounce);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Thread thread = new Thread(this::run, "Neutrino config reload");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Loads a file, populates an object from it, and watches it for changes.
+     *
+     * <p>
+     *     The file is read once per load, and a loader is created for each load with its source set to the bytes
+     *     that were read, so the content that is parsed is always the content that was checked for changes, and
+     *     always comes from the watched file.
+     * </p>
+     *
+     * @param file The file to watch, on the default file system
+     * @param loaderFactory Creates the loader that parses the file from the given source, such as
+     *                      <code>source -&gt; HoconConfigurationLoader.builder().setSource(source).build()</code>
+     * @param type The type of object to map the file to
+     * @param <T> The type of object to map the file to
+     * @return The {@link WatchedConfig}, which holds the current object
+     * @throws IOException if the file could not be read or watched
+     * @throws ObjectMappingException if the object could not be populated
+     */
+    public <T> WatchedConfig<T> watch(Path file, Function<Callable<BufferedReader>, ? extends ConfigurationLoader<?>> loaderFactory, Class<T> type)
+            throws IOException, ObjectMappingException {
+        Preconditions.checkState(!this.closed, "The service has been closed");
+        Path path = file.toAbsolutePath().normalize();
+        Preconditions.checkArgument(path.getParent() != null, "The file must have a parent directory");
+
+        Preconditions.checkNotNull(loaderFactory, "loaderFactory");
+        WatchedConfig<T> config = new WatchedConfig<>(this, path, loaderFactory, this.factory.getMapper(type));
+        Preconditions.checkArgument(this.watched.putIfAbsent(path, config) == null, "%s is already being watched", path);
+        try {
+            register(path.getParent());
+        } catch (IOException | RuntimeException e) {
+            this.watched.remove(path, config);
+            throw e;
+        }
+
+        try {
+            config.load();
+        } catch (IOException | ObjectMappingException | RuntimeException e) {
+            unwatch(config);
+            throw e;
+        }
+
+        return config;
+    }
+
+    /**
+     * Stops watching every file and stops the thread.
+     *
+     * @throws IOException if the {@link WatchService} could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        this.watchService.close();
+    }
+
+    NeutrinoObjectMapperFactory getFactory() {
+        return this.factory;
+    }
+
+    void unwatch(WatchedConfig<?> config) {
+        if (this.watched.remove(config.getPath(), config)) {
+            release(config.getPath().getParent());
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        synchronized (this.directories) {
+            Directory watching = this.directories.get(directory);
+            if (watching == null || !watching.key.isValid()) {
+                // The key is invalid if the directory was deleted, in which case it has to be registered again.
+                WatchKey key = directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                watching = new Directory(key, watching == null ? 0 : watching.configs);
+                this.directories.put(directory, watching);
+            }
+
+            watching.configs++;
+        }
+    }
+
+    private void release(Path directory) {
+        synchronized (this.directories) {
+            Directory watching = this.directories.get(directory);
+            if (watching != null && --watching.configs == 0) {
+                // Nothing in the directory is watched any more, so stop getting its events.
+                watching.key.cancel();
+                this.directories.remove(directory);
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (!this.closed) {
+                long now = System.nanoTime();
+                long wait = Long.MAX_VALUE;
+                for (WatchedConfig<?> config : this.watched.values()) {
+                    if (config.pending) {
+                        long remaining = config.dueAt - now;
+                        if (remaining <= 0) {
+                            config.pending = false;
+                            reload(config);
+                        } else {
+                            wait = Math.min(wait, remaining);
+                        }
+                    }
+                }
+
+                WatchKey key = wait == Long.MAX_VALUE ? this.watchService.take() : this.watchService.poll(wait, TimeUnit.NANOSECONDS);
+                while (key != null) {
+                    handle(key, System.nanoTime());
+                    key = this.watchService.poll();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed, we're done.
+        }
+    }
+
+    private void handle(WatchKey key, long now) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // We don't know what changed, so check everything in the directory.
+                for (WatchedConfig<?> config : this.watched.values()) {
+                    if (directory.equals(config.getPath().getParent())) {
+                        schedule(config, now);
+                    }
+                }
+            } else {
+                WatchedConfig<?> config = this.watched.get(directory.resolve((Path) event.context()));
+                if (config != null) {
+                    schedule(config, now);
+                }
+            }
+        }
+
+        key.reset();
+    }
+
+    private void schedule(WatchedConfig<?> config, long now) {
+        config.pending = true;
+        config.dueAt = now + this.debounceNanos;
+    }
+
+    private void reload(WatchedConfig<?> config) {
+        try {
+            config.load();
+        } catch (NoSuchFileException e) {
+            // Probably mid replace, we'll get another event when it's back.
+        } catch (IOException | ObjectMappingException | RuntimeException e) {
+            Logger.getGlobal().log(Level.WARNING, "Could not reload " + config.getPath() + ", keeping the previous configuration.", e);
+        }
+    }
+
+    private static final class Directory {
+
+        private final WatchKey key;
+        private int configs;
+
+        private Directory(WatchKey key, int configs) {
+            this.key = key;
+            this.configs = configs;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.reload;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import ninja.leaping.configurate.objectmapping.ObjectMapper;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * A configuration file that is watched by a {@link ConfigReloadService}, which holds the object that was last
+ * populated from it.
+ *
+ * @param <T> The type of object that the file is mapped to
+ */
+public final class WatchedConfig<T> implements AutoCloseable {
+
+    private final ConfigReloadService service;
+    private final Path path;
+    private final Function<Callable<BufferedReader>, ? extends ConfigurationLoader<?>> loaderFactory;
+    private final ObjectMapper<T> mapper;
+    private final AtomicReference<T> current = new AtomicReference<>();
+    private final List<Consumer<? super T>> listeners = new CopyOnWriteArrayList<>();
+    @Nullable private HashCode lastHash;
+
+    // Only touched by the service thread.
+    boolean pending;
+    long dueAt;
+
+    WatchedConfig(ConfigReloadService service, Path path, Function<Callable<BufferedReader>, ? extends ConfigurationLoader<?>> loaderFactory, ObjectMapper<T> mapper) {
+        this.service = service;
+        this.path = path;
+        this.loaderFactory = loaderFactory;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Gets the object that was last populated from the file.
+     *
+     * @return The object
+     */
+    public T get() {
+        return this.current.get();
+    }
+
+    /**
+     * Gets the file that is watched.
+     *
+     * @return The absolute path to the file
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Adds a listener that is called on the service thread with the new object each time the file is reloaded.
+     *
+     * @param listener The listener
+     */
+    public void addListener(Consumer<? super T> listener) {
+        this.listeners.add(Preconditions.checkNotNull(listener, "listener"));
+    }
+
+    /**
+     * Stops watching the file. The last object remains available from {@link #get()}.
+     */
+    @Override
+    public void close() {
+        this.service.unwatch(this);
+    }
+
+    /**
+     * Loads the file and populates a new object from it, unless the content of the file has not changed since the
+     * last load. The listeners are called after the new object is published, outside of the lock, unless an even
+     * newer object has been published by then.
+     *
+     * @return <code>true</code> if a new object was published
+     * @throws IOException if the file could not be read
+     * @throws ObjectMappingException if the object could not be populated
+     */
+    boolean load() throws IOException, ObjectMappingException {
+        T value;
+        synchronized (this) {
+            byte[] content = Files.readAllBytes(this.path);
+            HashCode hash = Hashing.sha256().hashBytes(content);
+            if (hash.equals(this.lastHash)) {
+                return false;
+            }
+
+            // Parse the bytes that were hashed, rather than reading the file again, as it may have changed since.
+            ConfigurationLoader<?> loader = this.loaderFactory.apply(
+                    () -> new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)));
+            ConfigurationNode node = loader.load(loader.getDefaultOptions().withObjectMapperFactory(this.service.getFactory()));
+            value = this.mapper.bindToNew().populate(node);
+            this.lastHash = hash;
+            this.current.set(value);
+        }
+
+        if (this.current.get() != value) {
+            // A later load has been published, and will call the listeners itself.
+            return true;
+        }
+
+        for (Consumer<? super T> listener : this.listeners) {
+            try {
+                listener.accept(value);
+            } catch (RuntimeException e) {
+                Logger.getGlobal().log(Level.WARNING, "A reload listener for " + this.path + " failed.", e);
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.save;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes mapped configuration objects to their files in the background, merging saves of the same file that arrive
+ * before the previous one has been written.
+ *
+ * <p>
+ *     Saving an object serialises it onto a new in-memory node on the calling thread. That node is the snapshot:
+ *     the object can be changed again as soon as the call returns, and an object's fields cannot be copied safely
+ *     in general. Rendering the node and writing the file, which is the slow part, happens on the executor.
+ * </p>
+ *
+ * <p>
+ *     Saves are keyed on the {@link ConfigurationLoader}, which is expected to be one per file. At most one write is
+ *     running for a loader at a time. A save that arrives while a write is running waits for it, and further saves
+ *     that arrive before the waiting one starts replace its snapshot, so a burst of saves results in at most two
+ *     writes: the one that was running, and one of the latest snapshot. Every merged save shares the future of the
+ *     write that covers it.
+ * </p>
+ */
+public final class AsyncSaveService implements AutoCloseable {
+
+    private final NeutrinoObjectMapperFactory factory;
+    private final Executor executor;
+    @Nullable private final ExecutorService ownedExecutor;
+
+    // Guarded by this.
+    private final Map<ConfigurationLoader<?>, FileState> files = new IdentityHashMap<>();
+    private int outstanding = 0;
+    private long requested = 0;
+    private long written = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates a service that writes on a thread of its own, which is stopped by {@link #close()}.
+     *
+     * @param factory The {@link NeutrinoObjectMapperFactory} to get the mappers from
+     */
+    public AsyncSaveService(NeutrinoObjectMapperFactory factory) {
+        this(factory, Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("Neutrino config save-%d").setDaemon(true).build()), true);
+    }
+
+    /**
+     * Creates a service that writes on the supplied {@link Executor}. If the executor rejects a write, it is done on
+     * the thread that asked for it.
+     *
+     * @param factory The {@link NeutrinoObjectMapperFactory} to get the mappers from
+     * @param executor The {@link Executor} to write on
+     */
+    public AsyncSaveService(NeutrinoObjectMapperFactory factory, Executor executor) {
+        this(factory, executor, false);
+    }
+
+    private AsyncSaveService(NeutrinoObjectMapperFactory factory, Executor executor, boolean owned) {
+        this.factory = Preconditions.checkNotNull(factory, "factory");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * Serialises the object on the calling thread and writes it with the loader in the background.
+     *
+     * @param loader The loader for the file
+     * @param type The type that the object is mapped as
+     * @param instance The object
+     * @param <T> The type that the object is mapped as
+     * @return A future that completes when a snapshot that is at least as new as this one has been written, or
+     *         completes exceptionally if that write failed
+     * @throws ObjectMappingException if the object could not be serialised
+     */
+    public <T> CompletableFuture<Void> save(ConfigurationLoader<?> loader, Class<T> type, T instance) throws ObjectMappingException {
+        Preconditions.checkNotNull(loader, "loader");
+        Preconditions.checkNotNull(instance, "instance");
+        ConfigurationNode node = loader.createEmptyNode(loader.getDefaultOptions().withObjectMapperFactory(this.factory));
+        this.factory.getMapper(type).bind(instance).serialize(node);
+        return submit(loader, node);
+    }
+
+    /**
+     * Writes a copy of the node with the loader in the background, such as a node that was loaded from the file and
+     * then had an object serialised onto it, so that keys the object does not know about are kept.
+     *
+     * @param loader The loader for the file
+     * @param node The node, which is copied on the calling thread
+     * @return A future that completes when a snapshot that is at least as new as this one has been written, or
+     *         completes exceptionally if that write failed
+     */
+    public CompletableFuture<Void> saveNode(ConfigurationLoader<?> loader, ConfigurationNode node) {
+        Preconditions.checkNotNull(loader, "loader");
+        return submit(loader, node.copy());
+    }
+
+    /**
+     * Waits until every save that has been requested so far has been written or has failed.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized void flush() throws InterruptedException {
+        while (this.outstanding > 0) {
+            wait();
+        }
+    }
+
+    /**
+     * Waits until every save that has been requested so far has been written or has failed, or until the timeout
+     * passes.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit The unit of the timeout
+     * @return <code>true</code> if everything was written, <code>false</code> if the timeout passed first
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public synchronized boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (this.outstanding > 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the number of saves that have been requested.
+     *
+     * @return The number of saves
+     */
+    public synchronized long getRequestedCount() {
+        return this.requested;
+    }
+
+    /**
+     * Gets the number of writes that have been attempted, which is less than the number of saves if any were merged.
+     *
+     * @return The number of writes
+     */
+    public synchronized long getWriteCount() {
+        return this.written;
+    }
+
+    /**
+     * Stops accepting saves, waits for the outstanding saves to be written, and stops the service's thread if it
+     * has one.
+     *
+     * <p>
+     *     If the thread is interrupted while waiting, the service's thread is still stopped once it has written the
+     *     outstanding saves, the interrupt flag is set again, and an {@link IllegalStateException} is thrown.
+     * </p>
+     *
+     * @throws IllegalStateException if the thread was interrupted while waiting
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            this.closed = true;
+        }
+
+        try {
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the outstanding saves to be written", e);
+        } finally {
+            if (this.ownedExecutor != null) {
+                this.ownedExecutor.shutdown();
+            }
+        }
+    }
+
+    private CompletableFuture<Void> submit(ConfigurationLoader<?> loader, ConfigurationNode node) {
+        FileState state;
+        CompletableFuture<Void> future;
+        synchronized (this) {
+            Preconditions.checkState(!this.closed, "The service has been closed");
+            this.requested++;
+            state = this.files.computeIfAbsent(loader, FileState::new);
+            if (state.next != null) {
+                state.next.node = node;
+                return state.next.future;
+            }
+
+            state.next = new Snapshot(node);
+            future = state.next.future;
+            this.outstanding++;
+            if (state.writing) {
+                // The running write picks this up when it is done.
+                return future;
+            }
+
+            state.writing = true;
+        }
+
+        try {
+            this.executor.execute(() -> write(state));
+        } catch (RejectedExecutionException e) {
+            write(state);
+        }
+
+        return future;
+    }
+
+    private void write(FileState state) {
+        while (true) {
+            Snapshot snapshot;
+            synchronized (this) {
+                snapshot = state.next;
+                state.next = null;
+                if (snapshot == null) {
+                    state.writing = false;
+                    this.files.remove(state.loader);
+                    return;
+                }
+
+                this.written++;
+            }
+
+            try {
+                state.loader.save(snapshot.node);
+                snapshot.future.complete(null);
+            } catch (IOException | RuntimeException e) {
+                Logger.getGlobal().log(Level.WARNING, "Could not save a configuration file.", e);
+                snapshot.future.completeExceptionally(e);
+            } catch (Error e) {
+                snapshot.future.completeExceptionally(e);
+                synchronized (this) {
+                    // This write stops here, so nothing would write a save that was merged in while it ran.
+                    Snapshot next = state.next;
+                    state.next = null;
+                    state.writing = false;
+                    this.files.remove(state.loader);
+                    if (next != null) {
+                        next.future.completeExceptionally(e);
+                        this.outstanding--;
+                    }
+                }
+
+                throw e;
+            } finally {
+                synchronized (this) {
+                    this.outstanding--;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private static final class FileState {
+
+        private final ConfigurationLoader<?> loader;
+        @Nullable private Snapshot next;
+        private boolean writing;
+
+        private FileState(ConfigurationLoader<?> loader) {
+            this.loader = loader;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private ConfigurationNode node;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Snapshot(ConfigurationNode node) {
+            this.node = node;
+        }
+    }
+}
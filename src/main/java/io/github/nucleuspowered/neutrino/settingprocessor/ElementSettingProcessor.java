@@ -0,0 +1,73 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.settingprocessor;
+
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+/**
+ * A {@link SettingProcessor} that transforms each element of a list setting independently, as a string.
+ *
+ * <p>
+ *     Rather than reading the whole list and writing it back, the elements are transformed in place, and an element
+ *     is only written back if the processor returned a different string. Return the element itself if it does not
+ *     need to change, so that nothing is allocated for it. A setting that is a single value, rather than a list, is
+ *     transformed as if it were a list of one.
+ * </p>
+ *
+ * <p>
+ *     When several element processors are chained on one setting, they are fused into a single
+ *     {@link FusedElementSettingProcessor}, so the list is only walked once.
+ * </p>
+ */
+@FunctionalInterface
+public interface ElementSettingProcessor extends SettingProcessor {
+
+    /**
+     * Transforms an element before it's set on the {@link ninja.leaping.configurate.objectmapping.Setting}.
+     *
+     * @param element The element
+     * @return The transformed element, or the same instance if it is unchanged
+     * @throws ObjectMappingException thrown if the element cannot be transformed.
+     */
+    default String onGetElement(String element) throws ObjectMappingException {
+        return processElement(element);
+    }
+
+    /**
+     * Transforms an element before it's set in the configuration file.
+     *
+     * @param element The element
+     * @return The transformed element, or the same instance if it is unchanged
+     * @throws ObjectMappingException thrown if the element cannot be transformed.
+     */
+    default String onSetElement(String element) throws ObjectMappingException {
+        return processElement(element);
+    }
+
+    /**
+     * By default, transforms an element into the requested form.
+     *
+     * @param element The element
+     * @return The transformed element, or the same instance if it is unchanged
+     * @throws ObjectMappingException thrown if the element cannot be transformed.
+     */
+    String processElement(String element) throws ObjectMappingException;
+
+    @Override
+    default void onGet(ConfigurationNode input) throws ObjectMappingException {
+        FusedElementSettingProcessor.transform(input, true, this);
+    }
+
+    @Override
+    default void onSet(ConfigurationNode output) throws ObjectMappingException {
+        FusedElementSettingProcessor.transform(output, false, this);
+    }
+
+    @Override
+    default void process(ConfigurationNode cn) throws ObjectMappingException {
+        FusedElementSettingProcessor.transform(cn, true, this);
+    }
+}
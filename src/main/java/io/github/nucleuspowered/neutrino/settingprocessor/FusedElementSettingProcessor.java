@@ -0,0 +1,117 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.settingprocessor;
+
+import com.google.common.collect.ImmutableList;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a chain of {@link ElementSettingProcessor}s in one pass over the elements of a setting, passing each element
+ * through every processor in turn before moving on to the next.
+ */
+public final class FusedElementSettingProcessor implements SettingProcessor {
+
+    /**
+     * Fuses each run of consecutive {@link ElementSettingProcessor}s in a chain of processors into a
+     * {@link FusedElementSettingProcessor}. Other processors are left where they are, so the order in which the
+     * processors run is unchanged.
+     *
+     * @param processors The chain of processors
+     * @return The fused chain
+     */
+    public static List<SettingProcessor> fuse(List<? extends SettingProcessor> processors) {
+        List<SettingProcessor> fused = new ArrayList<>(processors.size());
+        List<ElementSettingProcessor> run = new ArrayList<>();
+        for (SettingProcessor processor : processors) {
+            if (processor instanceof ElementSettingProcessor) {
+                run.add((ElementSettingProcessor) processor);
+            } else {
+                addRun(fused, run);
+                fused.add(processor);
+            }
+        }
+
+        addRun(fused, run);
+        return fused;
+    }
+
+    private static void addRun(List<SettingProcessor> fused, List<ElementSettingProcessor> run) {
+        if (run.size() == 1) {
+            fused.add(run.get(0));
+        } else if (run.size() > 1) {
+            fused.add(new FusedElementSettingProcessor(run));
+        }
+
+        run.clear();
+    }
+
+    private final ElementSettingProcessor[] processors;
+
+    public FusedElementSettingProcessor(List<? extends ElementSettingProcessor> processors) {
+        this.processors = processors.toArray(new ElementSettingProcessor[0]);
+    }
+
+    /**
+     * Gets the processors that are fused, in the order that they run.
+     *
+     * @return The processors
+     */
+    public List<ElementSettingProcessor> getProcessors() {
+        return ImmutableList.copyOf(this.processors);
+    }
+
+    @Override
+    public void onGet(ConfigurationNode input) throws ObjectMappingException {
+        transform(input, true, this.processors);
+    }
+
+    @Override
+    public void onSet(ConfigurationNode output) throws ObjectMappingException {
+        transform(output, false, this.processors);
+    }
+
+    @Override
+    public void process(ConfigurationNode cn) throws ObjectMappingException {
+        transform(cn, true, this.processors);
+    }
+
+    static void transform(ConfigurationNode node, boolean onGet, ElementSettingProcessor... processors) throws ObjectMappingException {
+        if (node.isVirtual()) {
+            return;
+        }
+
+        if (node.isList()) {
+            for (ConfigurationNode child : node.getChildrenList()) {
+                transformValue(child, onGet, processors);
+            }
+        } else if (!node.isMap()) {
+            transformValue(node, onGet, processors);
+        }
+    }
+
+    private static void transformValue(ConfigurationNode node, boolean onGet, ElementSettingProcessor[] processors)
+            throws ObjectMappingException {
+        Object value = node.getValue();
+        if (value == null) {
+            return;
+        }
+
+        String original = value instanceof String ? (String) value : value.toString();
+        String element = original;
+        for (ElementSettingProcessor processor : processors) {
+            element = onGet ? processor.onGetElement(element) : processor.onSetElement(element);
+        }
+
+        // Identity, not equality: an unchanged element costs nothing, and one that is not a string is only rewritten
+        // if it was changed.
+        if (element != original) {
+            node.setValue(element);
+        }
+    }
+}
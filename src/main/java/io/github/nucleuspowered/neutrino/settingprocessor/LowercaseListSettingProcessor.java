@@ -4,23 +4,10 @@
  */
 package io.github.nucleuspowered.neutrino.settingprocessor;
 
-import com.google.common.reflect.TypeToken;
-import ninja.leaping.configurate.ConfigurationNode;
-import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+public class LowercaseListSettingProcessor implements ElementSettingProcessor {
 
-import java.util.List;
-import java.util.stream.Collectors;
-
-public class LowercaseListSettingProcessor implements SettingProcessor {
-
-    private final TypeToken<List<String>> ttListString = new TypeToken<List<String>>(String.class) {};
-    private final TypeToken<String> ttString = TypeToken.of(String.class);
-
-    @Override public void process(ConfigurationNode cn) throws ObjectMappingException {
-        if (cn.isVirtual()) {
-            return;
-        }
-
-        cn.setValue(ttListString, cn.getList(ttString).stream().map(x -> x.toLowerCase().replace(" ", "_")).collect(Collectors.toList()));
+    @Override public String processElement(String element) {
+        // Both return the same string if there is nothing to change.
+        return element.toLowerCase().replace(' ', '_');
     }
 }
@@ -4,24 +4,9 @@
  */
 package io.github.nucleuspowered.neutrino.settingprocessor;
 
-import com.google.common.reflect.TypeToken;
-import ninja.leaping.configurate.ConfigurationNode;
-import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+public class RemoveFirstSlashIfExistsSettingProcessor implements ElementSettingProcessor {
 
-import java.util.List;
-import java.util.stream.Collectors;
-
-public class RemoveFirstSlashIfExistsSettingProcessor implements SettingProcessor {
-
-    private final TypeToken<List<String>> ttListString = new TypeToken<List<String>>(String.class) {};
-    private final TypeToken<String> ttString = TypeToken.of(String.class);
-
-    @Override public void process(ConfigurationNode cn) throws ObjectMappingException {
-        if (cn.isVirtual()) {
-            return;
-        }
-
-        cn.setValue(ttListString,
-            cn.getList(ttString).stream().map(x -> x.startsWith("/") ? x.substring(1) : x).collect(Collectors.toList()));
+    @Override public String processElement(String element) {
+        return element.startsWith("/") ? element.substring(1) : element;
     }
 }
@@ -4,24 +4,57 @@
  */
 package io.github.nucleuspowered.neutrino.settingprocessor;
 
-import com.google.common.collect.Maps;
 import io.github.nucleuspowered.neutrino.util.ClassConstructor;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.WeakHashMap;
 
+/**
+ * Holds the {@link SettingProcessor} instances, one per processor class per {@link ClassConstructor}.
+ *
+ * <p>
+ *     This is safe to use from multiple threads, and each processor is constructed exactly once for each
+ *     {@link ClassConstructor}. Processors are held against their class through a {@link ClassValue}, so they are
+ *     released when the processor's class loader is unloaded, and weakly against the {@link ClassConstructor}, so
+ *     they are released when the factory that uses that constructor is no longer used.
+ * </p>
+ */
 public class SettingProcessorCache {
 
     private SettingProcessorCache() {}
 
-    private static Map<Class<? extends SettingProcessor>, SettingProcessor> processorMap = Maps.newHashMap();
+    private static final ClassValue<Map<ClassConstructor<SettingProcessor>, SettingProcessor>> processorMap =
+            new ClassValue<Map<ClassConstructor<SettingProcessor>, SettingProcessor>>() {
+                @Override
+                protected Map<ClassConstructor<SettingProcessor>, SettingProcessor> computeValue(Class<?> type) {
+                    return Collections.synchronizedMap(new WeakHashMap<>());
+                }
+            };
 
-    @SuppressWarnings("all")
+    @SuppressWarnings("unchecked")
     public static <T extends SettingProcessor> T getOrAdd(Class<T> processor,
             ClassConstructor<SettingProcessor> constructor) throws Throwable {
-        if (!processorMap.containsKey(processor)) {
-            processorMap.put(processor, constructor.construct(processor));
+        try {
+            // computeIfAbsent on a synchronized map holds the lock while constructing, so only one is ever created.
+            return (T) processorMap.get(processor).computeIfAbsent(constructor, c -> {
+                try {
+                    return c.construct(processor);
+                } catch (Throwable e) {
+                    throw new ConstructionException(e);
+                }
+            });
+        } catch (ConstructionException e) {
+            throw e.getCause();
         }
+    }
+
+    private static final class ConstructionException extends RuntimeException {
 
-        return (T) processorMap.get(processor);
+        private static final long serialVersionUID = 1L;
+
+        private ConstructionException(Throwable cause) {
+            super(cause);
+        }
     }
 }
@@ -0,0 +1,244 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.snapshot;
+
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes a {@link ConfigurationNode} tree in a compact binary form, and reads it back.
+ *
+ * <p>
+ *     Each node is written as a flag byte (whether it has a comment), its comment, a tag for its kind and then its
+ *     content. Scalars keep their type: strings, booleans, integers, longs, floats and doubles are supported, and a
+ *     tree that holds anything else cannot be written. Map keys are written as scalars. Lists and maps keep their
+ *     order.
+ * </p>
+ */
+final class NodeSnapshotCodec {
+
+    private static final byte HAS_COMMENT = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+
+    /**
+     * Writes the node and its children.
+     *
+     * @param node The node
+     * @param output The output
+     * @throws IOException if the output could not be written to
+     * @throws IllegalArgumentException if the tree holds a value of a type that cannot be written
+     */
+    static void write(ConfigurationNode node, DataOutputStream output) throws IOException {
+        String comment = node instanceof CommentedConfigurationNode ? ((CommentedConfigurationNode) node).getComment().orElse(null) : null;
+        if (comment == null) {
+            output.writeByte(0);
+        } else {
+            output.writeByte(HAS_COMMENT);
+            writeString(comment, output);
+        }
+
+        if (node.isList()) {
+            List<? extends ConfigurationNode> children = node.getChildrenList();
+            output.writeByte(LIST);
+            output.writeInt(children.size());
+            for (ConfigurationNode child : children) {
+                write(child, output);
+            }
+        } else if (node.isMap()) {
+            Map<Object, ? extends ConfigurationNode> children = node.getChildrenMap();
+            output.writeByte(MAP);
+            output.writeInt(children.size());
+            for (Map.Entry<Object, ? extends ConfigurationNode> entry : children.entrySet()) {
+                writeScalar(entry.getKey(), output);
+                write(entry.getValue(), output);
+            }
+        } else if (node.getValue() instanceof Collection && ((Collection<?>) node.getValue()).isEmpty()) {
+            output.writeByte(LIST);
+            output.writeInt(0);
+        } else if (node.getValue() instanceof Map && ((Map<?, ?>) node.getValue()).isEmpty()) {
+            output.writeByte(MAP);
+            output.writeInt(0);
+        } else {
+            writeScalar(node.getValue(), output);
+        }
+    }
+
+    /**
+     * Writes the header of a tree, which the loader keeps in the options of its root node rather than in the tree.
+     *
+     * @param header The header, or <code>null</code> if there is none
+     * @param output The output
+     * @throws IOException if the output could not be written to
+     */
+    static void writeHeader(@Nullable String header, DataOutputStream output) throws IOException {
+        writeScalar(header, output);
+    }
+
+    /**
+     * Reads a header that was written by {@link #writeHeader(String, DataOutputStream)}.
+     *
+     * @param input The input, positioned at the start of the header
+     * @return The header, or <code>null</code> if there is none
+     * @throws IOException if the input is not a valid header
+     */
+    @Nullable
+    static String readHeader(ByteBuffer input) throws IOException {
+        try {
+            Object header = readScalar(input.get(), input);
+            if (header != null && !(header instanceof String)) {
+                throw new IOException("The snapshot header is not a string");
+            }
+
+            return (String) header;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("The snapshot is truncated or corrupt", e);
+        }
+    }
+
+    /**
+     * Reads a node that was written by {@link #write(ConfigurationNode, DataOutputStream)} into the target.
+     *
+     * @param input The input, positioned at the start of the node
+     * @param target The node to read into, which should be empty
+     * @throws IOException if the input is not a valid node
+     */
+    static void read(ByteBuffer input, ConfigurationNode target) throws IOException {
+        try {
+            readNode(input, target);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("The snapshot is truncated or corrupt", e);
+        }
+    }
+
+    private static void readNode(ByteBuffer input, ConfigurationNode target) throws IOException {
+        byte flags = input.get();
+        if ((flags & HAS_COMMENT) != 0) {
+            String comment = readString(input);
+            if (target instanceof CommentedConfigurationNode) {
+                ((CommentedConfigurationNode) target).setComment(comment);
+            }
+        }
+
+        byte tag = input.get();
+        if (tag == LIST) {
+            int size = readSize(input);
+            if (size == 0) {
+                target.setValue(Collections.emptyList());
+            }
+
+            for (int i = 0; i < size; i++) {
+                readNode(input, target.appendListNode());
+            }
+        } else if (tag == MAP) {
+            int size = readSize(input);
+            if (size == 0) {
+                target.setValue(Collections.emptyMap());
+            }
+
+            for (int i = 0; i < size; i++) {
+                readNode(input, target.getNode(readScalar(input.get(), input)));
+            }
+        } else {
+            Object value = readScalar(tag, input);
+            if (value != null) {
+                target.setValue(value);
+            }
+        }
+    }
+
+    private static void writeScalar(@Nullable Object value, DataOutputStream output) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString((String) value, output);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INT);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else {
+            throw new IllegalArgumentException("Cannot write a value of type " + value.getClass().getName());
+        }
+    }
+
+    @Nullable
+    private static Object readScalar(byte tag, ByteBuffer input) throws IOException {
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(input);
+            case BOOLEAN:
+                return input.get() != 0;
+            case INT:
+                return input.getInt();
+            case LONG:
+                return input.getLong();
+            case FLOAT:
+                return input.getFloat();
+            case DOUBLE:
+                return input.getDouble();
+            default:
+                throw new IOException("Unknown tag " + tag);
+        }
+    }
+
+    private static void writeString(String value, DataOutputStream output) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer input) throws IOException {
+        byte[] bytes = new byte[readSize(input)];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readSize(ByteBuffer input) throws IOException {
+        int size = input.getInt();
+        if (size < 0 || size > input.remaining()) {
+            // Every entry takes at least a byte, so this can only be corruption.
+            throw new IOException("Invalid size " + size);
+        }
+
+        return size;
+    }
+
+    private NodeSnapshotCodec() {
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.snapshot;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.objectmapper.SettingDescriptor;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.loader.ConfigurationLoader;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+
+/**
+ * Loads configuration files through a binary snapshot of their parsed node tree, so that a file that has not changed
+ * since the last start does not have to be parsed again.
+ *
+ * <p>
+ *     The snapshot is stored next to the file, with {@link #SUFFIX} added to its name. Its header holds a hash of
+ *     the content of the file, of the loader's class, and of the schema of the class that the file is mapped to.
+ *     When all three match, the tree is read from the snapshot through a memory-mapped {@link FileChannel}.
+ *     Otherwise the file is parsed by its loader as usual, and the snapshot is written again. Including the schema
+ *     means that changing the mapped class, such as in an update, rebuilds the snapshot rather than trusting it.
+ * </p>
+ *
+ * <p>
+ *     The file is read once per load, and the loader is created with its source set to the bytes that were read, so
+ *     a snapshot is always of the content that its hash was taken from, even if the file changes during the load.
+ * </p>
+ *
+ * <p>
+ *     The snapshot is of the tree as the loader produced it, including the file's header, which the loader keeps in
+ *     the options of the root node. It is taken before any object is populated from the tree, so defaults
+ *     and setting processors still run on every load. Trees that hold values other than strings, booleans and
+ *     numbers are not snapshotted. A snapshot that cannot be read or written is ignored, and the file is parsed.
+ * </p>
+ */
+public final class SnapshotCache {
+
+    /**
+     * The suffix that is added to the name of a file to get the name of its snapshot.
+     */
+    public static final String SUFFIX = ".snapshot";
+
+    private static final int MAGIC = 0x4E534E50;
+    private static final int VERSION = 2;
+    private static final int HASH_BYTES = 32;
+
+    private final NeutrinoObjectMapperFactory factory;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache.
+     *
+     * @param factory The {@link NeutrinoObjectMapperFactory} to get the mappers from, which is also set on the
+     *                options of the loaded nodes
+     */
+    public SnapshotCache(NeutrinoObjectMapperFactory factory) {
+        this.factory = Preconditions.checkNotNull(factory, "factory");
+    }
+
+    /**
+     * Gets the path of the snapshot for the supplied file.
+     *
+     * @param file The file
+     * @return The path of the snapshot
+     */
+    public static Path getSnapshotPath(Path file) {
+        return file.resolveSibling(file.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Loads the file, from its snapshot if it is current, and populates a new object from it.
+     *
+     * @param file The file
+     * @param loaderFactory Creates the loader that parses the file from the given source, such as
+     *                      <code>source -&gt; HoconConfigurationLoader.builder().setSource(source).build()</code>
+     * @param type The type of object to map the file to
+     * @param <T> The type of object to map the file to
+     * @return The object
+     * @throws IOException if the file could not be read
+     * @throws ObjectMappingException if the object could not be populated
+     */
+    public <T> T load(Path file, Function<Callable<BufferedReader>, ? extends ConfigurationLoader<?>> loaderFactory, Class<T> type)
+            throws IOException, ObjectMappingException {
+        return this.factory.getMapper(type).bindToNew().populate(loadNode(file, loaderFactory, type));
+    }
+
+    /**
+     * Loads the tree of the file, from its snapshot if it is current.
+     *
+     * @param file The file
+     * @param loaderFactory Creates the loader that parses the file from the given source, such as
+     *                      <code>source -&gt; HoconConfigurationLoader.builder().setSource(source).build()</code>
+     * @param type The type of object that the file is mapped to
+     * @return The root node
+     * @throws IOException if the file could not be read
+     * @throws ObjectMappingException if the mapper for the type could not be created
+     */
+    public ConfigurationNode loadNode(Path file, Function<Callable<BufferedReader>, ? extends ConfigurationLoader<?>> loaderFactory,
+            Class<?> type) throws IOException, ObjectMappingException {
+        Preconditions.checkNotNull(loaderFactory, "loaderFactory");
+        byte[] content = Files.readAllBytes(file);
+        ConfigurationLoader<?> loader = Preconditions.checkNotNull(loaderFactory.apply(
+                () -> new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8))), "loader");
+        ConfigurationOptions options = loader.getDefaultOptions().withObjectMapperFactory(this.factory);
+        byte[] key = key(content, loader, this.factory.getMapper(type));
+        Path snapshot = getSnapshotPath(file);
+
+        ConfigurationNode node = readSnapshot(snapshot, key, loader, options);
+        if (node != null) {
+            this.hits.incrementAndGet();
+            return node;
+        }
+
+        this.misses.incrementAndGet();
+        node = loader.load(options);
+        writeSnapshot(snapshot, key, node);
+        return node;
+    }
+
+    /**
+     * Gets the number of loads that were read from a snapshot.
+     *
+     * @return The number of loads
+     */
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    /**
+     * Gets the number of loads that had to parse the file.
+     *
+     * @return The number of loads
+     */
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    private static byte[] key(byte[] content, ConfigurationLoader<?> loader, NeutrinoObjectMapper<?> mapper) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putBytes(content);
+        hasher.putString(loader.getClass().getName(), StandardCharsets.UTF_8);
+        hasher.putBytes(schemaHash(mapper).asBytes());
+        return hasher.hash().asBytes();
+    }
+
+    private static HashCode schemaHash(NeutrinoObjectMapper<?> mapper) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(mapper.getMappedClass().getName(), StandardCharsets.UTF_8);
+        for (SettingDescriptor setting : mapper.getSettings()) {
+            hasher.putString(setting.getPath(), StandardCharsets.UTF_8).putByte((byte) 0)
+                    .putString(setting.getFieldName(), StandardCharsets.UTF_8).putByte((byte) 0)
+                    .putString(setting.getType().toString(), StandardCharsets.UTF_8).putByte((byte) 0)
+                    .putString(String.valueOf(setting.getDefaultValue()), StandardCharsets.UTF_8).putByte((byte) 0)
+                    .putBoolean(setting.isSaveDefaultIfNull())
+                    .putBoolean(setting.isUseDefaultIfEmpty())
+                    .putBoolean(setting.isDoNotGenerate())
+                    .putString(String.valueOf(setting.getRequiredProperty()), StandardCharsets.UTF_8).putByte((byte) 0)
+                    .putString(setting.getRequiredPropertyMatch(), StandardCharsets.UTF_8).putByte((byte) 0)
+                    .putBoolean(setting.isCanonicalise());
+            if (setting.getProcessors() != null) {
+                for (Class<? extends SettingProcessor> processor : setting.getProcessors()) {
+                    hasher.putString(processor.getName(), StandardCharsets.UTF_8).putByte((byte) 0);
+                }
+            }
+
+            hasher.putByte((byte) 1);
+        }
+
+        return hasher.hash();
+    }
+
+    @Nullable
+    private static ConfigurationNode readSnapshot(Path snapshot, byte[] key, ConfigurationLoader<?> loader, ConfigurationOptions options) {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 + HASH_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+
+            byte[] stored = new byte[HASH_BYTES];
+            buffer.get(stored);
+            if (!ByteBuffer.wrap(stored).equals(ByteBuffer.wrap(key))) {
+                return null;
+            }
+
+            String header = NodeSnapshotCodec.readHeader(buffer);
+            ConfigurationNode node = loader.createEmptyNode(header == null ? options : options.withHeader(header));
+            NodeSnapshotCodec.read(buffer, node);
+            return node;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            Logger.getGlobal().log(Level.FINE, "Could not read the snapshot " + snapshot + ", parsing the file instead.", e);
+            return null;
+        }
+    }
+
+    private static void writeSnapshot(Path snapshot, byte[] key, ConfigurationNode node) {
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.write(key);
+                NodeSnapshotCodec.writeHeader(node.getOptions().getHeader(), output);
+                NodeSnapshotCodec.write(node, output);
+            }
+
+            // Readers either see the old snapshot or the complete new one.
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Logger.getGlobal().log(Level.FINE, "Could not write the snapshot " + snapshot + ".", e);
+            try {
+                Files.deleteIfExists(temp);
+                Files.deleteIfExists(snapshot);
+            } catch (IOException ignored) {
+                // We tried.
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.typeserialisers;
+
+import ninja.leaping.configurate.Types;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Serialises a <code>boolean[]</code> as a list, or in the compact form as the base64 encoding of its length (as a big
+ * endian int) followed by its elements packed into bits.
+ */
+public class BooleanArrayTypeSerialiser extends PrimitiveArrayTypeSerialiser<boolean[]> {
+
+    public BooleanArrayTypeSerialiser() {
+        this(false);
+    }
+
+    public BooleanArrayTypeSerialiser(boolean compact) {
+        super(compact);
+    }
+
+    @Override protected boolean[] newArray(int length) {
+        return new boolean[length];
+    }
+
+    @Override protected int length(boolean[] array) {
+        return array.length;
+    }
+
+    @Override protected void setElement(boolean[] array, int index, Object element) throws ObjectMappingException {
+        array[index] = convert(element, Types::asBoolean, "boolean");
+    }
+
+    @Override protected Object getElement(boolean[] array, int index) {
+        return array[index];
+    }
+
+    @Override protected String encode(boolean[] array) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + (array.length + 7) / 8);
+        buffer.putInt(array.length);
+        for (int i = 0; i < array.length; i++) {
+            if (array[i]) {
+                int position = 4 + i / 8;
+                buffer.put(position, (byte) (buffer.get(position) | (1 << (i % 8))));
+            }
+        }
+
+        return encodeBase64(buffer.array());
+    }
+
+    @Override protected boolean[] decode(String encoded) throws ObjectMappingException {
+        byte[] bytes = decodeBase64(encoded);
+        if (bytes.length < 4) {
+            throw new ObjectMappingException("The encoded array is too short");
+        }
+
+        int length = ByteBuffer.wrap(bytes).getInt();
+        if (length < 0 || bytes.length != 4 + (length + 7) / 8) {
+            throw new ObjectMappingException("The encoded array does not have the expected number of bytes");
+        }
+
+        boolean[] array = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = (bytes[4 + i / 8] & (1 << (i % 8))) != 0;
+        }
+
+        return array;
+    }
+}
@@ -8,26 +8,43 @@
  */
 package io.github.nucleuspowered.neutrino.typeserialisers;
 
-import com.google.common.primitives.Bytes;
-import com.google.common.reflect.TypeToken;
-import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.Types;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
-import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
 
-import java.util.List;
+/**
+ * Serialises a <code>byte[]</code> as a list, or in the compact form as base64.
+ */
+public class ByteArrayTypeSerialiser extends PrimitiveArrayTypeSerialiser<byte[]> {
+
+    public ByteArrayTypeSerialiser() {
+        this(false);
+    }
 
-public class ByteArrayTypeSerialiser implements TypeSerializer<byte[]> {
+    public ByteArrayTypeSerialiser(boolean compact) {
+        super(compact);
+    }
+
+    @Override protected byte[] newArray(int length) {
+        return new byte[length];
+    }
 
-    private final TypeToken<Byte> ttb = new TypeToken<Byte>() {};
-    private final TypeToken<List<Byte>> ttlb = new TypeToken<List<Byte>>() {};
+    @Override protected int length(byte[] array) {
+        return array.length;
+    }
+
+    @Override protected void setElement(byte[] array, int index, Object element) throws ObjectMappingException {
+        array[index] = convert(element, Types::asInt, "byte").byteValue();
+    }
+
+    @Override protected Object getElement(byte[] array, int index) {
+        return array[index];
+    }
 
-    @Override public byte[] deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
-        List<Byte> list = value.getList(ttb);
-        return Bytes.toArray(list);
+    @Override protected String encode(byte[] array) {
+        return encodeBase64(array);
     }
 
-    @Override public void serialize(TypeToken<?> type, byte[] obj, ConfigurationNode value) throws ObjectMappingException {
-        List<Byte> bytes = Bytes.asList(obj);
-        value.setValue(ttlb, bytes);
+    @Override protected byte[] decode(String encoded) throws ObjectMappingException {
+        return decodeBase64(encoded);
     }
 }
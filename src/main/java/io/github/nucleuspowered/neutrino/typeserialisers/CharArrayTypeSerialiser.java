@@ -0,0 +1,51 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.typeserialisers;
+
+import ninja.leaping.configurate.Types;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+/**
+ * Serialises a <code>char[]</code> as a list of single character strings, or in the compact form as a string.
+ */
+public class CharArrayTypeSerialiser extends PrimitiveArrayTypeSerialiser<char[]> {
+
+    public CharArrayTypeSerialiser() {
+        this(false);
+    }
+
+    public CharArrayTypeSerialiser(boolean compact) {
+        super(compact);
+    }
+
+    @Override protected char[] newArray(int length) {
+        return new char[length];
+    }
+
+    @Override protected int length(char[] array) {
+        return array.length;
+    }
+
+    @Override protected void setElement(char[] array, int index, Object element) throws ObjectMappingException {
+        String value = convert(element, Types::asString, "char");
+        if (value.length() != 1) {
+            throw new ObjectMappingException("Cannot convert " + value + " to a char");
+        }
+
+        array[index] = value.charAt(0);
+    }
+
+    @Override protected Object getElement(char[] array, int index) {
+        return String.valueOf(array[index]);
+    }
+
+    @Override protected String encode(char[] array) {
+        return new String(array);
+    }
+
+    @Override protected char[] decode(String encoded) {
+        return encoded.toCharArray();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.typeserialisers;
+
+import ninja.leaping.configurate.Types;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Serialises a <code>double[]</code> as a list, or in the compact form as the base64 encoding of its big endian bytes.
+ */
+public class DoubleArrayTypeSerialiser extends PrimitiveArrayTypeSerialiser<double[]> {
+
+    public DoubleArrayTypeSerialiser() {
+        this(false);
+    }
+
+    public DoubleArrayTypeSerialiser(boolean compact) {
+        super(compact);
+    }
+
+    @Override protected double[] newArray(int length) {
+        return new double[length];
+    }
+
+    @Override protected int length(double[] array) {
+        return array.length;
+    }
+
+    @Override protected void setElement(double[] array, int index, Object element) throws ObjectMappingException {
+        array[index] = convert(element, Types::asDouble, "double");
+    }
+
+    @Override protected Object getElement(double[] array, int index) {
+        return array[index];
+    }
+
+    @Override protected String encode(double[] array) {
+        ByteBuffer buffer = ByteBuffer.allocate(array.length * 8);
+        buffer.asDoubleBuffer().put(array);
+        return encodeBase64(buffer.array());
+    }
+
+    @Override protected double[] decode(String encoded) throws ObjectMappingException {
+        DoubleBuffer buffer = decodePacked(encoded, 8).asDoubleBuffer();
+        double[] array = new double[buffer.remaining()];
+        buffer.get(array);
+        return array;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.typeserialisers;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.util.EnumLookup;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link TypeSerializer} for {@link Map}s with enum keys, which are read into an {@link EnumMap}. The keys are
+ * stored by name, and are matched in the same way as enum values are.
+ *
+ * <p>
+ *     Register this for the types that it {@link #isEnumKeyedMap(TypeToken) applies to} with
+ *     {@code registerPredicate(EnumMapTypeSerialiser::isEnumKeyedMap, new EnumMapTypeSerialiser())}.
+ * </p>
+ */
+public class EnumMapTypeSerialiser implements TypeSerializer<Map<?, ?>> {
+
+    /**
+     * Gets whether the type is a map with an enum key, which an {@link EnumMap} can be assigned to.
+     *
+     * @param type The type
+     * @return <code>true</code> if so
+     */
+    public static boolean isEnumKeyedMap(TypeToken<?> type) {
+        return type.getRawType().isAssignableFrom(EnumMap.class)
+                && Map.class.isAssignableFrom(type.getRawType())
+                && type.resolveType(Map.class.getTypeParameters()[0]).getRawType().isEnum();
+    }
+
+    private final LoadingCache<TypeToken<?>, MapType> mapTypes = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .build(CacheLoader.from(MapType::new));
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Map<?, ?> deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
+        MapType mapType = getMapType(type);
+        EnumMap<?, Object> map = new EnumMap<>((Class<Enum>) mapType.keyClass);
+        if (value.isMap()) {
+            TypeSerializer<?> serializer = mapType.getValueSerializer(value);
+            for (Map.Entry<Object, ? extends ConfigurationNode> entry : value.getChildrenMap().entrySet()) {
+                Optional<Enum> key = EnumLookup.lookupEnum((Class<Enum>) mapType.keyClass, String.valueOf(entry.getKey()));
+                if (!key.isPresent()) {
+                    throw new ObjectMappingException("Invalid enum constant provided for " + mapType.keyClass.getName() + ": "
+                            + entry.getKey());
+                }
+
+                Object element = serializer.deserialize(mapType.valueType, entry.getValue());
+                if (element != null) {
+                    ((Map) map).put(key.get(), element);
+                }
+            }
+        }
+
+        return map;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void serialize(TypeToken<?> type, @Nullable Map<?, ?> obj, ConfigurationNode value) throws ObjectMappingException {
+        if (obj == null) {
+            value.setValue(null);
+            return;
+        }
+
+        MapType mapType = getMapType(type);
+        TypeSerializer<Object> serializer = (TypeSerializer<Object>) mapType.getValueSerializer(value);
+        if (obj.isEmpty()) {
+            value.setValue(Collections.emptyMap());
+            return;
+        }
+
+        // Update the existing children in place, so that their comments are kept.
+        Set<Object> unvisited = value.isMap() ? new HashSet<>(value.getChildrenMap().keySet()) : Collections.emptySet();
+        for (Map.Entry<?, ?> entry : obj.entrySet()) {
+            String key = ((Enum<?>) entry.getKey()).name();
+            serializer.serialize(mapType.valueType, entry.getValue(), value.getNode(key));
+            unvisited.remove(key);
+        }
+
+        for (Object key : unvisited) {
+            value.removeChild(key);
+        }
+    }
+
+    private MapType getMapType(TypeToken<?> type) throws ObjectMappingException {
+        try {
+            return this.mapTypes.getUnchecked(type);
+        } catch (UncheckedExecutionException e) {
+            throw new ObjectMappingException("Cannot create an EnumMap for " + type, e.getCause());
+        }
+    }
+
+    private static final class MapType {
+
+        private final TypeToken<?> type;
+        private final Class<?> keyClass;
+        private final TypeToken<?> valueType;
+
+        private MapType(TypeToken<?> type) {
+            this.type = type;
+            this.keyClass = type.resolveType(Map.class.getTypeParameters()[0]).getRawType();
+            this.valueType = type.resolveType(Map.class.getTypeParameters()[1]);
+            if (!this.keyClass.isEnum()) {
+                throw new IllegalArgumentException("The keys of the map must be an enum, not " + this.keyClass.getName());
+            }
+        }
+
+        private TypeSerializer<?> getValueSerializer(ConfigurationNode node) throws ObjectMappingException {
+            TypeSerializer<?> serializer = node.getOptions().getSerializers().get(this.valueType);
+            if (serializer == null) {
+                throw new ObjectMappingException("No TypeSerializer found for the values of " + this.type);
+            }
+
+            return serializer;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.typeserialisers;
+
+import ninja.leaping.configurate.Types;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Serialises a <code>float[]</code> as a list, or in the compact form as the base64 encoding of its big endian bytes.
+ */
+public class FloatArrayTypeSerialiser extends PrimitiveArrayTypeSerialiser<float[]> {
+
+    public FloatArrayTypeSerialiser() {
+        this(false);
+    }
+
+    public FloatArrayTypeSerialiser(boolean compact) {
+        super(compact);
+    }
+
+    @Override protected float[] newArray(int length) {
+        return new float[length];
+    }
+
+    @Override protected int length(float[] array) {
+        return array.length;
+    }
+
+    @Override protected void setElement(float[] array, int index, Object element) throws ObjectMappingException {
+        array[index] = convert(element, Types::asFloat, "float");
+    }
+
+    @Override protected Object getElement(float[] array, int index) {
+        return array[index];
+    }
+
+    @Override protected String encode(float[] array) {
+        ByteBuffer buffer = ByteBuffer.allocate(array.length * 4);
+        buffer.asFloatBuffer().put(array);
+        return encodeBase64(buffer.array());
+    }
+
+    @Override protected float[] decode(String encoded) throws ObjectMappingException {
+        FloatBuffer buffer = decodePacked(encoded, 4).asFloatBuffer();
+        float[] array = new float[buffer.remaining()];
+        buffer.get(array);
+        return array;
+    }
+}
@@ -8,26 +8,51 @@
  */
 package io.github.nucleuspowered.neutrino.typeserialisers;
 
-import com.google.common.primitives.Ints;
-import com.google.common.reflect.TypeToken;
-import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.Types;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
-import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
 
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 
-public class IntArrayTypeSerialiser implements TypeSerializer<int[]> {
+/**
+ * Serialises a <code>int[]</code> as a list, or in the compact form as the base64 encoding of its big endian bytes.
+ */
+public class IntArrayTypeSerialiser extends PrimitiveArrayTypeSerialiser<int[]> {
+
+    public IntArrayTypeSerialiser() {
+        this(false);
+    }
+
+    public IntArrayTypeSerialiser(boolean compact) {
+        super(compact);
+    }
+
+    @Override protected int[] newArray(int length) {
+        return new int[length];
+    }
+
+    @Override protected int length(int[] array) {
+        return array.length;
+    }
 
-    private final TypeToken<Integer> ttb = new TypeToken<Integer>() {};
-    private final TypeToken<List<Integer>> ttlb = new TypeToken<List<Integer>>() {};
+    @Override protected void setElement(int[] array, int index, Object element) throws ObjectMappingException {
+        array[index] = convert(element, Types::asInt, "int");
+    }
+
+    @Override protected Object getElement(int[] array, int index) {
+        return array[index];
+    }
 
-    @Override public int[] deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
-        List<Integer> list = value.getList(ttb);
-        return Ints.toArray(list);
+    @Override protected String encode(int[] array) {
+        ByteBuffer buffer = ByteBuffer.allocate(array.length * 4);
+        buffer.asIntBuffer().put(array);
+        return encodeBase64(buffer.array());
     }
 
-    @Override public void serialize(TypeToken<?> type, int[] obj, ConfigurationNode value) throws ObjectMappingException {
-        List<Integer> bytes = Ints.asList(obj);
-        value.setValue(ttlb, bytes);
+    @Override protected int[] decode(String encoded) throws ObjectMappingException {
+        IntBuffer buffer = decodePacked(encoded, 4).asIntBuffer();
+        int[] array = new int[buffer.remaining()];
+        buffer.get(array);
+        return array;
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.typeserialisers;
+
+import ninja.leaping.configurate.Types;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Serialises a <code>long[]</code> as a list, or in the compact form as the base64 encoding of its big endian bytes.
+ */
+public class LongArrayTypeSerialiser extends PrimitiveArrayTypeSerialiser<long[]> {
+
+    public LongArrayTypeSerialiser() {
+        this(false);
+    }
+
+    public LongArrayTypeSerialiser(boolean compact) {
+        super(compact);
+    }
+
+    @Override protected long[] newArray(int length) {
+        return new long[length];
+    }
+
+    @Override protected int length(long[] array) {
+        return array.length;
+    }
+
+    @Override protected void setElement(long[] array, int index, Object element) throws ObjectMappingException {
+        array[index] = convert(element, Types::asLong, "long");
+    }
+
+    @Override protected Object getElement(long[] array, int index) {
+        return array[index];
+    }
+
+    @Override protected String encode(long[] array) {
+        ByteBuffer buffer = ByteBuffer.allocate(array.length * 8);
+        buffer.asLongBuffer().put(array);
+        return encodeBase64(buffer.array());
+    }
+
+    @Override protected long[] decode(String encoded) throws ObjectMappingException {
+        LongBuffer buffer = decodePacked(encoded, 8).asLongBuffer();
+        long[] array = new long[buffer.remaining()];
+        buffer.get(array);
+        return array;
+    }
+}
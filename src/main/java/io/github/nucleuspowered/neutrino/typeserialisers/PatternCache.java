@@ -0,0 +1,132 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.typeserialisers;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A bounded, thread safe cache of compiled {@link Pattern}s, keyed on the regex and the flags.
+ *
+ * <p>
+ *     {@link Pattern}s are immutable, so the same instance is handed to every caller that asks for the same regex
+ *     with the same flags, rather than compiling and holding a new copy each time.
+ * </p>
+ */
+public final class PatternCache {
+
+    private static final PatternCache SHARED = new PatternCache(1000);
+
+    /**
+     * Gets the cache that {@link PatternTypeSerialiser}s use by default.
+     *
+     * @return The shared cache, which holds up to 1000 patterns
+     */
+    public static PatternCache getShared() {
+        return SHARED;
+    }
+
+    private final LoadingCache<Key, Pattern> cache;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize The maximum number of patterns to hold
+     */
+    public PatternCache(long maximumSize) {
+        Preconditions.checkArgument(maximumSize > 0, "The maximum size must be positive");
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build(new CacheLoader<Key, Pattern>() {
+            @Override
+            public Pattern load(@Nonnull Key key) {
+                return Pattern.compile(key.regex, key.flags);
+            }
+        });
+    }
+
+    /**
+     * Gets the compiled {@link Pattern} for the regex and flags, compiling it if it is not cached.
+     *
+     * @param regex The regex
+     * @param flags The flags, as in {@link Pattern#compile(String, int)}
+     * @return The {@link Pattern}
+     * @throws PatternSyntaxException if the regex is not valid
+     */
+    public Pattern get(String regex, int flags) {
+        try {
+            return this.cache.getUnchecked(new Key(Preconditions.checkNotNull(regex, "regex"), flags));
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the hit and miss statistics of the cache.
+     *
+     * @return The {@link CacheStats}
+     */
+    public CacheStats getStats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * Gets the number of patterns that are cached.
+     *
+     * @return The number of patterns
+     */
+    public long size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Removes every pattern from the cache.
+     */
+    public void clear() {
+        this.cache.invalidateAll();
+    }
+
+    private static final class Key {
+
+        private final String regex;
+        private final int flags;
+
+        private Key(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return this.flags == key.flags && this.regex.equals(key.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.regex, this.flags);
+        }
+    }
+}
@@ -10,11 +10,59 @@ import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
 
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
+import javax.annotation.Nullable;
+
+/**
+ * Serialises a {@link Pattern} as its regex.
+ *
+ * <p>
+ *     By default, patterns are compiled with no flags and are shared through the {@link PatternCache#getShared()
+ *     shared cache}. The flags, the cache, or whether patterns are cached at all can be set when creating the
+ *     serialiser. Flags can also be set in the regex itself, such as <code>(?i)</code>.
+ * </p>
+ */
 public class PatternTypeSerialiser implements TypeSerializer<Pattern> {
 
+    private final int flags;
+    @Nullable private final PatternCache cache;
+
+    public PatternTypeSerialiser() {
+        this(0);
+    }
+
+    /**
+     * Creates a serialiser that compiles patterns with the given flags, using the shared cache.
+     *
+     * @param flags The flags, as in {@link Pattern#compile(String, int)}
+     */
+    public PatternTypeSerialiser(int flags) {
+        this(flags, PatternCache.getShared());
+    }
+
+    /**
+     * Creates a serialiser that compiles patterns with the given flags, using the given cache.
+     *
+     * @param flags The flags, as in {@link Pattern#compile(String, int)}
+     * @param cache The {@link PatternCache}, or <code>null</code> to compile every pattern that is deserialised
+     */
+    public PatternTypeSerialiser(int flags, @Nullable PatternCache cache) {
+        this.flags = flags;
+        this.cache = cache;
+    }
+
     @Override public Pattern deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
-        return Pattern.compile(value.getString());
+        String regex = value.getString();
+        if (regex == null) {
+            throw new ObjectMappingException("No pattern was found");
+        }
+
+        try {
+            return this.cache == null ? Pattern.compile(regex, this.flags) : this.cache.get(regex, this.flags);
+        } catch (PatternSyntaxException e) {
+            throw new ObjectMappingException("The pattern " + regex + " is not valid", e);
+        }
     }
 
     @Override public void serialize(TypeToken<?> type, Pattern obj, ConfigurationNode value) throws ObjectMappingException {
@@ -0,0 +1,189 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.typeserialisers;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.reflect.TypeToken;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+/**
+ * The base for the primitive array {@link TypeSerializer}s, which read and write the array directly rather than
+ * through a {@link List} and the element {@link TypeSerializer}.
+ *
+ * <p>
+ *     By default, arrays are written as a list with one child node per element, as they always have been. Each
+ *     element is still boxed in this form, as that is how a node holds its value. If the serialiser is compact,
+ *     arrays are instead written as a single string (base64 for the numeric and boolean types, the string itself for
+ *     <code>char[]</code>), which never boxes an element.
+ * </p>
+ *
+ * <p>
+ *     The list form is always accepted when reading. A single value that is not a list is read as the compact form
+ *     by a compact serialiser, falling back to a single element if it is not valid in that form, and as a single
+ *     element otherwise, so that a value such as <code>"12"</code> is never mistaken for base64.
+ * </p>
+ *
+ * @param <A> The array type
+ */
+public abstract class PrimitiveArrayTypeSerialiser<A> implements TypeSerializer<A> {
+
+    private static final BaseEncoding BASE64 = BaseEncoding.base64();
+
+    private final boolean compact;
+
+    protected PrimitiveArrayTypeSerialiser(boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * Gets whether arrays are written in the compact string form, rather than as a list.
+     *
+     * @return <code>true</code> if so
+     */
+    public final boolean isCompact() {
+        return this.compact;
+    }
+
+    @Override
+    public A deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
+        if (value.isList()) {
+            List<? extends ConfigurationNode> children = value.getChildrenList();
+            A array = newArray(children.size());
+            for (int i = 0; i < children.size(); i++) {
+                Object element = children.get(i).getValue();
+                if (element == null) {
+                    throw new ObjectMappingException("Element " + i + " of the array is missing");
+                }
+
+                setElement(array, i, element);
+            }
+
+            return array;
+        }
+
+        Object scalar = value.getValue();
+        if (scalar == null) {
+            return newArray(0);
+        } else if (this.compact && scalar instanceof String) {
+            try {
+                return decode((String) scalar);
+            } catch (ObjectMappingException e) {
+                // It might be a single element that was not written as a list, such as "4".
+                try {
+                    A array = newArray(1);
+                    setElement(array, 0, scalar);
+                    return array;
+                } catch (ObjectMappingException ex) {
+                    throw e;
+                }
+            }
+        }
+
+        // A single element that was not written as a list.
+        A array = newArray(1);
+        setElement(array, 0, scalar);
+        return array;
+    }
+
+    @Override
+    public void serialize(TypeToken<?> type, @Nullable A obj, ConfigurationNode value) throws ObjectMappingException {
+        if (obj == null) {
+            value.setValue(null);
+        } else if (this.compact) {
+            value.setValue(encode(obj));
+        } else {
+            value.setValue(Collections.emptyList());
+            int length = length(obj);
+            for (int i = 0; i < length; i++) {
+                value.appendListNode().setValue(getElement(obj, i));
+            }
+        }
+    }
+
+    protected abstract A newArray(int length);
+
+    protected abstract int length(A array);
+
+    /**
+     * Sets an element of the array from a node value.
+     *
+     * @param array The array
+     * @param index The index of the element
+     * @param element The value of the element's node, which is not <code>null</code>
+     * @throws ObjectMappingException if the value is not valid for the array
+     */
+    protected abstract void setElement(A array, int index, Object element) throws ObjectMappingException;
+
+    /**
+     * Gets an element of the array as the value to store in its node.
+     *
+     * @param array The array
+     * @param index The index of the element
+     * @return The value
+     */
+    protected abstract Object getElement(A array, int index);
+
+    protected abstract String encode(A array);
+
+    protected abstract A decode(String encoded) throws ObjectMappingException;
+
+    /**
+     * Converts a node value with one of the {@link ninja.leaping.configurate.Types} methods.
+     *
+     * @param element The node value
+     * @param converter The method, which returns <code>null</code> if the value cannot be converted
+     * @param typeName The name of the type, for the error
+     * @param <T> The type to convert to
+     * @return The converted value
+     * @throws ObjectMappingException if the value cannot be converted
+     */
+    protected static <T> T convert(Object element, Function<Object, T> converter, String typeName) throws ObjectMappingException {
+        T converted = converter.apply(element);
+        if (converted == null) {
+            throw new ObjectMappingException("Cannot convert " + element + " to a " + typeName);
+        }
+
+        return converted;
+    }
+
+    protected static String encodeBase64(byte[] bytes) {
+        return BASE64.encode(bytes);
+    }
+
+    protected static byte[] decodeBase64(String encoded) throws ObjectMappingException {
+        try {
+            return BASE64.decode(encoded.trim());
+        } catch (IllegalArgumentException e) {
+            throw new ObjectMappingException("The value is not a valid base64 encoded array", e);
+        }
+    }
+
+    /**
+     * Decodes a base64 string into a big endian buffer of elements of the given size in bytes.
+     *
+     * @param encoded The encoded string
+     * @param elementSize The size of each element, in bytes
+     * @return The buffer
+     * @throws ObjectMappingException if the string is not valid base64, or is not a whole number of elements
+     */
+    protected static ByteBuffer decodePacked(String encoded, int elementSize) throws ObjectMappingException {
+        byte[] bytes = decodeBase64(encoded);
+        if (bytes.length % elementSize != 0) {
+            throw new ObjectMappingException("The encoded array has " + bytes.length + " bytes, which is not a multiple of "
+                    + elementSize);
+        }
+
+        return ByteBuffer.wrap(bytes);
+    }
+}
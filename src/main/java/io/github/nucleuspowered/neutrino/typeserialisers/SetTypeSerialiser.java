@@ -4,39 +4,203 @@
  */
 package io.github.nucleuspowered.neutrino.typeserialisers;
 
-import com.google.common.reflect.TypeParameter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
 
-import java.util.ArrayList;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
+import javax.annotation.Nullable;
+
+/**
+ * A {@link TypeSerializer} for {@link Set}s, which are stored as a list.
+ *
+ * <p>
+ *     The set that is created depends on the declared type: {@link EnumSet}, {@link LinkedHashSet},
+ *     {@link java.util.SortedSet} and {@link java.util.NavigableSet} (as a {@link TreeSet}), {@link ImmutableSet} and
+ *     {@link ImmutableSortedSet} are all supported, as is any other concrete set with a public no-args constructor.
+ *     Anything else, such as a plain {@link Set}, is a {@link HashSet}. Null elements are skipped.
+ * </p>
+ *
+ * <p>
+ *     Register this for every set type with
+ *     {@code registerPredicate(type -> Set.class.isAssignableFrom(type.getRawType()), new SetTypeSerialiser())}.
+ * </p>
+ */
 public class SetTypeSerialiser implements TypeSerializer<Set<?>> {
 
+    // Resolving the element type is relatively expensive, and the same few set types are used over and over.
+    private final LoadingCache<TypeToken<?>, SetType> setTypes = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .build(CacheLoader.from(SetType::new));
+
     @Override
     public Set<?> deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
-        return new HashSet<>(value.getList(getInnerToken(type)));
+        SetType setType = getSetType(type);
+        TypeSerializer<?> serializer = setType.getElementSerializer(value);
+        List<? extends ConfigurationNode> children;
+        if (value.isList()) {
+            children = value.getChildrenList();
+        } else {
+            // As with lists, a single value is treated as a set of one.
+            children = value.getValue() == null ? Collections.emptyList() : Collections.singletonList(value);
+        }
+
+        if (setType.kind == Kind.IMMUTABLE || setType.kind == Kind.IMMUTABLE_SORTED) {
+            ImmutableSet.Builder<Object> builder = setType.newImmutableBuilder();
+            for (ConfigurationNode child : children) {
+                Object element = serializer.deserialize(setType.elementType, child);
+                if (element != null) {
+                    builder.add(element);
+                }
+            }
+
+            return builder.build();
+        }
+
+        Set<Object> set = setType.newSet(children.size());
+        for (ConfigurationNode child : children) {
+            Object element = serializer.deserialize(setType.elementType, child);
+            if (element != null) {
+                set.add(element);
+            }
+        }
+
+        return set;
     }
 
     @Override
-    public void serialize(TypeToken<?> type, Set<?> obj, ConfigurationNode value) throws ObjectMappingException {
-        value.setValue(getListTokenFromSet(type), new ArrayList<>(obj));
+    @SuppressWarnings("unchecked")
+    public void serialize(TypeToken<?> type, @Nullable Set<?> obj, ConfigurationNode value) throws ObjectMappingException {
+        if (obj == null) {
+            value.setValue(null);
+            return;
+        }
+
+        SetType setType = getSetType(type);
+        TypeSerializer<Object> serializer = (TypeSerializer<Object>) setType.getElementSerializer(value);
+        value.setValue(Collections.emptyList());
+        for (Object element : obj) {
+            serializer.serialize(setType.elementType, element, value.appendListNode());
+        }
     }
 
-    private TypeToken<?> getInnerToken(TypeToken<?> type) {
-        return type.resolveType(Set.class.getTypeParameters()[0]);
+    private SetType getSetType(TypeToken<?> type) throws ObjectMappingException {
+        try {
+            return this.setTypes.getUnchecked(type);
+        } catch (UncheckedExecutionException e) {
+            throw new ObjectMappingException("Cannot create a set of type " + type, e.getCause());
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    private <E> TypeToken<List<E>> getListTokenFromSet(TypeToken<?> type) {
-        // Get the inner type out of the type token
-        TypeToken<?> innerType = getInnerToken(type);
+    private enum Kind {
+        HASH,
+        LINKED,
+        SORTED,
+        ENUM,
+        IMMUTABLE,
+        IMMUTABLE_SORTED,
+        CONSTRUCTED
+    }
+
+    private static final class SetType {
+
+        private final TypeToken<?> type;
+        private final TypeToken<?> elementType;
+        private final Kind kind;
+        @Nullable private final Class<?> enumClass;
+        @Nullable private final Constructor<?> constructor;
+
+        private SetType(TypeToken<?> type) {
+            this.type = type;
+            this.elementType = type.resolveType(Set.class.getTypeParameters()[0]);
+            Class<?> rawType = type.getRawType();
+            Constructor<?> constructor = null;
+            Class<?> enumClass = null;
+            if (rawType == EnumSet.class) {
+                this.kind = Kind.ENUM;
+                enumClass = this.elementType.getRawType();
+                if (!enumClass.isEnum()) {
+                    throw new IllegalArgumentException("The elements of an EnumSet must be an enum, not " + this.elementType);
+                }
+            } else if (rawType == ImmutableSortedSet.class) {
+                this.kind = Kind.IMMUTABLE_SORTED;
+            } else if (rawType == ImmutableSet.class) {
+                this.kind = Kind.IMMUTABLE;
+            } else if (rawType.isAssignableFrom(HashSet.class)) {
+                this.kind = Kind.HASH;
+            } else if (rawType == LinkedHashSet.class) {
+                this.kind = Kind.LINKED;
+            } else if (rawType.isAssignableFrom(TreeSet.class)) {
+                this.kind = Kind.SORTED;
+            } else if (!rawType.isInterface() && !Modifier.isAbstract(rawType.getModifiers())) {
+                this.kind = Kind.CONSTRUCTED;
+                try {
+                    constructor = rawType.getConstructor();
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalArgumentException(rawType.getName() + " does not have a public no-args constructor", e);
+                }
+            } else {
+                throw new IllegalArgumentException("There is no known implementation of " + rawType.getName());
+            }
+
+            this.enumClass = enumClass;
+            this.constructor = constructor;
+        }
+
+        private TypeSerializer<?> getElementSerializer(ConfigurationNode node) throws ObjectMappingException {
+            TypeSerializer<?> serializer = node.getOptions().getSerializers().get(this.elementType);
+            if (serializer == null) {
+                throw new ObjectMappingException("No TypeSerializer found for the elements of " + this.type);
+            }
+
+            return serializer;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Set<Object> newSet(int expectedSize) throws ObjectMappingException {
+            switch (this.kind) {
+                case ENUM:
+                    return (Set<Object>) EnumSet.noneOf((Class<Enum>) this.enumClass);
+                case LINKED:
+                    return Sets.newLinkedHashSetWithExpectedSize(expectedSize);
+                case SORTED:
+                    return new TreeSet<>();
+                case CONSTRUCTED:
+                    try {
+                        return (Set<Object>) this.constructor.newInstance();
+                    } catch (ReflectiveOperationException e) {
+                        throw new ObjectMappingException("Could not create a " + this.type, e);
+                    }
+                default:
+                    return Sets.newHashSetWithExpectedSize(expectedSize);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private ImmutableSet.Builder<Object> newImmutableBuilder() {
+            // Configurate only guarantees Guava 21, which cannot presize the builder.
+            if (this.kind == Kind.IMMUTABLE_SORTED) {
+                return (ImmutableSet.Builder) ImmutableSortedSet.naturalOrder();
+            }
 
-        // Put it into the new list token
-        return new TypeToken<List<E>>() {}.where(new TypeParameter<E>() {}, (TypeToken<E>)innerType);
+            return ImmutableSet.builder();
+        }
     }
 }
@@ -8,26 +8,51 @@
  */
 package io.github.nucleuspowered.neutrino.typeserialisers;
 
-import com.google.common.primitives.Shorts;
-import com.google.common.reflect.TypeToken;
-import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.Types;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
-import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
 
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
 
-public class ShortArrayTypeSerialiser implements TypeSerializer<short[]> {
+/**
+ * Serialises a <code>short[]</code> as a list, or in the compact form as the base64 encoding of its big endian bytes.
+ */
+public class ShortArrayTypeSerialiser extends PrimitiveArrayTypeSerialiser<short[]> {
+
+    public ShortArrayTypeSerialiser() {
+        this(false);
+    }
+
+    public ShortArrayTypeSerialiser(boolean compact) {
+        super(compact);
+    }
+
+    @Override protected short[] newArray(int length) {
+        return new short[length];
+    }
+
+    @Override protected int length(short[] array) {
+        return array.length;
+    }
 
-    private final TypeToken<Short> ttb = new TypeToken<Short>() {};
-    private final TypeToken<List<Short>> ttlb = new TypeToken<List<Short>>() {};
+    @Override protected void setElement(short[] array, int index, Object element) throws ObjectMappingException {
+        array[index] = convert(element, Types::asInt, "short").shortValue();
+    }
+
+    @Override protected Object getElement(short[] array, int index) {
+        return array[index];
+    }
 
-    @Override public short[] deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
-        List<Short> list = value.getList(ttb);
-        return Shorts.toArray(list);
+    @Override protected String encode(short[] array) {
+        ByteBuffer buffer = ByteBuffer.allocate(array.length * 2);
+        buffer.asShortBuffer().put(array);
+        return encodeBase64(buffer.array());
     }
 
-    @Override public void serialize(TypeToken<?> type, short[] obj, ConfigurationNode value) throws ObjectMappingException {
-        List<Short> bytes = Shorts.asList(obj);
-        value.setValue(ttlb, bytes);
+    @Override protected short[] decode(String encoded) throws ObjectMappingException {
+        ShortBuffer buffer = decodePacked(encoded, 2).asShortBuffer();
+        short[] array = new short[buffer.remaining()];
+        buffer.get(array);
+        return array;
     }
 }
@@ -0,0 +1,245 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.save.AsyncSaveService;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.loader.AbstractConfigurationLoader;
+import ninja.leaping.configurate.loader.CommentHandlers;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncSaveServiceTests {
+
+    private final NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+    private final AsyncSaveService service = new AsyncSaveService(this.factory);
+
+    @After
+    public void stop() {
+        this.service.close();
+    }
+
+    @Test
+    public void testSaveWritesASnapshotInTheBackground() throws Exception {
+        RecordingLoader loader = new RecordingLoader.Builder().build();
+        TestConf conf = new TestConf();
+        conf.value = "first";
+
+        CompletableFuture<Void> future = this.service.save(loader, TestConf.class, conf);
+
+        // The snapshot was taken when save was called.
+        conf.value = "changed";
+        future.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(Lists.newArrayList("first"), loader.saved);
+        Assert.assertNotEquals(Thread.currentThread().getName(), loader.savedOn);
+    }
+
+    @Test
+    public void testSavesWhileWritingAreMergedIntoOneWrite() throws Exception {
+        RecordingLoader loader = new RecordingLoader.Builder().build();
+        loader.gate = new CountDownLatch(1);
+        TestConf conf = new TestConf();
+
+        conf.value = "0";
+        CompletableFuture<Void> first = this.service.save(loader, TestConf.class, conf);
+        Assert.assertTrue(loader.writing.await(10, TimeUnit.SECONDS));
+
+        List<CompletableFuture<Void>> merged = Lists.newArrayList();
+        for (int i = 1; i <= 10; i++) {
+            conf.value = String.valueOf(i);
+            merged.add(this.service.save(loader, TestConf.class, conf));
+        }
+
+        loader.gate.countDown();
+        Assert.assertTrue(this.service.flush(10, TimeUnit.SECONDS));
+
+        Assert.assertTrue(first.isDone());
+        for (CompletableFuture<Void> future : merged) {
+            Assert.assertSame(merged.get(0), future);
+            Assert.assertTrue(future.isDone());
+        }
+
+        Assert.assertEquals(Lists.newArrayList("0", "10"), loader.saved);
+        Assert.assertEquals(11, this.service.getRequestedCount());
+        Assert.assertEquals(2, this.service.getWriteCount());
+    }
+
+    @Test
+    public void testFailedWriteCompletesExceptionally() throws Exception {
+        RecordingLoader loader = new RecordingLoader.Builder().build();
+        loader.fail = true;
+        TestConf conf = new TestConf();
+        conf.value = "value";
+
+        try {
+            this.service.save(loader, TestConf.class, conf).get(10, TimeUnit.SECONDS);
+            Assert.fail("Expected an exception");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+
+        // The failure does not stop later saves.
+        loader.fail = false;
+        this.service.save(loader, TestConf.class, conf).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(Lists.newArrayList("value"), loader.saved);
+    }
+
+    @Test
+    public void testErrorDuringWriteCompletesEveryWaitingSave() throws Exception {
+        RecordingLoader loader = new RecordingLoader.Builder().build();
+        loader.gate = new CountDownLatch(1);
+        loader.error = true;
+
+        CompletableFuture<Void> first = this.service.saveNode(loader, createNode("first"));
+        Assert.assertTrue(loader.writing.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> merged = this.service.saveNode(loader, createNode("second"));
+
+        loader.gate.countDown();
+        Assert.assertTrue(this.service.flush(10, TimeUnit.SECONDS));
+        for (CompletableFuture<Void> future : Lists.newArrayList(first, merged)) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                Assert.fail("Expected an exception");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof Error);
+            }
+        }
+
+        // The file can be saved again.
+        loader.error = false;
+        this.service.saveNode(loader, createNode("third")).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(Lists.newArrayList("third"), loader.saved);
+    }
+
+    @Test
+    public void testCloseFlushesAndRejectsSaves() throws Exception {
+        RecordingLoader loader = new RecordingLoader.Builder().build();
+        TestConf conf = new TestConf();
+        conf.value = "value";
+        CompletableFuture<Void> future = this.service.saveNode(loader, createNode("value"));
+
+        this.service.close();
+        Assert.assertTrue(future.isDone());
+        Assert.assertEquals(Lists.newArrayList("value"), loader.saved);
+
+        try {
+            this.service.save(loader, TestConf.class, conf);
+            Assert.fail("Expected an exception");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInterruptedCloseKeepsTheInterrupt() throws Exception {
+        RecordingLoader loader = new RecordingLoader.Builder().build();
+        loader.gate = new CountDownLatch(1);
+        CompletableFuture<Void> future = this.service.saveNode(loader, createNode("value"));
+        Assert.assertTrue(loader.writing.await(10, TimeUnit.SECONDS));
+
+        Thread.currentThread().interrupt();
+        try {
+            this.service.close();
+            Assert.fail("Expected an exception");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getCause() instanceof InterruptedException);
+        } finally {
+            Assert.assertTrue(Thread.interrupted());
+            loader.gate.countDown();
+        }
+
+        future.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(Lists.newArrayList("value"), loader.saved);
+    }
+
+    private ConfigurationNode createNode(String value) {
+        ConfigurationNode node = SimpleConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(this.factory));
+        node.getNode("value").setValue(value);
+        return node;
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        private String value;
+    }
+
+    // Records the value of each node that it saves, and can hold a save until it is released.
+    public static class RecordingLoader extends AbstractConfigurationLoader<ConfigurationNode> {
+
+        public static final class Builder extends AbstractConfigurationLoader.Builder<Builder> {
+
+            @Override
+            public RecordingLoader build() {
+                setSource(() -> new BufferedReader(new StringReader("")));
+                setSink(() -> new BufferedWriter(new StringWriter()));
+                return new RecordingLoader(this);
+            }
+        }
+
+        private final List<String> saved = Lists.newCopyOnWriteArrayList();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private volatile String savedOn;
+        private volatile CountDownLatch gate;
+        private volatile boolean fail;
+        private volatile boolean error;
+
+        private RecordingLoader(Builder builder) {
+            super(builder, CommentHandlers.values());
+        }
+
+        @Override
+        protected void loadInternal(ConfigurationNode node, BufferedReader reader) {
+        }
+
+        @Override
+        protected void saveInternal(ConfigurationNode node, Writer writer) throws IOException {
+            this.writing.countDown();
+            if (this.gate != null) {
+                try {
+                    this.gate.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            if (this.fail) {
+                throw new IOException("Could not write");
+            }
+
+            if (this.error) {
+                throw new Error("Could not write");
+            }
+
+            this.savedOn = Thread.currentThread().getName();
+            this.saved.add(node.getNode("value").getString());
+        }
+
+        @Override
+        public ConfigurationNode createEmptyNode(ConfigurationOptions options) {
+            return SimpleConfigurationNode.root(options);
+        }
+    }
+}
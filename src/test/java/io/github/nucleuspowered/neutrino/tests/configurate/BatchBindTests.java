@@ -0,0 +1,159 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.objectmapper.BatchResult;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchBindTests {
+
+    private final AtomicInteger executed = new AtomicInteger();
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown() {
+        this.executorService.shutdownNow();
+    }
+
+    private List<ConfigurationNode> createNodes(NeutrinoObjectMapperFactory factory, int count) {
+        ConfigurationOptions options = ConfigurationOptions.defaults()
+                .setObjectMapperFactory(factory)
+                .setSerializers(TypeSerializers.getDefaultSerializers().newChild().registerType(TypeToken.of(Checked.class), new CheckedSerialiser()));
+        List<ConfigurationNode> nodes = Lists.newArrayList();
+        for (int i = 0; i < count; i++) {
+            ConfigurationNode node = SimpleConfigurationNode.root(options);
+            node.getNode("name").setValue("Player " + i);
+            node.getNode("checked").setValue(i % 100 == 7 ? "bad" : "good");
+            nodes.add(node);
+        }
+
+        return nodes;
+    }
+
+    @Test
+    public void testBatchBindReturnsResultsInNodeOrder() throws Exception {
+        for (boolean compileMappers : new boolean[] { false, true }) {
+            NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().setCompileMappers(compileMappers).build(false);
+            List<ConfigurationNode> nodes = createNodes(factory, 50);
+            nodes.forEach(x -> x.getNode("checked").setValue("good"));
+
+            BatchResult<TestConf> result = factory.getMapper(TestConf.class).populateAll(nodes);
+            Assert.assertTrue(result.isSuccessful());
+            Assert.assertEquals(50, result.getSuccessCount());
+            for (int i = 0; i < 50; i++) {
+                Assert.assertEquals("Player " + i, result.getResult(i).name);
+                Assert.assertEquals("good", result.getResult(i).checked.value);
+                Assert.assertEquals("rank", result.getResult(i).rank);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchBindReportsEachFailedNode() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        BatchResult<TestConf> result = factory.getMapper(TestConf.class).populateAll(createNodes(factory, 300));
+
+        Assert.assertFalse(result.isSuccessful());
+        Assert.assertEquals(3, result.getFailures().size());
+        Assert.assertEquals(297, result.getSuccessCount());
+        Assert.assertEquals(7, result.getFailures().get(0).getIndex());
+        Assert.assertEquals(107, result.getFailures().get(1).getIndex());
+        Assert.assertEquals(207, result.getFailures().get(2).getIndex());
+        Assert.assertNull(result.getResult(7));
+        Assert.assertEquals("Player 8", result.getResult(8).name);
+
+        try {
+            result.throwIfFailed();
+            Assert.fail("Expected an exception");
+        } catch (ObjectMappingException e) {
+            Assert.assertEquals(3, e.getSuppressed().length);
+        }
+    }
+
+    @Test
+    public void testBatchBindOnExecutorMatchesSequentialBind() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        NeutrinoObjectMapper<TestConf> mapper = factory.getMapper(TestConf.class);
+        BatchResult<TestConf> result = mapper.populateAll(createNodes(factory, 1000), r -> {
+            this.executed.incrementAndGet();
+            this.executorService.execute(r);
+        });
+
+        Assert.assertTrue(this.executed.get() > 0);
+        Assert.assertEquals(1000, result.getResults().size());
+        Assert.assertEquals(10, result.getFailures().size());
+        for (int i = 0; i < 1000; i++) {
+            if (i % 100 == 7) {
+                Assert.assertNull(result.getResult(i));
+                Assert.assertEquals(i, result.getFailures().get(i / 100).getIndex());
+            } else {
+                Assert.assertEquals("Player " + i, result.getResult(i).name);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchBindWhenExecutorRejectsWork() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        this.executorService.shutdown();
+        BatchResult<TestConf> result = factory.getMapper(TestConf.class).populateAll(createNodes(factory, 200), this.executorService);
+
+        Assert.assertEquals(198, result.getSuccessCount());
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting private String name;
+        @Setting private Checked checked;
+        @Setting @Default("rank") private String rank;
+    }
+
+    public static class Checked {
+
+        private final String value;
+
+        private Checked(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class CheckedSerialiser implements TypeSerializer<Checked> {
+
+        @Override
+        public Checked deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
+            if ("bad".equals(value.getString())) {
+                throw new ObjectMappingException("bad value");
+            }
+
+            return new Checked(value.getString());
+        }
+
+        @Override
+        public void serialize(TypeToken<?> type, Checked obj, ConfigurationNode value) {
+            value.setValue(obj.value);
+        }
+    }
+}
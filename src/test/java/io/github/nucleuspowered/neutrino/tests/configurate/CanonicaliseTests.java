@@ -0,0 +1,138 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.annotations.Canonicalise;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.objectmapper.ValuePool;
+import io.github.nucleuspowered.neutrino.typeserialisers.PatternTypeSerialiser;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollection;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class CanonicaliseTests {
+
+    private static final TypeSerializerCollection SERIALIZERS = TypeSerializers.getDefaultSerializers().newChild()
+            .registerType(TypeToken.of(Pattern.class), new PatternTypeSerialiser(0, null));
+
+    private ConfigurationNode createNode(NeutrinoObjectMapperFactory factory) {
+        ConfigurationNode node = SimpleConfigurationNode.root(ConfigurationOptions.defaults()
+                .setObjectMapperFactory(factory).setSerializers(SERIALIZERS));
+        // new String, so that each node has its own copy.
+        node.getNode("name").setValue(new String("region"));
+        node.getNode("plain").setValue(new String("plain"));
+        node.getNode("pattern").setValue(new String("[a-z]+"));
+        node.getNode("tags").setValue(Lists.newArrayList(new String("pvp"), new String("safe")));
+        return node;
+    }
+
+    @Test
+    public void testAnnotatedValuesAreShared() throws Exception {
+        ValuePool pool = new ValuePool();
+        for (boolean generated : new boolean[] { true, false }) {
+            NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder()
+                    .setUseGeneratedMappers(generated)
+                    .setValuePool(pool)
+                    .build(false);
+            TestConf first = factory.getMapper(TestConf.class).bindToNew().populate(createNode(factory));
+            TestConf second = factory.getMapper(TestConf.class).bindToNew().populate(createNode(factory));
+
+            Assert.assertEquals(second.name, first.name);
+            Assert.assertSame(first.name, second.name);
+            Assert.assertSame(first.pattern, second.pattern);
+            Assert.assertNotSame(first.tags, second.tags);
+            Assert.assertSame(first.tags.get(0), second.tags.get(0));
+            Assert.assertNotSame(first.plain, second.plain);
+        }
+
+        Assert.assertTrue(pool.getCanonicalisedCount() > 0);
+        Assert.assertTrue(pool.getEstimatedBytesSaved() > 0);
+    }
+
+    @Test
+    public void testEveryValueIsSharedWhenEnabledOnTheFactory() throws Exception {
+        ValuePool pool = new ValuePool();
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder()
+                .setCanonicaliseValues(true)
+                .setValuePool(pool)
+                .build(false);
+        TestConf first = factory.getMapper(TestConf.class).bindToNew().populate(createNode(factory));
+        TestConf second = factory.getMapper(TestConf.class).bindToNew().populate(createNode(factory));
+
+        Assert.assertSame(first.plain, second.plain);
+        Assert.assertSame(pool, factory.getValuePool());
+
+        // plain, name, pattern and the two tags
+        Assert.assertEquals(5, pool.getCanonicalisedCount());
+    }
+
+    @Test
+    public void testImmutableListsAreSharedInOrder() {
+        ValuePool pool = new ValuePool();
+        ImmutableList<String> first = ImmutableList.of("a", "b");
+
+        Assert.assertSame(first, pool.canonicalise(first));
+        Assert.assertSame(first, pool.canonicalise(ImmutableList.of("a", "b")));
+        Assert.assertEquals(ImmutableList.of("b", "a"), pool.canonicalise(ImmutableList.of("b", "a")));
+    }
+
+    @Test
+    public void testSetsKeepTheirOrder() {
+        ValuePool pool = new ValuePool();
+        pool.canonicalise(ImmutableSet.of("a", "b"));
+
+        ImmutableSet<String> reversed = ImmutableSet.of("b", "a");
+        Assert.assertEquals(ImmutableList.of("b", "a"), pool.canonicalise(reversed).asList());
+        Assert.assertEquals(0, pool.getCanonicalisedCount());
+    }
+
+    @Test
+    public void testSortedCollectionsKeepTheirType() {
+        ValuePool pool = new ValuePool();
+        pool.canonicalise(ImmutableSet.of("a", "b"));
+        pool.canonicalise(ImmutableMap.of("a", "b"));
+        pool.canonicalise(ImmutableList.of(ImmutableSet.of("a", "b")));
+
+        Assert.assertTrue(pool.canonicalise(ImmutableSortedSet.of("a", "b")) instanceof ImmutableSortedSet);
+
+        // A list of sets is not shared either, as the sets in it would not keep their order.
+        ImmutableList<ImmutableSet<String>> listOfSets = ImmutableList.of(ImmutableSet.of("b", "a"));
+        Assert.assertSame(listOfSets, pool.canonicalise(listOfSets));
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        @Canonicalise
+        String name;
+
+        @Setting
+        String plain;
+
+        @Setting
+        @Canonicalise
+        Pattern pattern;
+
+        @Setting
+        @Canonicalise
+        List<String> tags;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.annotations.DoNotGenerate;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.objectmapper.CompiledNeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.FieldAccessor;
+import io.github.nucleuspowered.neutrino.objectmapper.GeneratedMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.objectmapper.SettingDescriptor;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompiledMapperTests {
+
+    private final NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().setCompileMappers(true).build(false);
+
+    private CommentedConfigurationNode createNode() {
+        return SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(this.factory));
+    }
+
+    @Test
+    public void testCompiledMapperIsCreated() throws Exception {
+        Assert.assertTrue(this.factory.getMapper(TestConf.class) instanceof CompiledNeutrinoObjectMapper);
+    }
+
+    @Test
+    public void testCompiledMapperPopulates() throws Exception {
+        CommentedConfigurationNode ccn = createNode();
+        ccn.getNode("processed").setValue("ok");
+        ccn.getNode("nested", "value").setValue("nested");
+
+        TestConf sut = this.factory.getMapper(TestConf.class).bindToNew().populate(ccn);
+        Assert.assertEquals("transformed", sut.processed);
+        Assert.assertEquals("def", sut.def);
+        Assert.assertEquals("nested", sut.nested.value);
+    }
+
+    @Test
+    public void testCompiledMapperSerialises() throws Exception {
+        CommentedConfigurationNode ccn = createNode();
+
+        TestConf sut = new TestConf();
+        sut.processed = "ok";
+        this.factory.getMapper(TestConf.class).bind(sut).serialize(ccn);
+        Assert.assertEquals("transformed", ccn.getNode("processed").getString());
+        Assert.assertTrue(ccn.getNode("notGenerated").isVirtual());
+        Assert.assertEquals("inner", ccn.getNode("nested", "value").getString());
+    }
+
+    @Test
+    public void testMapperIsNotCompiledWhenTheBinderIsTooLarge() throws Exception {
+        NeutrinoObjectMapper<Big> mapper = this.factory.getMapper(Big.class);
+        Assert.assertFalse(mapper instanceof CompiledNeutrinoObjectMapper);
+
+        CommentedConfigurationNode ccn = createNode();
+        ccn.getNode("s0").setValue("first");
+        ccn.getNode("s" + (Big.SIZE - 1)).setValue("last");
+
+        Big sut = mapper.bindToNew().populate(ccn);
+        Assert.assertEquals("first", sut.values[0]);
+        Assert.assertEquals("last", sut.values[Big.SIZE - 1]);
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        @ProcessSetting(ProcessSettingTests.TestProcess.class)
+        private String processed;
+
+        @Setting
+        @Default("def")
+        private String def;
+
+        @Setting
+        @DoNotGenerate
+        private String notGenerated = "default";
+
+        @Setting
+        private Nested nested = new Nested();
+    }
+
+    @ConfigSerializable
+    public static class Nested {
+
+        @Setting
+        private String value = "inner";
+    }
+
+    // Too many settings for the generated binder to fit in the 64KiB method limit.
+    public static class Big {
+
+        private static final int SIZE = 4000;
+
+        private final String[] values = new String[SIZE];
+    }
+
+    public static class Big$$NeutrinoMapper implements GeneratedMapper<Big> {
+
+        @Override
+        public Class<Big> getType() {
+            return Big.class;
+        }
+
+        @Override
+        public Big newInstance() {
+            return new Big();
+        }
+
+        @Override
+        public List<SettingDescriptor> getSettings() {
+            List<SettingDescriptor> settings = new ArrayList<>();
+            for (int i = 0; i < Big.SIZE; i++) {
+                int index = i;
+                settings.add(SettingDescriptor.builder("s" + i, "", "s" + i, TypeToken.of(String.class),
+                        FieldAccessor.of(o -> ((Big) o).values[index], (o, v) -> ((Big) o).values[index] = (String) v)).build());
+            }
+
+            return settings;
+        }
+    }
+}
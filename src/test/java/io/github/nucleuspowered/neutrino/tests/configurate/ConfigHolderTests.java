@@ -0,0 +1,174 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.objectmapper.ConfigHolder;
+import io.github.nucleuspowered.neutrino.objectmapper.Lazy;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.objectmapper.SettingDescriptor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+public class ConfigHolderTests {
+
+    private final NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+
+    private ConfigurationNode createNode(String name, int size, String lazy) {
+        ConfigurationNode node = SimpleConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(this.factory)
+                .setSerializers(TypeSerializers.getDefaultSerializers().newChild().registerType(TypeToken.of(Checked.class), new CheckedSerialiser())));
+        node.getNode("name").setValue(name);
+        node.getNode("section", "size").setValue(size);
+        node.getNode("sections").getAppendedNode().getNode("size").setValue(1);
+        node.getNode("lazy").setValue(lazy);
+        return node;
+    }
+
+    @Test
+    public void testReloadPublishesANewObject() throws Exception {
+        ConfigHolder<TestConf> holder = this.factory.newConfigHolder(TestConf.class, createNode("first", 1, "a"));
+        TestConf first = holder.get();
+        Assert.assertEquals("first", first.name);
+
+        ConfigHolder.Change<TestConf> change = holder.reload(createNode("second", 1, "a"));
+        Assert.assertNotSame(first, holder.get());
+        Assert.assertSame(holder.get(), change.getCurrent());
+        Assert.assertSame(first, change.getPrevious());
+
+        // The old object is left as it was.
+        Assert.assertEquals("first", first.name);
+        Assert.assertEquals("second", holder.get().name);
+    }
+
+    @Test
+    public void testListenersGetTheChangedSettings() throws Exception {
+        ConfigHolder<TestConf> holder = this.factory.newConfigHolder(TestConf.class, createNode("first", 1, "a"));
+        AtomicReference<ConfigHolder.Change<TestConf>> received = new AtomicReference<>();
+        holder.addListener(received::set);
+
+        holder.reload(createNode("first", 1, "a"));
+        Assert.assertNull("Nothing changed, including the new section objects", received.get());
+
+        holder.reload(createNode("first", 2, "b"));
+        ConfigHolder.Change<TestConf> change = received.get();
+        Assert.assertNotNull(change);
+        Assert.assertEquals(Lists.newArrayList("section", "lazy"), paths(change.getChangedSettings()));
+        Assert.assertTrue(change.isChanged("section"));
+        Assert.assertFalse(change.isChanged("name"));
+        Assert.assertFalse("The lazy settings were compared by node", change.getPrevious().lazy.isLoaded());
+        Assert.assertFalse(change.getCurrent().lazy.isLoaded());
+    }
+
+    @Test
+    public void testLoadedLazyIsComparedByValue() throws Exception {
+        ConfigHolder<TestConf> holder = this.factory.newConfigHolder(TestConf.class, createNode("first", 1, "a"));
+        Assert.assertEquals("a", holder.get().lazy.get());
+
+        Assert.assertFalse(holder.reload(createNode("first", 1, "a")).hasChanges());
+
+        ConfigHolder.Change<TestConf> change = holder.reload(createNode("first", 1, "b"));
+        Assert.assertEquals(Lists.newArrayList("lazy"), paths(change.getChangedSettings()));
+    }
+
+    @Test
+    public void testFailedReloadKeepsTheCurrentObject() throws Exception {
+        ConfigHolder<TestConf> holder = this.factory.newConfigHolder(TestConf.class, createNode("first", 1, "a"));
+        TestConf first = holder.get();
+
+        ConfigurationNode node = createNode("second", 1, "a");
+        node.getNode("checked").setValue("bad");
+        try {
+            holder.reload(node);
+            Assert.fail("The reload should have failed");
+        } catch (ObjectMappingException e) {
+            // expected
+        }
+
+        Assert.assertSame(first, holder.get());
+    }
+
+    @Test
+    public void testReadersNeverSeeAPartialObject() throws Exception {
+        ConfigHolder<TestConf> holder = this.factory.newConfigHolder(TestConf.class, createNode("0", 0, "a"));
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                TestConf conf = holder.get();
+                if (!conf.name.equals(String.valueOf(conf.section.size))) {
+                    failure.set(conf.name + " != " + conf.section.size);
+                    return;
+                }
+            }
+        });
+
+        reader.start();
+        for (int i = 1; i <= 500; i++) {
+            holder.reload(createNode(String.valueOf(i), i, "a"));
+        }
+
+        reader.interrupt();
+        reader.join();
+        Assert.assertNull(failure.get());
+    }
+
+    private static List<String> paths(List<SettingDescriptor> settings) {
+        return settings.stream().map(SettingDescriptor::getPath).collect(Collectors.toList());
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting private String name;
+        @Setting private Section section = new Section();
+        @Setting private List<Section> sections = Lists.newArrayList();
+        @Setting private Lazy<String> lazy;
+        @Setting private Checked checked;
+    }
+
+    @ConfigSerializable
+    public static class Section {
+
+        @Setting private int size;
+    }
+
+    public static class Checked {
+
+        private final String value;
+
+        private Checked(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class CheckedSerialiser implements TypeSerializer<Checked> {
+
+        @Override
+        public Checked deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
+            if ("bad".equals(value.getString())) {
+                throw new ObjectMappingException("bad value");
+            }
+
+            return new Checked(value.getString());
+        }
+
+        @Override
+        public void serialize(TypeToken<?> type, Checked obj, ConfigurationNode value) {
+            value.setValue(obj.value);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.reload.ConfigReloadService;
+import io.github.nucleuspowered.neutrino.reload.WatchedConfig;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.loader.AbstractConfigurationLoader;
+import ninja.leaping.configurate.loader.CommentHandlers;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class ConfigReloadServiceTests {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+    private ConfigReloadService service;
+
+    @Before
+    public void start() throws IOException {
+        this.service = new ConfigReloadService(this.factory, 50, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void stop() throws IOException {
+        this.service.close();
+    }
+
+    private WatchedConfig<TestConf> watch(Path file) throws Exception {
+        return this.service.watch(file, source -> new KeyValueLoader.Builder().setSource(source).build(), TestConf.class);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testChangesArePublished() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("test.conf");
+        write(file, "value=first");
+        WatchedConfig<TestConf> config = watch(file);
+        Assert.assertEquals("first", config.get().value);
+
+        BlockingQueue<TestConf> reloaded = new LinkedBlockingQueue<>();
+        config.addListener(reloaded::add);
+
+        TestConf previous = config.get();
+        write(file, "value=second");
+        TestConf next = reloaded.poll(10, TimeUnit.SECONDS);
+        Assert.assertNotNull("The file was not reloaded", next);
+        Assert.assertEquals("second", next.value);
+        Assert.assertSame(next, config.get());
+        Assert.assertEquals("first", previous.value);
+    }
+
+    @Test
+    public void testBurstsAreCoalescedAndUnchangedContentIsSkipped() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("test.conf");
+        Path other = this.folder.getRoot().toPath().resolve("other.conf");
+        write(file, "value=first");
+        write(other, "value=other");
+        WatchedConfig<TestConf> config = watch(file);
+        WatchedConfig<TestConf> otherConfig = watch(other);
+
+        BlockingQueue<TestConf> reloaded = new LinkedBlockingQueue<>();
+        config.addListener(reloaded::add);
+        otherConfig.addListener(reloaded::add);
+
+        // Same content, then a burst of writes.
+        write(file, "value=first");
+        for (int i = 0; i < 10; i++) {
+            write(file, "value=" + i);
+        }
+
+        TestConf next = reloaded.poll(10, TimeUnit.SECONDS);
+        Assert.assertNotNull("The file was not reloaded", next);
+        Assert.assertEquals("9", next.value);
+        Assert.assertNull(reloaded.poll(500, TimeUnit.MILLISECONDS));
+        Assert.assertEquals("other", otherConfig.get().value);
+    }
+
+    @Test
+    public void testDirectoryIsWatchedUntilItsLastConfigIsClosed() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("test.conf");
+        Path other = this.folder.getRoot().toPath().resolve("other.conf");
+        write(file, "value=first");
+        write(other, "value=other");
+        WatchedConfig<TestConf> config = watch(file);
+        watch(other).close();
+
+        // The other config in the directory is still watched.
+        BlockingQueue<TestConf> reloaded = new LinkedBlockingQueue<>();
+        config.addListener(reloaded::add);
+        write(file, "value=second");
+        TestConf next = reloaded.poll(10, TimeUnit.SECONDS);
+        Assert.assertNotNull("The file was not reloaded", next);
+        Assert.assertEquals("second", next.value);
+
+        // Once the directory has been released, watching a file in it registers the directory again.
+        config.close();
+        WatchedConfig<TestConf> again = watch(file);
+        again.addListener(reloaded::add);
+        write(file, "value=third");
+        next = reloaded.poll(10, TimeUnit.SECONDS);
+        Assert.assertNotNull("The file was not reloaded", next);
+        Assert.assertEquals("third", next.value);
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        private String value;
+    }
+
+    // A minimal key=value loader, as there are no format loaders on the test classpath.
+    public static class KeyValueLoader extends AbstractConfigurationLoader<ConfigurationNode> {
+
+        public static final class Builder extends AbstractConfigurationLoader.Builder<Builder> {
+
+            @Override
+            public KeyValueLoader build() {
+                return new KeyValueLoader(this);
+            }
+        }
+
+        private KeyValueLoader(Builder builder) {
+            super(builder, CommentHandlers.values());
+        }
+
+        @Override
+        protected void loadInternal(ConfigurationNode node, BufferedReader reader) throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int index = line.indexOf('=');
+                if (index > 0) {
+                    node.getNode(line.substring(0, index)).setValue(line.substring(index + 1));
+                }
+            }
+        }
+
+        @Override
+        protected void saveInternal(ConfigurationNode node, Writer writer) throws IOException {
+            for (ConfigurationNode child : node.getChildrenMap().values()) {
+                writer.write(child.getKey() + "=" + child.getString() + System.lineSeparator());
+            }
+        }
+
+        @Override
+        public ConfigurationNode createEmptyNode(ConfigurationOptions options) {
+            return SimpleConfigurationNode.root(options);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class DefaultTests {
+
+    private final NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+
+    @Test
+    public void testImmutableDefaultsAreReused() throws Exception {
+        CommentedConfigurationNode ccn = SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(this.factory));
+        NeutrinoObjectMapper<TestConf> mapper = this.factory.getMapper(TestConf.class);
+
+        TestConf first = mapper.bindToNew().populate(ccn);
+        TestConf second = mapper.bindToNew().populate(ccn);
+        Assert.assertEquals("a+", first.pattern.pattern());
+        Assert.assertSame(first.pattern, second.pattern);
+        Assert.assertEquals("def", second.string);
+    }
+
+    @Test
+    public void testMutableDefaultsAreCopied() throws Exception {
+        CommentedConfigurationNode ccn = SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(this.factory));
+        NeutrinoObjectMapper<TestConf> mapper = this.factory.getMapper(TestConf.class);
+
+        TestConf first = mapper.bindToNew().populate(ccn);
+        first.list.add("changed");
+        TestConf second = mapper.bindToNew().populate(ccn);
+        Assert.assertNotSame(first.list, second.list);
+        Assert.assertEquals(Lists.newArrayList("value"), second.list);
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        @Default("def")
+        private String string;
+
+        @Setting
+        @Default("a+")
+        private Pattern pattern;
+
+        @Setting
+        @Default("value")
+        private List<String> list;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.settingprocessor.RemoveFirstSlashIfExistsSettingProcessor;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FlightRecorderEventTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        Path file = this.folder.newFile("events.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("neutrino.FieldDeserialise");
+            recording.enable("neutrino.FieldSerialise");
+            recording.enable("neutrino.SettingProcessor");
+            recording.enable("neutrino.MapperConstruction");
+            recording.enable("neutrino.DefaultFallback");
+            recording.start();
+
+            CommentedConfigurationNode node =
+                    SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(factory));
+            node.getNode("processed").setValue(Collections.singletonList("/value"));
+            TestConf conf = factory.getMapper(TestConf.class).bindToNew().populate(node);
+            Assert.assertEquals(Collections.singletonList("value"), conf.processed);
+            Assert.assertEquals("default", conf.defaulted);
+            factory.getMapper(TestConf.class).bind(conf).serialize(node);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent construction = single(events, "neutrino.MapperConstruction");
+        Assert.assertEquals(TestConf.class.getName(), construction.getClass("mappedClass").getName());
+        Assert.assertEquals(2, construction.getInt("fieldCount"));
+
+        Assert.assertEquals(2, named(events, "neutrino.FieldDeserialise").size());
+        Assert.assertEquals(2, named(events, "neutrino.FieldSerialise").size());
+
+        List<RecordedEvent> processors = named(events, "neutrino.SettingProcessor");
+        Assert.assertEquals(2, processors.size());
+        Assert.assertEquals("processed", processors.get(0).getString("path"));
+        Assert.assertEquals(RemoveFirstSlashIfExistsSettingProcessor.class.getName(),
+                processors.get(0).getClass("processor").getName());
+
+        RecordedEvent fallback = single(events, "neutrino.DefaultFallback");
+        Assert.assertEquals("defaulted", fallback.getString("path"));
+        Assert.assertEquals("default", fallback.getString("defaultValue"));
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(x -> x.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> named = named(events, name);
+        Assert.assertEquals(1, named.size());
+        return named.get(0);
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        @ProcessSetting(RemoveFirstSlashIfExistsSettingProcessor.class)
+        private List<String> processed;
+
+        @Setting
+        @Default("default")
+        private String defaulted;
+    }
+}
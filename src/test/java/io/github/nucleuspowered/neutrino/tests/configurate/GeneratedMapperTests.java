@@ -0,0 +1,120 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.annotations.DoNotGenerate;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.annotations.RequiresProperty;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.settingprocessor.LowercaseListSettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.RemoveFirstSlashIfExistsSettingProcessor;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class GeneratedMapperTests {
+
+    private final NeutrinoObjectMapperFactory generated = NeutrinoObjectMapperFactory.builder().build(false);
+    private final NeutrinoObjectMapperFactory reflective = NeutrinoObjectMapperFactory.builder().setUseGeneratedMappers(false).build(false);
+
+    private CommentedConfigurationNode createNode(NeutrinoObjectMapperFactory factory) throws Exception {
+        CommentedConfigurationNode ccn = SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(factory));
+        ccn.getNode("name").setValue("Name");
+        ccn.getNode("count").setValue(4);
+        ccn.getNode("commands").setValue(new TypeToken<List<String>>() {}, Lists.newArrayList("/Home", "Spawn Point"));
+        ccn.getNode("notGenerated").setValue("changed");
+        ccn.getNode("requires").setValue("changed");
+        ccn.getNode("nested", "value").setValue("nested");
+        return ccn;
+    }
+
+    @Test
+    public void testGeneratedMapperIsUsed() throws Exception {
+        Assert.assertTrue(this.generated.getMapper(TestConf.class).isGenerated());
+        Assert.assertTrue(this.generated.getMapper(Nested.class).isGenerated());
+        Assert.assertFalse(this.reflective.getMapper(TestConf.class).isGenerated());
+    }
+
+    @Test
+    public void testGeneratedAndReflectivePopulateTheSame() throws Exception {
+        TestConf gen = this.generated.getMapper(TestConf.class).bindToNew().populate(createNode(this.generated));
+        TestConf ref = this.reflective.getMapper(TestConf.class).bindToNew().populate(createNode(this.reflective));
+
+        Assert.assertEquals("Name", gen.name);
+        Assert.assertEquals(ref.name, gen.name);
+        Assert.assertEquals(4, gen.count);
+        Assert.assertEquals(ref.count, gen.count);
+        Assert.assertEquals(Lists.newArrayList("home", "spawn_point"), gen.commands);
+        Assert.assertEquals(ref.commands, gen.commands);
+        Assert.assertEquals("def", gen.defaulted);
+        Assert.assertEquals(ref.defaulted, gen.defaulted);
+        Assert.assertEquals("changed", gen.notGenerated);
+        Assert.assertEquals(ref.notGenerated, gen.notGenerated);
+        Assert.assertEquals("unchanged", gen.requires);
+        Assert.assertEquals(ref.requires, gen.requires);
+        Assert.assertEquals("nested", gen.nested.value);
+        Assert.assertEquals(ref.nested.value, gen.nested.value);
+    }
+
+    @Test
+    public void testGeneratedAndReflectiveSerialiseTheSame() throws Exception {
+        CommentedConfigurationNode gen = SimpleCommentedConfigurationNode.root(
+                ConfigurationOptions.defaults().setObjectMapperFactory(this.generated));
+        CommentedConfigurationNode ref = SimpleCommentedConfigurationNode.root(
+                ConfigurationOptions.defaults().setObjectMapperFactory(this.reflective));
+
+        this.generated.getMapper(TestConf.class).bind(new TestConf()).serialize(gen);
+        this.reflective.getMapper(TestConf.class).bind(new TestConf()).serialize(ref);
+
+        Assert.assertEquals(ref.getValue(), gen.getValue());
+        Assert.assertEquals(ref.getNode("name").getComment(), gen.getNode("name").getComment());
+        Assert.assertTrue(gen.getNode("notGenerated").isVirtual());
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting(comment = "The name")
+        String name = "default";
+
+        @Setting
+        int count = 1;
+
+        @Setting
+        @ProcessSetting({LowercaseListSettingProcessor.class, RemoveFirstSlashIfExistsSettingProcessor.class})
+        List<String> commands = Lists.newArrayList();
+
+        @Setting
+        @Default("def")
+        String defaulted;
+
+        @Setting
+        @DoNotGenerate
+        String notGenerated = "default";
+
+        @Setting
+        @RequiresProperty("neutrino.generated.never.set")
+        String requires = "unchanged";
+
+        @Setting
+        Nested nested = new Nested();
+    }
+
+    @ConfigSerializable
+    public static class Nested {
+
+        @Setting
+        String value = "inner";
+    }
+}
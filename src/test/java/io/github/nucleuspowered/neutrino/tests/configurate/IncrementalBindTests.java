@@ -0,0 +1,113 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IncrementalBindTests {
+
+    private static final AtomicInteger processed = new AtomicInteger();
+
+    private final NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+
+    private CommentedConfigurationNode createNode() {
+        CommentedConfigurationNode ccn =
+                SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(this.factory));
+        ccn.getNode("processed").setValue("value");
+        ccn.getNode("plain").setValue("plain");
+        ccn.getNode("nested", "first").setValue("first");
+        ccn.getNode("nested", "second").setValue("second");
+        return ccn;
+    }
+
+    @Test
+    public void testOnlyChangedSettingsAreDeserialised() throws Exception {
+        NeutrinoObjectMapper<TestConf> mapper = this.factory.getMapper(TestConf.class);
+        NeutrinoObjectMapper<TestConf>.IncrementalBoundInstance bound = mapper.bindToNewIncremental();
+
+        processed.set(0);
+        Assert.assertEquals(ImmutableSet.of("processed", "plain", "nested"), bound.populateChanged(createNode()));
+        Assert.assertEquals(1, processed.get());
+
+        // A fresh load of the same data.
+        Assert.assertTrue(bound.populateChanged(createNode()).isEmpty());
+        Assert.assertEquals(1, processed.get());
+
+        CommentedConfigurationNode changed = createNode();
+        changed.getNode("nested", "second").setValue("changed");
+        changed.getNode("plain").setComment("Comments are not part of the fingerprint");
+        Assert.assertEquals(ImmutableSet.of("nested"), bound.populateChanged(changed));
+        Assert.assertEquals("changed", bound.getInstance().nested.second);
+        Assert.assertEquals(1, processed.get());
+
+        // populate always deserialises everything.
+        bound.populate(changed);
+        Assert.assertEquals(2, processed.get());
+    }
+
+    @Test
+    public void testMapOrderDoesNotMatter() throws Exception {
+        NeutrinoObjectMapper<TestConf>.IncrementalBoundInstance bound = this.factory.getMapper(TestConf.class).bindToNewIncremental();
+        bound.populate(createNode());
+
+        CommentedConfigurationNode reordered =
+                SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(this.factory));
+        reordered.getNode("nested", "second").setValue("second");
+        reordered.getNode("nested", "first").setValue("first");
+        reordered.getNode("plain").setValue("plain");
+        reordered.getNode("processed").setValue("value");
+        Assert.assertTrue(bound.populateChanged(reordered).isEmpty());
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        @ProcessSetting(CountingProcessor.class)
+        private String processed;
+
+        @Setting
+        private String plain;
+
+        @Setting
+        private Nested nested;
+    }
+
+    @ConfigSerializable
+    public static class Nested {
+
+        @Setting
+        private String first;
+
+        @Setting
+        private String second;
+    }
+
+    public static class CountingProcessor implements SettingProcessor {
+
+        @Override
+        public void onGet(ConfigurationNode input) {
+            processed.incrementAndGet();
+        }
+
+        @Override
+        public void process(ConfigurationNode cn) {
+        }
+    }
+}
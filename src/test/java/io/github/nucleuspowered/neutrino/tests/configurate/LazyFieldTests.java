@@ -0,0 +1,168 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.objectmapper.Lazy;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.settingprocessor.LowercaseListSettingProcessor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollection;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LazyFieldTests {
+
+    private static final AtomicInteger DESERIALISED = new AtomicInteger();
+
+    private static final TypeSerializerCollection SERIALIZERS = TypeSerializers.getDefaultSerializers().newChild()
+            .registerType(TypeToken.of(Counted.class), new CountedSerialiser());
+
+    private ConfigurationNode createNode(NeutrinoObjectMapperFactory factory) {
+        ConfigurationNode node = SimpleConfigurationNode.root(ConfigurationOptions.defaults()
+                .setObjectMapperFactory(factory).setSerializers(SERIALIZERS));
+        node.getNode("counted").setValue("value");
+        node.getNode("names").setValue(Lists.newArrayList("Spawn Area", "PvP"));
+        return node;
+    }
+
+    @Test
+    public void testValueIsOnlyDeserialisedOnFirstAccess() throws Exception {
+        for (boolean generated : new boolean[] { true, false }) {
+            NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().setUseGeneratedMappers(generated).build(false);
+            DESERIALISED.set(0);
+            TestConf conf = factory.getMapper(TestConf.class).bindToNew().populate(createNode(factory));
+
+            Assert.assertFalse(conf.counted.isLoaded());
+            Assert.assertEquals(0, DESERIALISED.get());
+
+            Assert.assertEquals("value", conf.counted.get().value);
+            Assert.assertTrue(conf.counted.isLoaded());
+            Assert.assertSame(conf.counted.get(), conf.counted.get());
+            Assert.assertEquals(1, DESERIALISED.get());
+        }
+    }
+
+    @Test
+    public void testProcessorsAndDefaultsRunOnFirstAccess() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        TestConf conf = factory.getMapper(TestConf.class).bindToNew().populate(createNode(factory));
+
+        Assert.assertEquals(Lists.newArrayList("spawn_area", "pvp"), conf.names.get());
+        Assert.assertEquals("fallback", conf.missing.get());
+        Assert.assertNull(conf.absent.get());
+    }
+
+    @Test
+    public void testUnloadedValueIsSavedAsItWasRead() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        DESERIALISED.set(0);
+        TestConf conf = factory.getMapper(TestConf.class).bindToNew().populate(createNode(factory));
+
+        ConfigurationNode saved = SimpleConfigurationNode.root(ConfigurationOptions.defaults()
+                .setObjectMapperFactory(factory).setSerializers(SERIALIZERS));
+        factory.getMapper(TestConf.class).bind(conf).serialize(saved);
+
+        Assert.assertEquals(0, DESERIALISED.get());
+        Assert.assertEquals("value", saved.getNode("counted").getString());
+        Assert.assertEquals(Lists.newArrayList("Spawn Area", "PvP"), saved.getNode("names").getList(Object::toString));
+
+        conf.names.get();
+        conf.counted.set(new Counted("changed"));
+        factory.getMapper(TestConf.class).bind(conf).serialize(saved);
+
+        Assert.assertEquals("changed", saved.getNode("counted").getString());
+        Assert.assertEquals(Lists.newArrayList("spawn_area", "pvp"), saved.getNode("names").getList(Object::toString));
+    }
+
+    @Test
+    public void testConcurrentAccessDeserialisesOnce() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        DESERIALISED.set(0);
+        TestConf conf = factory.getMapper(TestConf.class).bindToNew().populate(createNode(factory));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = Lists.newArrayList();
+        List<Counted> results = Lists.newCopyOnWriteArrayList();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    results.add(conf.counted.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(8, results.size());
+        Assert.assertEquals(1, DESERIALISED.get());
+        for (Counted result : results) {
+            Assert.assertSame(results.get(0), result);
+        }
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        Lazy<Counted> counted;
+
+        @Setting
+        @ProcessSetting(LowercaseListSettingProcessor.class)
+        Lazy<List<String>> names;
+
+        @Setting
+        @Default("fallback")
+        Lazy<String> missing;
+
+        @Setting
+        Lazy<Counted> absent;
+    }
+
+    public static class Counted {
+
+        final String value;
+
+        Counted(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class CountedSerialiser implements TypeSerializer<Counted> {
+
+        @Override
+        public Counted deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
+            DESERIALISED.incrementAndGet();
+            return new Counted(value.getString());
+        }
+
+        @Override
+        public void serialize(TypeToken<?> type, Counted obj, ConfigurationNode value) throws ObjectMappingException {
+            value.setValue(obj.value);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import io.github.nucleuspowered.neutrino.objectmapper.MapperCacheStatistics;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class MapperCacheStatisticsTests {
+
+    @Test
+    public void testHitsMissesAndBuildTimesAreRecorded() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        factory.getMapper(First.class);
+        factory.getMapper(First.class);
+
+        MapperCacheStatistics statistics = factory.getMapperCacheStatistics();
+        Assert.assertEquals(1, statistics.getMissCount());
+        Assert.assertEquals(1, statistics.getHitCount());
+        Assert.assertEquals(1, statistics.getSize());
+
+        MapperCacheStatistics.BuildTime buildTime = statistics.getBuildTime(First.class);
+        Assert.assertNotNull(buildTime);
+        Assert.assertEquals(1, buildTime.getCount());
+        Assert.assertTrue(buildTime.getTotalNanos() > 0);
+        Assert.assertNull(statistics.getBuildTime(Second.class));
+    }
+
+    @Test
+    public void testEvictionsAreRecorded() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().setMapperCacheSize(1).build(false);
+        factory.getMapper(First.class);
+        factory.getMapper(Second.class);
+        factory.getMapper(First.class);
+
+        MapperCacheStatistics statistics = factory.getMapperCacheStatistics();
+        Assert.assertEquals(3, statistics.getMissCount());
+        Assert.assertEquals(2, statistics.getEvictionCount());
+        Assert.assertEquals(1, statistics.getSize());
+        Assert.assertEquals(2, statistics.getBuildTime(First.class).getCount());
+    }
+
+    @Test
+    public void testStatisticsCanBeReadOverJmx() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        ObjectName name = factory.registerMBean("MapperCacheStatisticsTests");
+        try {
+            factory.getMapper(First.class);
+            factory.getMapper(First.class);
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Assert.assertEquals(1L, server.getAttribute(name, "HitCount"));
+            Assert.assertEquals(1L, server.getAttribute(name, "MissCount"));
+            Assert.assertEquals(1L, server.getAttribute(name, "Size"));
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    @ConfigSerializable
+    public static class First {
+
+        @Setting
+        private String value;
+    }
+
+    @ConfigSerializable
+    public static class Second {
+
+        @Setting
+        private int value;
+    }
+}
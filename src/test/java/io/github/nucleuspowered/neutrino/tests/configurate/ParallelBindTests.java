@@ -0,0 +1,146 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelBindTests {
+
+    private final AtomicInteger executed = new AtomicInteger();
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdown() {
+        this.executorService.shutdownNow();
+    }
+
+    private NeutrinoObjectMapperFactory createFactory(boolean compileMappers) {
+        return NeutrinoObjectMapperFactory.builder()
+                .setCompileMappers(compileMappers)
+                .setParallelBindExecutor(r -> {
+                    this.executed.incrementAndGet();
+                    this.executorService.execute(r);
+                })
+                .setParallelBindThreshold(3)
+                .build(false);
+    }
+
+    private CommentedConfigurationNode createNode(NeutrinoObjectMapperFactory factory) {
+        return SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults()
+                .setObjectMapperFactory(factory)
+                .setSerializers(TypeSerializers.getDefaultSerializers().newChild().registerType(TypeToken.of(Failing.class), new FailingSerialiser())));
+    }
+
+    @Test
+    public void testParallelBindPopulatesSections() throws Exception {
+        testParallelBindPopulatesSections(false);
+    }
+
+    @Test
+    public void testCompiledParallelBindPopulatesSections() throws Exception {
+        testParallelBindPopulatesSections(true);
+    }
+
+    private void testParallelBindPopulatesSections(boolean compileMappers) throws Exception {
+        NeutrinoObjectMapperFactory factory = createFactory(compileMappers);
+        CommentedConfigurationNode ccn = createNode(factory);
+        ccn.getNode("a", "value").setValue("a");
+        ccn.getNode("b", "value").setValue("b");
+        ccn.getNode("d", "value").setValue("d");
+
+        TestConf sut = factory.getMapper(TestConf.class).bindToNew().populate(ccn);
+        Assert.assertEquals("a", sut.a.value);
+        Assert.assertEquals("b", sut.b.value);
+        Assert.assertEquals("inner", sut.c.value);
+        Assert.assertEquals("d", sut.d.value);
+        Assert.assertTrue(this.executed.get() > 0);
+
+        // The missing section is written back, as in a sequential bind.
+        Assert.assertEquals("inner", ccn.getNode("c", "value").getString());
+    }
+
+    @Test
+    public void testParallelBindReportsErrorsInFieldOrder() throws Exception {
+        NeutrinoObjectMapperFactory factory = createFactory(false);
+        CommentedConfigurationNode ccn = createNode(factory);
+        ccn.getNode("first").setValue("x");
+        ccn.getNode("second").setValue("y");
+        ccn.getNode("third").setValue("z");
+        ccn.getNode("ok", "value").setValue("ok");
+
+        for (int i = 0; i < 20; i++) {
+            FailingConf sut = new FailingConf();
+            try {
+                factory.getMapper(FailingConf.class).bind(sut).populate(ccn);
+                Assert.fail("Expected an exception");
+            } catch (ObjectMappingException e) {
+                Assert.assertEquals("first", e.getMessage());
+                Assert.assertEquals(2, e.getSuppressed().length);
+                Assert.assertEquals("second", e.getSuppressed()[0].getMessage());
+                Assert.assertEquals("third", e.getSuppressed()[1].getMessage());
+            }
+
+            // Every setting is attempted.
+            Assert.assertEquals("ok", sut.ok.value);
+        }
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting private Section a = new Section();
+        @Setting private Section b = new Section();
+        @Setting private Section c = new Section();
+        @Setting private Section d = new Section();
+    }
+
+    @ConfigSerializable
+    public static class FailingConf {
+
+        @Setting private Failing first;
+        @Setting private Section ok = new Section();
+        @Setting private Failing second;
+        @Setting private Failing third;
+    }
+
+    @ConfigSerializable
+    public static class Section {
+
+        @Setting
+        private String value = "inner";
+    }
+
+    public static class Failing {
+    }
+
+    public static class FailingSerialiser implements TypeSerializer<Failing> {
+
+        @Override
+        public Failing deserialize(TypeToken<?> type, ConfigurationNode value) throws ObjectMappingException {
+            throw new ObjectMappingException(String.valueOf(value.getKey()));
+        }
+
+        @Override
+        public void serialize(TypeToken<?> type, Failing obj, ConfigurationNode value) {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.objectmapper.PreloadReport;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import io.github.nucleuspowered.neutrino.util.ClassConstructor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class PreloadTests {
+
+    @Test
+    public void testNestedTypesArePreloaded() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        PreloadReport report = factory.preload(ImmutableList.of(Root.class));
+
+        Assert.assertTrue(report.toString(), report.isSuccessful());
+        Assert.assertEquals(ImmutableSet.of(Root.class, Nested.class, Deep.class), report.getPreloaded());
+        Assert.assertEquals(3, factory.getMapperCacheStatistics().getMissCount());
+
+        factory.getMapper(Nested.class);
+        Assert.assertEquals(3, factory.getMapperCacheStatistics().getMissCount());
+    }
+
+    @Test
+    public void testFailuresAreReported() {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder()
+                .setSettingProcessorClassConstructor(new FailingConstructor())
+                .build(false);
+        PreloadReport report = factory.preload(ImmutableList.of(Root.class, Processed.class));
+
+        Assert.assertEquals(ImmutableSet.of(Root.class, Nested.class, Deep.class, Processed.class), report.getPreloaded());
+        Assert.assertEquals(1, report.getFailures().size());
+        PreloadReport.Failure failure = report.getFailures().get(0);
+        Assert.assertEquals(Processed.class.getName(), failure.getClassName());
+        Assert.assertTrue(failure.getCause() instanceof IllegalStateException);
+
+        try {
+            report.throwIfFailed();
+            Assert.fail("Expected an exception");
+        } catch (ObjectMappingException e) {
+            Assert.assertEquals(1, e.getSuppressed().length);
+        }
+    }
+
+    @Test
+    public void testPackagesArePreloaded() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        PreloadReport report = factory.preloadPackage(PreloadTests.class.getPackage().getName(), PreloadTests.class.getClassLoader());
+
+        Assert.assertTrue(report.getPreloaded().containsAll(ImmutableSet.of(Root.class, Nested.class, Deep.class, Processed.class)));
+    }
+
+    @ConfigSerializable
+    public static class Root {
+
+        @Setting
+        private String name;
+
+        @Setting
+        private List<Nested> nested;
+    }
+
+    @ConfigSerializable
+    public static class Nested {
+
+        @Setting
+        private Map<String, Deep[]> deep;
+    }
+
+    @ConfigSerializable
+    public static class Deep {
+
+        @Setting
+        private int value;
+    }
+
+    @ConfigSerializable
+    public static class Processed {
+
+        @Setting
+        @ProcessSetting(UnconstructableProcessor.class)
+        private String value;
+    }
+
+    public static class UnconstructableProcessor implements SettingProcessor {
+
+        @Override
+        public void process(ConfigurationNode cn) {
+        }
+    }
+
+    private static class FailingConstructor implements ClassConstructor<SettingProcessor> {
+
+        @Override
+        public <T extends SettingProcessor> T construct(Class<T> clazz) throws Throwable {
+            if (clazz == UnconstructableProcessor.class) {
+                throw new IllegalStateException("Cannot construct " + clazz.getName());
+            }
+
+            return clazz.newInstance();
+        }
+    }
+}
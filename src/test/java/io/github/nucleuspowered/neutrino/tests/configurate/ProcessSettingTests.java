@@ -4,8 +4,12 @@
  */
 package io.github.nucleuspowered.neutrino.tests.configurate;
 
+import com.google.common.collect.Lists;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.settingprocessor.FusedElementSettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.LowercaseListSettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.RemoveFirstSlashIfExistsSettingProcessor;
 import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.objectmapping.ObjectMappingException;
@@ -15,6 +19,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.List;
 
 public class ProcessSettingTests {
 
@@ -43,6 +48,49 @@ public class ProcessSettingTests {
         Assert.assertEquals("test", cn.getNode("test2").getString());
     }
 
+    @Test
+    public void testChainedElementProcessorsAreFused() throws ObjectMappingException, IOException {
+        ConfigurationNode cn = TestConfigurationLoader.builder().build().load();
+        cn.getNode("commands").setValue(Lists.newArrayList("/Some Command", "/other", "plain"));
+
+        ElementConfig ec = cn.getValue(TypeToken.of(ElementConfig.class));
+        Assert.assertEquals(Lists.newArrayList("some_command", "other", "plain"), ec.commands);
+
+        List<SettingProcessor> fused = FusedElementSettingProcessor.fuse(Lists.newArrayList(new LowercaseListSettingProcessor(),
+                new TestProcess(), new RemoveFirstSlashIfExistsSettingProcessor(), new LowercaseListSettingProcessor()));
+        Assert.assertEquals(3, fused.size());
+        Assert.assertTrue(fused.get(0) instanceof LowercaseListSettingProcessor);
+        Assert.assertTrue(fused.get(1) instanceof TestProcess);
+        Assert.assertEquals(2, ((FusedElementSettingProcessor) fused.get(2)).getProcessors().size());
+    }
+
+    @Test
+    public void testUnchangedElementsAreNotRewritten() throws ObjectMappingException {
+        ConfigurationNode cn = TestConfigurationLoader.builder().build().createEmptyNode();
+        String unchanged = "unchanged";
+        cn.getAppendedNode().setValue(unchanged);
+        cn.getAppendedNode().setValue(5);
+        cn.getAppendedNode().setValue("Changed");
+
+        new LowercaseListSettingProcessor().onGet(cn);
+        Assert.assertSame(unchanged, cn.getNode(0).getValue());
+        Assert.assertEquals(5, cn.getNode(1).getValue());
+        Assert.assertEquals("changed", cn.getNode(2).getValue());
+
+        // A single value stays a single value.
+        ConfigurationNode scalar = TestConfigurationLoader.builder().build().createEmptyNode().setValue("/command");
+        new RemoveFirstSlashIfExistsSettingProcessor().onGet(scalar);
+        Assert.assertEquals("command", scalar.getValue());
+    }
+
+    @ConfigSerializable
+    public static class ElementConfig {
+
+        @Setting
+        @ProcessSetting({LowercaseListSettingProcessor.class, RemoveFirstSlashIfExistsSettingProcessor.class})
+        private List<String> commands;
+    }
+
     @ConfigSerializable
     public static class TestConfig {
 
@@ -6,7 +6,9 @@ package io.github.nucleuspowered.neutrino.tests.configurate;
 
 import io.github.nucleuspowered.neutrino.annotations.Default;
 import io.github.nucleuspowered.neutrino.annotations.RequiresProperty;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
 import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.objectmapper.PropertyConditions;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
 import ninja.leaping.configurate.objectmapping.Setting;
@@ -71,6 +73,71 @@ public class RequiresPropertyTests {
         Assert.assertEquals("ok", ccn.getNode("regex").getString());
     }
 
+    @Test
+    public void testConditionsCanBeRefreshed() throws Exception {
+        System.clearProperty("neutrino.refresh");
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        NeutrinoObjectMapper<RefreshConf> mapper = factory.getMapper(RefreshConf.class);
+        CommentedConfigurationNode ccn = SimpleCommentedConfigurationNode.root();
+        ccn.getNode("value").setValue("ok");
+        ccn.getNode("def").setValue("ok");
+
+        RefreshConf sut = mapper.bindToNew().populate(ccn);
+        Assert.assertEquals("not", sut.value);
+        Assert.assertEquals("def", sut.def);
+
+        try {
+            System.setProperty("neutrino.refresh", "on");
+            sut = mapper.bindToNew().populate(ccn);
+            Assert.assertEquals("not", sut.value);
+
+            factory.refreshPropertyConditions();
+            Assert.assertSame(mapper, factory.getMapper(RefreshConf.class));
+            sut = mapper.bindToNew().populate(ccn);
+            Assert.assertEquals("ok", sut.value);
+            Assert.assertEquals("ok", sut.def);
+        } finally {
+            System.clearProperty("neutrino.refresh");
+            factory.refreshPropertyConditions();
+        }
+
+        sut = mapper.bindToNew().populate(ccn);
+        Assert.assertEquals("not", sut.value);
+    }
+
+    @Test
+    public void testNewMappersReadTheCurrentProperty() throws Exception {
+        System.clearProperty("neutrino.refresh");
+        NeutrinoObjectMapper<RefreshConf> existing = NeutrinoObjectMapperFactory.builder().build(false).getMapper(RefreshConf.class);
+        CommentedConfigurationNode ccn = SimpleCommentedConfigurationNode.root();
+        ccn.getNode("value").setValue("ok");
+
+        try {
+            System.setProperty("neutrino.refresh", "on");
+            NeutrinoObjectMapper<RefreshConf> created = NeutrinoObjectMapperFactory.builder().build(false).getMapper(RefreshConf.class);
+            Assert.assertEquals("ok", created.bindToNew().populate(ccn).value);
+
+            // The existing mapper keeps its result until the conditions are refreshed.
+            Assert.assertEquals("not", existing.bindToNew().populate(ccn).value);
+        } finally {
+            System.clearProperty("neutrino.refresh");
+            PropertyConditions.refresh();
+        }
+    }
+
+    @ConfigSerializable
+    public static class RefreshConf {
+
+        @RequiresProperty("neutrino.refresh")
+        @Setting("value")
+        private String value = "not";
+
+        @RequiresProperty(value = "neutrino.refresh", matchedName = "on|yes")
+        @Default("def")
+        @Setting("def")
+        private String def = "not";
+    }
+
     @ConfigSerializable
     public static class TestConf {
 
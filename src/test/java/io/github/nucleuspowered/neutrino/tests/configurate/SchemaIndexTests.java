@@ -0,0 +1,159 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.objectmapper.SchemaIndex;
+import io.github.nucleuspowered.neutrino.settingprocessor.LowercaseListSettingProcessor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollection;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class SchemaIndexTests {
+
+    private final NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+
+    private ConfigurationNode createNode(TypeSerializerCollection serializers) {
+        ConfigurationNode node = SimpleConfigurationNode.root(ConfigurationOptions.defaults()
+                .setObjectMapperFactory(this.factory).setSerializers(serializers));
+        node.getNode("name").setValue("root");
+        node.getNode("section", "value").setValue(5);
+        node.getNode("section", "aliases").setValue(Lists.newArrayList("Spawn Area"));
+        node.getNode("section", "inner", "deep").setValue("deep");
+        ConfigurationNode element = node.getNode("sections").getAppendedNode();
+        element.getNode("value").setValue(7);
+        element.getNode("inner", "root", "name").setValue("nested");
+        return node;
+    }
+
+    @Test
+    public void testIndexListsEveryKey() throws Exception {
+        SchemaIndex<Root> index = this.factory.getSchemaIndex(Root.class);
+
+        Assert.assertEquals(Lists.newArrayList("name", "section", "section.value", "section.aliases", "section.inner",
+                "section.inner.deep", "section.inner.root", "missing", "missing.value", "missing.aliases", "missing.inner",
+                "missing.inner.deep", "missing.inner.root", "sections"), index.getPaths());
+        Assert.assertTrue(index.get("section", "inner").isSection());
+        Assert.assertEquals(2, index.get("section", "inner", "deep").getDepth());
+        Assert.assertEquals(Inner.class, index.get("section", "inner", "deep").getDeclaringType());
+        Assert.assertFalse(index.get("sections").isSection());
+        Assert.assertFalse(index.get("section", "inner", "root").isSection());
+        Assert.assertNull(index.get("section", "nothing"));
+        Assert.assertSame(index, this.factory.getSchemaIndex(Root.class));
+    }
+
+    @Test
+    public void testIndexBindMatchesMapperBind() throws Exception {
+        ConfigurationNode forIndex = createNode(TypeSerializers.getDefaultSerializers());
+        ConfigurationNode forMapper = createNode(TypeSerializers.getDefaultSerializers());
+
+        Root fromIndex = this.factory.getSchemaIndex(Root.class).populate(forIndex);
+        Root fromMapper = this.factory.getMapper(Root.class).bindToNew().populate(forMapper);
+
+        assertSame(fromMapper, fromIndex);
+        Assert.assertEquals("root", fromIndex.name);
+        Assert.assertEquals(5, fromIndex.section.value);
+        Assert.assertEquals(Lists.newArrayList("spawn_area"), fromIndex.section.aliases);
+        Assert.assertEquals("deep", fromIndex.section.inner.deep);
+        Assert.assertEquals(7, fromIndex.sections.get(0).value);
+
+        // A section that is in the node gets its defaults, but a missing one keeps the object it was initialised with.
+        Assert.assertEquals("default", fromIndex.sections.get(0).inner.deep);
+        Assert.assertEquals("nested", fromIndex.sections.get(0).inner.root.name);
+        Assert.assertNull(fromIndex.missing.inner.deep);
+
+        // Missing sections and defaults are written back in the same way.
+        Assert.assertEquals(forMapper.getValue(), forIndex.getValue());
+    }
+
+    @Test
+    public void testSectionWithItsOwnSerializerIsNotFlattened() throws Exception {
+        TypeSerializerCollection serializers = TypeSerializers.getDefaultSerializers().newChild()
+                .registerType(TypeToken.of(Inner.class), new InnerSerialiser());
+
+        Root fromIndex = this.factory.getSchemaIndex(Root.class).populate(createNode(serializers));
+        Assert.assertEquals("custom", fromIndex.section.inner.deep);
+        Assert.assertEquals(5, fromIndex.section.value);
+
+        // And the index goes back to flattening with the standard serializers.
+        Root flattened = this.factory.getSchemaIndex(Root.class).populate(createNode(TypeSerializers.getDefaultSerializers()));
+        Assert.assertEquals("deep", flattened.section.inner.deep);
+    }
+
+    private static void assertSame(Root expected, Root actual) {
+        Assert.assertEquals(expected.name, actual.name);
+        assertSame(expected.section, actual.section);
+        assertSame(expected.missing, actual.missing);
+        Assert.assertEquals(expected.sections.size(), actual.sections.size());
+        for (int i = 0; i < expected.sections.size(); i++) {
+            assertSame(expected.sections.get(i), actual.sections.get(i));
+        }
+    }
+
+    private static void assertSame(Section expected, Section actual) {
+        Assert.assertEquals(expected.value, actual.value);
+        Assert.assertEquals(expected.aliases, actual.aliases);
+        Assert.assertEquals(expected.inner.deep, actual.inner.deep);
+        Assert.assertEquals(expected.inner.root == null, actual.inner.root == null);
+    }
+
+    @ConfigSerializable
+    public static class Root {
+
+        @Setting private String name;
+        @Setting private Section section = new Section();
+        @Setting private Section missing = new Section();
+        @Setting private List<Section> sections = Lists.newArrayList();
+    }
+
+    @ConfigSerializable
+    public static class Section {
+
+        @Setting private int value = 1;
+
+        @Setting
+        @ProcessSetting(LowercaseListSettingProcessor.class)
+        private List<String> aliases = Lists.newArrayList();
+
+        @Setting private Inner inner = new Inner();
+    }
+
+    @ConfigSerializable
+    public static class Inner {
+
+        @Setting @Default("default") private String deep;
+
+        // Not flattened, as it would never end.
+        @Setting private Root root;
+    }
+
+    public static class InnerSerialiser implements TypeSerializer<Inner> {
+
+        @Override
+        public Inner deserialize(TypeToken<?> type, ConfigurationNode value) {
+            Inner inner = new Inner();
+            inner.deep = "custom";
+            return inner;
+        }
+
+        @Override
+        public void serialize(TypeToken<?> type, Inner obj, ConfigurationNode value) {
+            value.getNode("deep").setValue(obj.deep);
+        }
+    }
+}
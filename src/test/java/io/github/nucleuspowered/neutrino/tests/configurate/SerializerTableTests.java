@@ -0,0 +1,101 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.annotations.Default;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SerializerTableTests {
+
+    private ConfigurationNode createNode(NeutrinoObjectMapperFactory factory, String prefix) {
+        ConfigurationNode node = SimpleConfigurationNode.root(ConfigurationOptions.defaults()
+                .setObjectMapperFactory(factory)
+                .setSerializers(TypeSerializers.getDefaultSerializers().newChild()
+                        .registerType(TypeToken.of(Prefixed.class), new PrefixedSerialiser(prefix))));
+        node.getNode("value").setValue("value");
+        return node;
+    }
+
+    @Test
+    public void testSerializersFollowTheOptionsOfEachNode() throws Exception {
+        for (boolean compileMappers : new boolean[] { false, true }) {
+            NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().setCompileMappers(compileMappers).build(false);
+            NeutrinoObjectMapper<TestConf> mapper = factory.getMapper(TestConf.class);
+            ConfigurationNode first = createNode(factory, "first:");
+            ConfigurationNode second = createNode(factory, "second:");
+
+            for (int i = 0; i < 3; i++) {
+                TestConf fromFirst = mapper.bindToNew().populate(first);
+                Assert.assertEquals("first:value", fromFirst.value.value);
+                Assert.assertEquals("first:default", fromFirst.defaulted.value);
+
+                TestConf fromSecond = mapper.bindToNew().populate(second);
+                Assert.assertEquals("second:value", fromSecond.value.value);
+                Assert.assertEquals("second:default", fromSecond.defaulted.value);
+            }
+        }
+    }
+
+    @Test
+    public void testMissingSerializerIsReported() throws Exception {
+        NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+        ConfigurationNode node = SimpleConfigurationNode.root(ConfigurationOptions.defaults().setObjectMapperFactory(factory));
+        node.getNode("value").setValue("value");
+
+        try {
+            factory.getMapper(TestConf.class).bindToNew().populate(node);
+            Assert.fail("Expected an exception");
+        } catch (ObjectMappingException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("No TypeSerializer found for field"));
+        }
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting private Prefixed value;
+        @Setting @Default("default") private Prefixed defaulted;
+    }
+
+    public static class Prefixed {
+
+        private final String value;
+
+        private Prefixed(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class PrefixedSerialiser implements TypeSerializer<Prefixed> {
+
+        private final String prefix;
+
+        private PrefixedSerialiser(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Prefixed deserialize(TypeToken<?> type, ConfigurationNode value) {
+            return new Prefixed(this.prefix + value.getString());
+        }
+
+        @Override
+        public void serialize(TypeToken<?> type, Prefixed obj, ConfigurationNode value) {
+            value.setValue(obj.value);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import io.github.nucleuspowered.neutrino.annotations.ProcessSetting;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapper;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessor;
+import io.github.nucleuspowered.neutrino.settingprocessor.SettingProcessorCache;
+import io.github.nucleuspowered.neutrino.util.ClassConstructor;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SettingProcessorCacheTests {
+
+    @Test
+    public void testProcessorsAreConstructedOnceAcrossThreads() throws Throwable {
+        AtomicInteger constructed = new AtomicInteger();
+        ClassConstructor<SettingProcessor> constructor = new CountingConstructor(constructed);
+
+        int threads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<NeutrinoObjectMapper<TestConf>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads * 25; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return new NeutrinoObjectMapper<>(TestConf.class, Setting::comment, constructor);
+                }));
+            }
+
+            start.countDown();
+            for (Future<NeutrinoObjectMapper<TestConf>> future : futures) {
+                Assert.assertNotNull(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // One each of FirstProcessor and SecondProcessor.
+        Assert.assertEquals(2, constructed.get());
+        Assert.assertSame(SettingProcessorCache.getOrAdd(FirstProcessor.class, constructor),
+                SettingProcessorCache.getOrAdd(FirstProcessor.class, constructor));
+    }
+
+    @Test
+    public void testProcessorsAreScopedToTheConstructor() throws Throwable {
+        ClassConstructor<SettingProcessor> first = new CountingConstructor(new AtomicInteger());
+        ClassConstructor<SettingProcessor> second = new CountingConstructor(new AtomicInteger());
+
+        Assert.assertNotSame(SettingProcessorCache.getOrAdd(FirstProcessor.class, first),
+                SettingProcessorCache.getOrAdd(FirstProcessor.class, second));
+    }
+
+    private static final class CountingConstructor implements ClassConstructor<SettingProcessor> {
+
+        private final AtomicInteger counter;
+
+        private CountingConstructor(AtomicInteger counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public <T extends SettingProcessor> T construct(Class<T> clazz) throws Throwable {
+            this.counter.incrementAndGet();
+            return clazz.newInstance();
+        }
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting
+        @ProcessSetting(FirstProcessor.class)
+        private String first;
+
+        @Setting
+        @ProcessSetting({FirstProcessor.class, SecondProcessor.class})
+        private String second;
+    }
+
+    public static class FirstProcessor implements SettingProcessor {
+
+        @Override
+        public void process(ConfigurationNode cn) {
+        }
+    }
+
+    public static class SecondProcessor implements SettingProcessor {
+
+        @Override
+        public void process(ConfigurationNode cn) {
+        }
+    }
+}
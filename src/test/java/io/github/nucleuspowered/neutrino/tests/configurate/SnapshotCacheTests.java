@@ -0,0 +1,228 @@
+/*
+ * This file is part of Neutrino, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.neutrino.tests.configurate;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.neutrino.objectmapper.NeutrinoObjectMapperFactory;
+import io.github.nucleuspowered.neutrino.snapshot.SnapshotCache;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
+import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
+import ninja.leaping.configurate.loader.AbstractConfigurationLoader;
+import ninja.leaping.configurate.loader.CommentHandlers;
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class SnapshotCacheTests {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final NeutrinoObjectMapperFactory factory = NeutrinoObjectMapperFactory.builder().build(false);
+    private final SnapshotCache cache = new SnapshotCache(this.factory);
+
+    private static TypedLoader loader(Callable<BufferedReader> source) {
+        return new TypedLoader.Builder().setSource(source).build();
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = this.folder.getRoot().toPath().resolve("test.conf");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testUnchangedFileIsReadFromTheSnapshot() throws Exception {
+        Path file = write("name=first\ncount=3\nenabled=true");
+
+        TestConf parsed = this.cache.load(file, SnapshotCacheTests::loader, TestConf.class);
+        Assert.assertEquals(0, this.cache.getHitCount());
+        Assert.assertEquals(1, this.cache.getMissCount());
+        Assert.assertTrue(Files.exists(SnapshotCache.getSnapshotPath(file)));
+
+        TestConf snapshotted = this.cache.load(file, SnapshotCacheTests::loader, TestConf.class);
+        Assert.assertEquals(1, this.cache.getHitCount());
+        Assert.assertEquals("first", snapshotted.name);
+        Assert.assertEquals(3, snapshotted.count);
+        Assert.assertTrue(snapshotted.enabled);
+        Assert.assertEquals(parsed.values, snapshotted.values);
+    }
+
+    @Test
+    public void testSnapshotKeepsCommentsAndValueTypes() throws Exception {
+        Path file = write("name=first\ncount=3\nenabled=true\nratio=0.5");
+
+        ConfigurationNode parsed = this.cache.loadNode(file, SnapshotCacheTests::loader, TestConf.class);
+        ConfigurationNode snapshotted = this.cache.loadNode(file, SnapshotCacheTests::loader, TestConf.class);
+        Assert.assertEquals(1, this.cache.getHitCount());
+
+        Assert.assertEquals(parsed.getValue(), snapshotted.getValue());
+        Assert.assertEquals(Integer.valueOf(3), snapshotted.getNode("count").getValue());
+        Assert.assertEquals(Boolean.TRUE, snapshotted.getNode("enabled").getValue());
+        Assert.assertEquals(Double.valueOf(0.5), snapshotted.getNode("ratio").getValue());
+        Assert.assertEquals("The name setting", ((CommentedConfigurationNode) snapshotted.getNode("name")).getComment().orElse(null));
+    }
+
+    @Test
+    public void testSnapshotKeepsTheHeader() throws Exception {
+        Path file = write("# The header\n\nname=first\ncount=3");
+
+        ConfigurationNode parsed = this.cache.loadNode(file, SnapshotCacheTests::loader, TestConf.class);
+        ConfigurationNode snapshotted = this.cache.loadNode(file, SnapshotCacheTests::loader, TestConf.class);
+        Assert.assertEquals(1, this.cache.getHitCount());
+
+        Assert.assertEquals("The header", parsed.getOptions().getHeader());
+        Assert.assertEquals(parsed.getOptions().getHeader(), snapshotted.getOptions().getHeader());
+        Assert.assertEquals(parsed.getValue(), snapshotted.getValue());
+    }
+
+    @Test
+    public void testChangedFileIsParsedAgain() throws Exception {
+        Path file = write("name=first");
+        this.cache.load(file, SnapshotCacheTests::loader, TestConf.class);
+
+        write("name=second");
+        TestConf changed = this.cache.load(file, SnapshotCacheTests::loader, TestConf.class);
+        Assert.assertEquals("second", changed.name);
+        Assert.assertEquals(0, this.cache.getHitCount());
+        Assert.assertEquals(2, this.cache.getMissCount());
+    }
+
+    @Test
+    public void testSnapshotIsOfTheContentThatWasHashed() throws Exception {
+        Path file = write("name=first");
+
+        // The file changes after it has been read, but before it is parsed.
+        TestConf conf = this.cache.load(file, source -> {
+            try {
+                write("name=second");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return loader(source);
+        }, TestConf.class);
+        Assert.assertEquals("first", conf.name);
+
+        // The snapshot holds the tree that was parsed, under the hash of the same content.
+        write("name=first");
+        Assert.assertEquals("first", this.cache.load(file, SnapshotCacheTests::loader, TestConf.class).name);
+        Assert.assertEquals(1, this.cache.getHitCount());
+
+        write("name=second");
+        Assert.assertEquals("second", this.cache.load(file, SnapshotCacheTests::loader, TestConf.class).name);
+        Assert.assertEquals(1, this.cache.getHitCount());
+    }
+
+    @Test
+    public void testDifferentSchemaIsParsedAgain() throws Exception {
+        Path file = write("name=first");
+        this.cache.load(file, SnapshotCacheTests::loader, TestConf.class);
+
+        OtherConf other = this.cache.load(file, SnapshotCacheTests::loader, OtherConf.class);
+        Assert.assertEquals("first", other.name);
+        Assert.assertEquals(0, this.cache.getHitCount());
+    }
+
+    @Test
+    public void testCorruptSnapshotFallsBackToTheFile() throws Exception {
+        Path file = write("name=first");
+        this.cache.load(file, SnapshotCacheTests::loader, TestConf.class);
+
+        Path snapshot = SnapshotCache.getSnapshotPath(file);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+
+        TestConf conf = this.cache.load(file, SnapshotCacheTests::loader, TestConf.class);
+        Assert.assertEquals("first", conf.name);
+        Assert.assertEquals(0, this.cache.getHitCount());
+
+        // The snapshot was rebuilt.
+        Assert.assertEquals("first", this.cache.load(file, SnapshotCacheTests::loader, TestConf.class).name);
+        Assert.assertEquals(1, this.cache.getHitCount());
+    }
+
+    @ConfigSerializable
+    public static class TestConf {
+
+        @Setting private String name;
+        @Setting private int count;
+        @Setting private boolean enabled;
+        @Setting private List<String> values = Lists.newArrayList();
+    }
+
+    @ConfigSerializable
+    public static class OtherConf {
+
+        @Setting private String name;
+    }
+
+    // Reads key=value lines, keeping integers, booleans and doubles as such, and adds a comment, a list and an empty
+    // list, as there are no format loaders on the test classpath.
+    public static class TypedLoader extends AbstractConfigurationLoader<CommentedConfigurationNode> {
+
+        public static final class Builder extends AbstractConfigurationLoader.Builder<Builder> {
+
+            @Override
+            public TypedLoader build() {
+                return new TypedLoader(this);
+            }
+        }
+
+        private TypedLoader(Builder builder) {
+            super(builder, CommentHandlers.values());
+        }
+
+        @Override
+        protected void loadInternal(CommentedConfigurationNode node, BufferedReader reader) throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int index = line.indexOf('=');
+                if (index > 0) {
+                    String key = line.substring(0, index);
+                    String value = line.substring(index + 1);
+                    CommentedConfigurationNode child = node.getNode(key).setComment("The " + key + " setting");
+                    if (value.equals("true") || value.equals("false")) {
+                        child.setValue(Boolean.parseBoolean(value));
+                    } else if (value.matches("-?\\d+")) {
+                        child.setValue(Integer.parseInt(value));
+                    } else if (value.matches("-?\\d+\\.\\d+")) {
+                        child.setValue(Double.parseDouble(value));
+                    } else {
+                        child.setValue(value);
+                    }
+                }
+            }
+
+            node.getNode("values").setValue(Lists.newArrayList("a", "b"));
+            node.getNode("empty").setValue(Lists.newArrayList());
+        }
+
+        @Override
+        protected void saveInternal(ConfigurationNode node, Writer writer) {
+        }
+
+        @Override
+        public CommentedConfigurationNode createEmptyNode(ConfigurationOptions options) {
+            return SimpleCommentedConfigurationNode.root(options);
+        }
+    }
+}
@@ -4,11 +4,20 @@
  */
 package io.github.nucleuspowered.neutrino.tests.configurate;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.neutrino.typeserialisers.BooleanArrayTypeSerialiser;
 import io.github.nucleuspowered.neutrino.typeserialisers.ByteArrayTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.CharArrayTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.DoubleArrayTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.EnumMapTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.FloatArrayTypeSerialiser;
 import io.github.nucleuspowered.neutrino.typeserialisers.IntArrayTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.LongArrayTypeSerialiser;
+import io.github.nucleuspowered.neutrino.typeserialisers.PatternCache;
+import io.github.nucleuspowered.neutrino.typeserialisers.PatternTypeSerialiser;
 import io.github.nucleuspowered.neutrino.typeserialisers.SetTypeSerialiser;
 import io.github.nucleuspowered.neutrino.typeserialisers.ShortArrayTypeSerialiser;
 import ninja.leaping.configurate.ConfigurationNode;
@@ -17,8 +26,19 @@ import ninja.leaping.configurate.objectmapping.serialize.TypeSerializerCollectio
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 public class TypeSerialiserTests {
 
@@ -118,6 +138,138 @@ public class TypeSerialiserTests {
         Assert.assertTrue(ls[1] == -2);
     }
 
+    private TestConfigurationLoader getAllArrayTestLoader(boolean compact) {
+        TestConfigurationLoader.Builder tclb = TestConfigurationLoader.builder();
+        TypeSerializerCollection tsc = tclb.getDefaultOptions().getSerializers().newChild();
+        tsc.registerType(new TypeToken<byte[]>() {}, new ByteArrayTypeSerialiser(compact));
+        tsc.registerType(new TypeToken<short[]>() {}, new ShortArrayTypeSerialiser(compact));
+        tsc.registerType(new TypeToken<int[]>() {}, new IntArrayTypeSerialiser(compact));
+        tsc.registerType(new TypeToken<long[]>() {}, new LongArrayTypeSerialiser(compact));
+        tsc.registerType(new TypeToken<float[]>() {}, new FloatArrayTypeSerialiser(compact));
+        tsc.registerType(new TypeToken<double[]>() {}, new DoubleArrayTypeSerialiser(compact));
+        tsc.registerType(new TypeToken<char[]>() {}, new CharArrayTypeSerialiser(compact));
+        tsc.registerType(new TypeToken<boolean[]>() {}, new BooleanArrayTypeSerialiser(compact));
+
+        tclb.setDefaultOptions(tclb.getDefaultOptions().setSerializers(tsc));
+        return tclb.build();
+    }
+
+    @Test
+    public void testThatAllArrayTypesRoundTripAsLists() throws ObjectMappingException {
+        testThatAllArrayTypesRoundTrip(false);
+    }
+
+    @Test
+    public void testThatAllArrayTypesRoundTripCompactly() throws ObjectMappingException {
+        testThatAllArrayTypesRoundTrip(true);
+    }
+
+    private void testThatAllArrayTypesRoundTrip(boolean compact) throws ObjectMappingException {
+        TestConfigurationLoader tcl = getAllArrayTestLoader(compact);
+
+        Assert.assertArrayEquals(new byte[] { 4, -2, 127 }, roundTrip(tcl, new TypeToken<byte[]>() {}, new byte[] { 4, -2, 127 }, compact));
+        Assert.assertArrayEquals(new short[] { 4, -2, 300 }, roundTrip(tcl, new TypeToken<short[]>() {}, new short[] { 4, -2, 300 }, compact));
+        Assert.assertArrayEquals(new int[] { 4, -2, 70000 }, roundTrip(tcl, new TypeToken<int[]>() {}, new int[] { 4, -2, 70000 }, compact));
+        Assert.assertArrayEquals(new long[] { 4, -2, Long.MAX_VALUE },
+                roundTrip(tcl, new TypeToken<long[]>() {}, new long[] { 4, -2, Long.MAX_VALUE }, compact));
+        Assert.assertArrayEquals(new float[] { 4.5f, -2f, Float.NaN },
+                roundTrip(tcl, new TypeToken<float[]>() {}, new float[] { 4.5f, -2f, Float.NaN }, compact), 0f);
+        Assert.assertArrayEquals(new double[] { 4.5, -2, Double.MIN_VALUE },
+                roundTrip(tcl, new TypeToken<double[]>() {}, new double[] { 4.5, -2, Double.MIN_VALUE }, compact), 0);
+        Assert.assertArrayEquals(new char[] { 'a', '/', ' ' }, roundTrip(tcl, new TypeToken<char[]>() {}, new char[] { 'a', '/', ' ' }, compact));
+        Assert.assertArrayEquals(new int[0], roundTrip(tcl, new TypeToken<int[]>() {}, new int[0], compact));
+
+        boolean[] booleans = new boolean[11];
+        booleans[0] = true;
+        booleans[9] = true;
+        Assert.assertTrue(Arrays.equals(booleans, roundTrip(tcl, new TypeToken<boolean[]>() {}, booleans, compact)));
+    }
+
+    private <T> T roundTrip(TestConfigurationLoader tcl, TypeToken<T> type, T array, boolean compact) throws ObjectMappingException {
+        ConfigurationNode cn = tcl.createEmptyNode().setValue(type, array);
+        Assert.assertEquals(compact, cn.getValue() instanceof String);
+        Assert.assertTrue(compact || cn.hasListChildren() || Array.getLength(array) == 0);
+        return cn.getValue(type);
+    }
+
+    @Test
+    public void testThatCompactSerialisersReadTheListForm() throws ObjectMappingException {
+        TestConfigurationLoader tcl = getAllArrayTestLoader(true);
+        ConfigurationNode cn = tcl.createEmptyNode().setValue(new TypeToken<List<Integer>>() {}, Lists.newArrayList(4, -2));
+
+        Assert.assertArrayEquals(new int[] { 4, -2 }, cn.getValue(new TypeToken<int[]>() {}));
+        Assert.assertArrayEquals(new long[] { 4, -2 }, cn.getValue(new TypeToken<long[]>() {}));
+        Assert.assertArrayEquals(new byte[] { 4, -2 }, cn.getValue(new TypeToken<byte[]>() {}));
+    }
+
+    @Test
+    public void testThatAStringSingleElementCanBeDeserialised() throws ObjectMappingException {
+        TestConfigurationLoader tcl = getAllArrayTestLoader(false);
+        ConfigurationNode cn = tcl.createEmptyNode().setValue("4");
+
+        Assert.assertArrayEquals(new int[] { 4 }, cn.getValue(new TypeToken<int[]>() {}));
+    }
+
+    @Test
+    public void testThatASingleElementIsNotReadAsBase64() throws ObjectMappingException {
+        TestConfigurationLoader tcl = getAllArrayTestLoader(false);
+
+        Assert.assertArrayEquals(new byte[] { 12 }, tcl.createEmptyNode().setValue("12").getValue(new TypeToken<byte[]>() {}));
+        Assert.assertTrue(Arrays.equals(new boolean[] { true },
+                tcl.createEmptyNode().setValue("true").getValue(new TypeToken<boolean[]>() {})));
+    }
+
+    @Test(expected = ObjectMappingException.class)
+    public void testThatAnInvalidElementIsRejected() throws ObjectMappingException {
+        TestConfigurationLoader tcl = getAllArrayTestLoader(false);
+        ConfigurationNode cn = tcl.createEmptyNode().setValue(Lists.newArrayList("4", "not a number"));
+
+        cn.getValue(new TypeToken<int[]>() {});
+    }
+
+    private TestConfigurationLoader getPatternTestLoader(PatternTypeSerialiser serialiser) {
+        TestConfigurationLoader.Builder tclb = TestConfigurationLoader.builder();
+        TypeSerializerCollection tsc = tclb.getDefaultOptions().getSerializers().newChild();
+        tsc.registerType(TypeToken.of(Pattern.class), serialiser);
+
+        tclb.setDefaultOptions(tclb.getDefaultOptions().setSerializers(tsc));
+        return tclb.build();
+    }
+
+    @Test
+    public void testThatPatternsAreCached() throws ObjectMappingException {
+        PatternCache cache = new PatternCache(10);
+        TestConfigurationLoader tcl = getPatternTestLoader(new PatternTypeSerialiser(Pattern.CASE_INSENSITIVE, cache));
+
+        Pattern first = tcl.createEmptyNode().setValue("a+b").getValue(TypeToken.of(Pattern.class));
+        Pattern second = tcl.createEmptyNode().setValue("a+b").getValue(TypeToken.of(Pattern.class));
+        Assert.assertSame(first, second);
+        Assert.assertEquals(Pattern.CASE_INSENSITIVE, first.flags());
+        Assert.assertTrue(first.matcher("AAB").matches());
+        Assert.assertEquals(1, cache.getStats().missCount());
+        Assert.assertEquals(1, cache.getStats().hitCount());
+
+        // The flags are part of the key.
+        Assert.assertNotSame(first, cache.get("a+b", 0));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testThatPatternsAreNotCachedWithoutACache() throws ObjectMappingException {
+        TestConfigurationLoader tcl = getPatternTestLoader(new PatternTypeSerialiser(0, null));
+
+        Pattern first = tcl.createEmptyNode().setValue("a+b").getValue(TypeToken.of(Pattern.class));
+        Pattern second = tcl.createEmptyNode().setValue("a+b").getValue(TypeToken.of(Pattern.class));
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals("a+b", second.pattern());
+    }
+
+    @Test(expected = ObjectMappingException.class)
+    public void testThatInvalidPatternsAreRejected() throws ObjectMappingException {
+        TestConfigurationLoader tcl = getPatternTestLoader(new PatternTypeSerialiser());
+        tcl.createEmptyNode().setValue("a(").getValue(TypeToken.of(Pattern.class));
+    }
+
     @Test
     public void testThatSetsCanBeSerialised() throws ObjectMappingException {
         TestConfigurationLoader tcl = getSetTestLoader();
@@ -138,4 +290,69 @@ public class TypeSerialiserTests {
         Assert.assertTrue(ls.contains("test"));
         Assert.assertTrue(ls.contains("test2"));
     }
+
+    private TestConfigurationLoader getCollectionTestLoader() {
+        TestConfigurationLoader.Builder tclb = TestConfigurationLoader.builder();
+        TypeSerializerCollection tsc = tclb.getDefaultOptions().getSerializers().newChild();
+        tsc.registerPredicate(typeToken -> Set.class.isAssignableFrom(typeToken.getRawType()), new SetTypeSerialiser());
+        tsc.registerPredicate(EnumMapTypeSerialiser::isEnumKeyedMap, new EnumMapTypeSerialiser());
+
+        tclb.setDefaultOptions(tclb.getDefaultOptions().setSerializers(tsc));
+        return tclb.build();
+    }
+
+    @Test
+    public void testThatSetImplementationsFollowTheDeclaredType() throws ObjectMappingException {
+        ConfigurationNode cn = getCollectionTestLoader().createEmptyNode()
+                .setValue(new TypeToken<List<String>>() {}, Lists.newArrayList("c", "a", "b", "a"));
+
+        Assert.assertEquals(HashSet.class, cn.getValue(new TypeToken<Set<String>>() {}).getClass());
+        Assert.assertEquals(Lists.newArrayList("c", "a", "b"),
+                Lists.newArrayList(cn.getValue(new TypeToken<LinkedHashSet<String>>() {})));
+        Assert.assertEquals(Lists.newArrayList("a", "b", "c"),
+                Lists.newArrayList(cn.getValue(new TypeToken<SortedSet<String>>() {})));
+        ImmutableSet<String> immutableSet = cn.getValue(new TypeToken<ImmutableSet<String>>() {});
+        Assert.assertEquals(ImmutableSet.of("c", "a", "b"), immutableSet);
+        Assert.assertEquals(CopyOnWriteArraySet.class, cn.getValue(new TypeToken<CopyOnWriteArraySet<String>>() {}).getClass());
+    }
+
+    @Test
+    public void testThatEnumSetsCanBeRoundTripped() throws ObjectMappingException {
+        TestConfigurationLoader tcl = getCollectionTestLoader();
+        TypeToken<EnumSet<TimeUnit>> type = new TypeToken<EnumSet<TimeUnit>>() {};
+        ConfigurationNode cn = tcl.createEmptyNode().setValue(type, EnumSet.of(TimeUnit.SECONDS, TimeUnit.DAYS));
+
+        Assert.assertEquals(Lists.newArrayList("SECONDS", "DAYS"), cn.getList(TypeToken.of(String.class)));
+        Assert.assertEquals(EnumSet.of(TimeUnit.SECONDS, TimeUnit.DAYS), cn.getValue(type));
+
+        // A single value is a set of one.
+        Assert.assertEquals(EnumSet.of(TimeUnit.HOURS), tcl.createEmptyNode().setValue("hours").getValue(type));
+    }
+
+    @Test
+    public void testThatEnumMapsCanBeRoundTripped() throws ObjectMappingException {
+        TestConfigurationLoader tcl = getCollectionTestLoader();
+        EnumMap<TimeUnit, Integer> map = new EnumMap<>(TimeUnit.class);
+        map.put(TimeUnit.SECONDS, 1);
+        map.put(TimeUnit.DAYS, 2);
+
+        ConfigurationNode cn = tcl.createEmptyNode().setValue(new TypeToken<EnumMap<TimeUnit, Integer>>() {}, map);
+        Assert.assertEquals(2, cn.getNode("DAYS").getInt());
+
+        Map<TimeUnit, Integer> result = cn.getValue(new TypeToken<Map<TimeUnit, Integer>>() {});
+        Assert.assertTrue(result instanceof EnumMap);
+        Assert.assertEquals(map, result);
+
+        // Existing keys are updated in place, and those that are no longer in the map are removed.
+        map.remove(TimeUnit.DAYS);
+        cn.setValue(new TypeToken<EnumMap<TimeUnit, Integer>>() {}, map);
+        Assert.assertEquals(1, cn.getChildrenMap().size());
+    }
+
+    @Test(expected = ObjectMappingException.class)
+    public void testThatInvalidEnumMapKeysAreRejected() throws ObjectMappingException {
+        ConfigurationNode cn = getCollectionTestLoader().createEmptyNode();
+        cn.getNode("fortnights").setValue(1);
+        cn.getValue(new TypeToken<EnumMap<TimeUnit, Integer>>() {});
+    }
 }